@@ -0,0 +1,54 @@
+package org.example.homeandgarden.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.homeandgarden.dto.responsedto.CacheRegionStatisticsDto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hit ratio of every Hibernate second-level cache region, served at {@code /manage/cacheregions}. Hibernate statistics
+ * are switched on when the endpoint is exposed rather than with {@code hibernate.generate_statistics}, which would
+ * also log the metrics of every session.
+ */
+@Component
+@Endpoint(id = "cacheregions")
+@ConditionalOnAvailableEndpoint(endpoint = CacheRegionStatisticsEndpoint.class)
+public class CacheRegionStatisticsEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheRegionStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(true);
+    }
+
+    @ReadOperation
+    public List<CacheRegionStatisticsDto> regions() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatisticsDto> regions = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            regions.add(CacheRegionStatisticsDto.builder()
+                    .region(region)
+                    .hitCount(hits)
+                    .missCount(misses)
+                    .putCount(regionStatistics.getPutCount())
+                    .hitRatio(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses))
+                    .build());
+        }
+        return regions;
+    }
+}
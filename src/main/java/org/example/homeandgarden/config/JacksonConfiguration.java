@@ -0,0 +1,15 @@
+package org.example.homeandgarden.config;
+
+import com.fasterxml.jackson.databind.Module;
+import org.example.homeandgarden.index.ProductJsonFragments;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfiguration {
+
+    @Bean
+    public Module productJsonFragmentsModule(ProductJsonFragments productJsonFragments) {
+        return productJsonFragments.module();
+    }
+}
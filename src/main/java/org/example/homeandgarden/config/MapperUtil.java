@@ -1,7 +1,5 @@
 package org.example.homeandgarden.config;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
@@ -11,11 +9,6 @@ import java.util.stream.Collectors;
 
 @Configuration
 public class MapperUtil {
-    @Bean
-    public ModelMapper getMapper() {
-        return new ModelMapper();
-    }
-
     public static <R, E> List<R> convertList(List<E> list, Function<E, R> converter) {
         return list.stream().map(e -> converter.apply(e)).collect(Collectors.toList());
     }
@@ -0,0 +1,30 @@
+package org.example.homeandgarden.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open entity manager in view for every path except {@code /auth/**} and the registration endpoints, which work on
+ * cached identities and would otherwise hold a pooled connection for as long as a password takes to hash. Replaces Spring Boot's interceptor,
+ * which is switched off with {@code spring.jpa.open-in-view=false}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        entityManagerFactory.ifAvailable(factory -> {
+            OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+            interceptor.setEntityManagerFactory(factory);
+            registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/auth/**", "/users/register", "/users/registerAdmin");
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.homeandgarden.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()} and {@link #end()},
+ * keeping how often each distinct statement ran so that repeated selects, the signature of an N+1 load, can be told
+ * apart from a request that simply does a lot. Registered with Hibernate as its statement inspector.
+ */
+public class RequestStatements implements StatementInspector {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    public static void begin() {
+        CURRENT.set(new Counts());
+    }
+
+    /**
+     * Continues counting into the counts of a request on another thread, such as the one producing a streamed response.
+     */
+    public static void resume(Counts counts) {
+        CURRENT.set(counts);
+    }
+
+    public static Counts current() {
+        return CURRENT.get();
+    }
+
+    public static Counts end() {
+        Counts counts = CURRENT.get();
+        CURRENT.remove();
+        return counts != null ? counts : new Counts();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.add(sql);
+        }
+        return sql;
+    }
+
+    public static final class Counts {
+
+        private final Map<String, Integer> bySql = new HashMap<>();
+        private int total;
+
+        private synchronized void add(String sql) {
+            bySql.merge(sql, 1, Integer::sum);
+            total++;
+        }
+
+        public synchronized int total() {
+            return total;
+        }
+
+        public synchronized Map.Entry<String, Integer> mostRepeated() {
+            return bySql.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(Map.entry("", 0));
+        }
+    }
+}
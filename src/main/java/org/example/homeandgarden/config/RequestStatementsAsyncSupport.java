@@ -0,0 +1,45 @@
+package org.example.homeandgarden.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Counts the statements of a {@code StreamingResponseBody} or {@code Callable} into the counts of the request that
+ * started it. The task runs on the asynchronous request thread after the handler returned, where
+ * {@link RequestStatementsFilter} has already left; it records the counts when the asynchronous dispatch ends.
+ */
+@Configuration
+public class RequestStatementsAsyncSupport implements WebMvcConfigurer, CallableProcessingInterceptor {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(this);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        RequestStatements.Counts counts = RequestStatements.current();
+        if (counts != null) {
+            request.setAttribute(RequestStatementsFilter.COUNTS_ATTRIBUTE, counts, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(RequestStatementsFilter.COUNTS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof RequestStatements.Counts counts) {
+            RequestStatements.resume(counts);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        RequestStatements.end();
+    }
+}
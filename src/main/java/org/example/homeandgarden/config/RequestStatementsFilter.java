@@ -0,0 +1,88 @@
+package org.example.homeandgarden.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records the number of SQL statements each request executed as the {@code http.server.requests.statements}
+ * distribution, tagged like {@code http.server.requests}, and warns when a single statement ran
+ * {@code hibernate.statements.repeated-warn-threshold} times or more in one request. The count is also left on the
+ * request as {@link #STATEMENTS_ATTRIBUTE}.
+ * <p>
+ * A request that goes asynchronous, like a streamed response, is recorded when its asynchronous dispatch ends, with
+ * the statements {@link RequestStatementsAsyncSupport} counted on the thread that produced the response.
+ */
+@Slf4j
+@Component
+public class RequestStatementsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_ATTRIBUTE = RequestStatementsFilter.class.getName() + ".statements";
+    static final String COUNTS_ATTRIBUTE = RequestStatementsFilter.class.getName() + ".counts";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int repeatedWarnThreshold;
+
+    public RequestStatementsFilter(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${hibernate.statements.repeated-warn-threshold:10}") int repeatedWarnThreshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedWarnThreshold = repeatedWarnThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request) && request.getAttribute(COUNTS_ATTRIBUTE) instanceof RequestStatements.Counts counts) {
+            RequestStatements.resume(counts);
+        } else {
+            RequestStatements.begin();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatements.Counts counts = RequestStatements.end();
+            if (isAsyncStarted(request)) {
+                request.setAttribute(COUNTS_ATTRIBUTE, counts);
+            } else {
+                record(request, response, counts);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestStatements.Counts counts) {
+        request.setAttribute(STATEMENTS_ATTRIBUTE, counts.total());
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        meterRegistry.ifAvailable(registry -> DistributionSummary.builder("http.server.requests.statements")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("status", Integer.toString(response.getStatus()))
+                .register(registry)
+                .record(counts.total()));
+        Map.Entry<String, Integer> mostRepeated = counts.mostRepeated();
+        if (mostRepeated.getValue() >= repeatedWarnThreshold) {
+            log.warn("Possible N+1 select: {} {} ran the same statement {} times ({} statements in total): {}",
+                    request.getMethod(), uri, mostRepeated.getValue(), counts.total(), mostRepeated.getKey());
+        }
+    }
+}
@@ -12,7 +12,6 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,24 +29,18 @@ public class CartController {
     @SecurityRequirement(name = "JWT")
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public Set<CartItemResponseDto> getCartItems() {
+    public Set<CartItemResponseDto> getCartItems(@Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
 
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
-
-        return cartService.getCartItems(email);
+        return cartService.getCartItems(cartIdOf(jwtInfoToken));
     }
 
     @Operation(summary = "Inserting a new item in the cart", description = "Provides functionality for inserting a new product into user's cart")
     @SecurityRequirement(name = "JWT")
     @PostMapping
     @ResponseStatus(HttpStatus.OK)
-    public void insertCartItem(@RequestBody @Valid CartItemRequestDto cartItemRequestDto) {
-
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
+    public void insertCartItem(@RequestBody @Valid CartItemRequestDto cartItemRequestDto, @Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
 
-        cartService.insertCartItem(cartItemRequestDto, email);
+        cartService.insertCartItem(cartItemRequestDto, cartIdOf(jwtInfoToken));
     }
 
     @Operation(summary = "Deleting an item from the cart", description = "Provides functionality for deleting a product from user's cart")
@@ -56,12 +49,15 @@ public class CartController {
     @ResponseStatus(HttpStatus.OK)
     public void deleteCarItemByProductId(@PathVariable("productId")
                                          @Min(value = 1, message = "Invalid ID: Id must be greater than or equal to 1")
-                                         @Parameter(description = "Product identifier") Long productId) {
+                                         @Parameter(description = "Product identifier") Long productId,
+                                         @Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
 
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
+        cartService.deleteCartItemByProductId(cartIdOf(jwtInfoToken), productId);
+    }
 
-        cartService.deleteCartItemByProductId(email, productId);
+    private Long cartIdOf(JwtAuthentication jwtInfoToken) {
+        Long cartId = jwtInfoToken.getCartId();
+        return cartId != null ? cartId : cartService.findOrInsertCartId(jwtInfoToken.requireUserId());
     }
 
 }
@@ -12,7 +12,6 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,23 +29,17 @@ public class FavoriteController {
     @SecurityRequirement(name = "JWT")
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public Set<FavoriteResponseDto> getFavorites() {
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
-
-        return favoriteService.getFavorites(email);
+    public Set<FavoriteResponseDto> getFavorites(@Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
+        return favoriteService.getFavorites(jwtInfoToken.requireUserId());
     }
 
     @Operation(summary = "Inserting a favorite", description = "Provides functionality for inserting a new favorite product for the user")
     @SecurityRequirement(name = "JWT")
     @PostMapping()
     @ResponseStatus(HttpStatus.OK)
-    public void insertFavorite(@RequestBody @Valid FavoriteRequestDto favoriteRequestDto) {
-
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
+    public void insertFavorite(@RequestBody @Valid FavoriteRequestDto favoriteRequestDto, @Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
 
-        favoriteService.insertFavorite(favoriteRequestDto, email);
+        favoriteService.insertFavorite(favoriteRequestDto, jwtInfoToken.requireUserId());
     }
 
     @Operation(summary = "Deleting a favorite", description = "Provides functionality for deleting a favorite product from user's favorites list")
@@ -55,11 +48,9 @@ public class FavoriteController {
     @ResponseStatus(HttpStatus.OK)
     public void deleteFavoriteByProductId(@PathVariable("productId")
                                           @Min(value = 1, message = "Invalid ID: Id must be greater than or equal to 1")
-                                          @Parameter(description = "Product identifier") Long productId) {
-
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
+                                          @Parameter(description = "Product identifier") Long productId,
+                                          @Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
 
-        favoriteService.deleteFavoriteByProductId(email, productId);
+        favoriteService.deleteFavoriteByProductId(jwtInfoToken.requireUserId(), productId);
     }
 }
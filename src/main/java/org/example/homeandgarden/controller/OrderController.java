@@ -2,6 +2,7 @@ package org.example.homeandgarden.controller;
 
 import jakarta.validation.constraints.Pattern;
 import org.example.homeandgarden.dto.requestdto.OrderRequestDto;
+import org.example.homeandgarden.dto.responsedto.OrderPageResponseDto;
 import org.example.homeandgarden.dto.responsedto.OrderResponseDto;
 import org.example.homeandgarden.security.jwt.JwtAuthentication;
 import org.example.homeandgarden.service.OrderService;
@@ -10,16 +11,14 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Set;
-
 @Tag(name = "Order controller", description = "Controller for managing user's orders")
 @RestController
 @RequiredArgsConstructor
@@ -34,35 +33,36 @@ public class OrderController {
     @ResponseStatus(HttpStatus.OK)
     public OrderResponseDto getOrderById(@PathVariable
                                          @Min(value = 1, message = "Invalid ID: Id must be greater than or equal to 1")
-                                         @Parameter(description = "Order identifier") Long orderId) {
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
-
-        return orderService.getOrderById(orderId, email);
+                                         @Parameter(description = "Order identifier") Long orderId,
+                                         @Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
+        return orderService.getOrderById(orderId, jwtInfoToken.requireUserId());
     }
 
-    @Operation(summary = "Getting order history", description = "Provides functionality for getting all orders of a user ")
+    @Operation(summary = "Getting order history", description = "Provides functionality for getting the orders of a user page by page, the newest first")
     @SecurityRequirement(name = "JWT")
     @GetMapping(value = "/history")
     @ResponseStatus(HttpStatus.OK)
-    public Set<OrderResponseDto> getOrderHistory() {
-
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
-
-        return orderService.getOrderHistory(email);
+    public OrderPageResponseDto getOrderHistory(
+            @RequestParam(value = "page", required = false, defaultValue = "0")
+            @Min(value = 0, message = "Invalid page: Must be greater than or equal to 0")
+            @Parameter(description = "Page number, starting from 0") Integer page,
+
+            @RequestParam(value = "size", required = false, defaultValue = "20")
+            @Min(value = 1, message = "Invalid size: Must be greater than or equal to 1")
+            @Max(value = 100, message = "Invalid size: Must be less than or equal to 100")
+            @Parameter(description = "Maximal number of orders on the page") Integer size,
+            @Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
+
+        return orderService.getOrderHistory(jwtInfoToken.requireUserId(), page, size);
     }
 
     @Operation(summary = "Inserting a new order", description = "Provides functionality for inserting a new order")
     @SecurityRequirement(name = "JWT")
     @PostMapping
     @ResponseStatus(HttpStatus.OK)
-    public void insertOrder(@RequestBody @Valid OrderRequestDto orderRequestDto) {
-
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
+    public void insertOrder(@RequestBody @Valid OrderRequestDto orderRequestDto, @Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
 
-        orderService.insertOrder(orderRequestDto, email);
+        orderService.insertOrder(orderRequestDto, jwtInfoToken.requireUserId(), jwtInfoToken.getCartId());
     }
 
     @Operation(summary = "Changing an order status ", description = "Provides functionality for changing the status of an already placed order")
@@ -86,11 +86,9 @@ public class OrderController {
     @ResponseStatus(HttpStatus.OK)
     public void cancelOrder(@PathVariable
                             @Min(value = 1, message = "Invalid ID: Id must be greater than or equal to 1")
-                            @Parameter(description = "Order identifier") Long orderId) {
-
-        final JwtAuthentication jwtInfoToken = (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
-        String email = jwtInfoToken.getEmail();
+                            @Parameter(description = "Order identifier") Long orderId,
+                            @Parameter(hidden = true) JwtAuthentication jwtInfoToken) {
 
-        orderService.cancelOrder(orderId, email);
+        orderService.cancelOrder(orderId, jwtInfoToken.requireUserId());
     }
 }
@@ -1,11 +1,16 @@
 package org.example.homeandgarden.controller;
 
+import org.example.homeandgarden.config.JsonArrayStreaming;
 import org.example.homeandgarden.dto.querydto.ProductCountDto;
+import org.example.homeandgarden.dto.querydto.ProductFilter;
 import org.example.homeandgarden.dto.querydto.ProductPendingDto;
 import org.example.homeandgarden.dto.querydto.ProductProfitDto;
+import org.example.homeandgarden.dto.querydto.ProductTrendDto;
 import org.example.homeandgarden.dto.requestdto.ProductRequestDto;
+import org.example.homeandgarden.dto.responsedto.ProductPageResponseDto;
 import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
 import org.example.homeandgarden.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,10 +18,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -28,6 +36,7 @@ import java.util.List;
 @Validated
 public class ProductController {
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Getting product by id", description = "Provides functionality for getting a product from product catalog")
     @GetMapping(value = "/{id}")
@@ -95,31 +104,45 @@ public class ProductController {
         return productService.getMaxDiscountProduct();
     }
 
+    @Operation(summary = "Getting products with the highest discount", description = "Provides functionality for getting products ordered by their discount, the highest discount first")
+    @GetMapping(value = "/topDiscounts")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ProductResponseDto> getTopDiscountProducts(@RequestParam(value = "limit", required = false, defaultValue = "10")
+                                                           @Min(value = 1, message = "Invalid limit: Must be greater than or equal to 1")
+                                                           @Max(value = 100, message = "Invalid limit: Must be less than or equal to 100")
+                                                           @Parameter(description = "Maximal number of products") Integer limit) {
+        return productService.getTopDiscountProducts(limit);
+    }
+
     @Operation(summary = "Getting products sorted by filter", description = "Provides functionality for filtering products by different field (category, minimal or maximal price, discount, ) and sorting them by name, price or creation date in order of increase or decrease")
     @ResponseStatus(HttpStatus.OK)
     @GetMapping
-    public List<ProductResponseDto> getProducts(
-            @RequestParam(value = "category", required = false)
-            @Min(value = 1, message = "Invalid ID: Id must be greater than or equal to 1")
-            @Parameter(description = "Category identifier") Long categoryId,
-
-            @RequestParam(value = "minPrice", required = false)
-            @DecimalMin(value = "0.0") @Digits(integer = 6, fraction = 2)
-            @Parameter(description = "Minimal price for the filter range") BigDecimal minPrice,
-
-
-            @RequestParam(value = "maxPrice", required = false)
-            @DecimalMax(value = "999999.0") @Digits(integer = 6, fraction = 2)
-            @Parameter(description = "Maximal price for the filter range") BigDecimal maxPrice,
+    public List<ProductResponseDto> getProducts(@Valid @ParameterObject ProductFilter filter) {
+        return productService.getProductsByFilter(filter);
+    }
 
-            @RequestParam(value = "discount", required = false, defaultValue = "false")
-            @NotNull(message = "This parameter can not be null, enter true or false.")
-            @Parameter(description = "Indicator whether a discount is available or not") Boolean hasDiscount,
+    @Operation(summary = "Streaming products sorted by filter", description = "Provides the same listing as getting products sorted by filter, written out product by product instead of being built in memory first")
+    @GetMapping(value = "/stream")
+    public ResponseEntity<StreamingResponseBody> streamProducts(@Valid @ParameterObject ProductFilter filter) {
+        return JsonArrayStreaming.<ProductResponseDto>of(objectMapper,
+                consumer -> productService.streamProductsByFilter(filter, consumer));
+    }
 
-            @RequestParam(value = "sort", required = false)
-            @Pattern(regexp = "^((name|price|discountPrice|createdAt|updatedAt)(,asc|,desc))?$", message = "Invalid sorting definition: must be in form '<sort parameter>,<sort order>'")
-            @Parameter(description = "Sorting parameters in ascending and descending order by:<br>name: <code>name,asc</code> / <code>name,desc</code><br>price: <code>price,asc</code> / <code>price,desc</code><br>discountPrice: <code>discountPrice,asc</code> / <code>discountPrice,desc</code><br>creation date: <code>createdAt,asc</code> / <code>createdAt,desc</code><br>update date: <code>updatedAt,asc</code> / <code>updatedAt,desc</code>") String sort) {
-        return productService.getProductsByFilter(categoryId, minPrice, maxPrice, hasDiscount, sort);
+    @Operation(summary = "Getting products page by page", description = "Provides functionality for filtering and sorting products like the product listing, returning a limited page and a cursor for requesting the next one")
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/page")
+    public ProductPageResponseDto getProductsPage(
+            @Valid @ParameterObject ProductFilter filter,
+
+            @RequestParam(value = "after", required = false)
+            @Pattern(regexp = "^[A-Za-z0-9_-]*$", message = "Invalid cursor: Must be the value of 'next' from the previous page")
+            @Parameter(description = "Cursor returned as <code>next</code> by the previous page") String after,
+
+            @RequestParam(value = "limit", required = false, defaultValue = "20")
+            @Min(value = 1, message = "Invalid limit: Must be greater than or equal to 1")
+            @Max(value = 100, message = "Invalid limit: Must be less than or equal to 100")
+            @Parameter(description = "Maximal number of products on the page") Integer limit) {
+        return productService.getProductsPageByFilter(filter, after, limit);
     }
 
     @Operation(summary = "Getting top-10 products", description = "Provides functionality for getting top-10 most purchased and top-10 most canceled products")
@@ -133,6 +156,22 @@ public class ProductController {
         return productService.getTop10Products(status);
     }
 
+    @Operation(summary = "Getting trending products", description = "Provides functionality for getting the products with the most units ordered in the last hour, day or week. Counts are estimates that may exceed the true count by at most the reported error")
+    @SecurityRequirement(name = "JWT")
+    @PreAuthorize("hasRole('ROLE_ADMINISTRATOR')")
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/trending")
+    public List<ProductTrendDto> getTrendingProducts(@RequestParam(value = "window", required = false, defaultValue = "24h")
+                                                     @Pattern(regexp = "^(1h|24h|7d)$", message = "Invalid window: Must be 1h, 24h or 7d")
+                                                     @Parameter(description = "Time window: <code>1h</code>, <code>24h</code> or <code>7d</code>") String window,
+
+                                                     @RequestParam(value = "limit", required = false, defaultValue = "10")
+                                                     @Min(value = 1, message = "Invalid limit: Must be greater than or equal to 1")
+                                                     @Max(value = 100, message = "Invalid limit: Must be less than or equal to 100")
+                                                     @Parameter(description = "Maximal number of products") Integer limit) {
+        return productService.getTrendingProducts(window, limit);
+    }
+
     @Operation(summary = "Getting 'pending payment' products", description = "Provides functionality for getting products that are in the status 'pending payment' for more than N days")
     @SecurityRequirement(name = "JWT")
     @PreAuthorize("hasRole('ROLE_ADMINISTRATOR')")
@@ -144,6 +183,16 @@ public class ProductController {
         return productService.findProductPending(day);
     }
 
+    @Operation(summary = "Streaming 'pending payment' products", description = "Provides the same report as getting 'pending payment' products, written out product by product instead of being built in memory first")
+    @SecurityRequirement(name = "JWT")
+    @PreAuthorize("hasRole('ROLE_ADMINISTRATOR')")
+    @GetMapping(value = "/pending/stream")
+    public ResponseEntity<StreamingResponseBody> streamProductPending(@RequestParam("day")
+                                                                      @Positive(message = "Number of days must be a positive number")
+                                                                      @Parameter(description = "Number of days for <code>PENDING_PAYMENT</code> status") Integer day) {
+        return JsonArrayStreaming.<ProductPendingDto>of(objectMapper, consumer -> productService.streamProductPending(day, consumer));
+    }
+
     @Operation(summary = "Getting profit for certain period ", description = "Provides functionality for getting profit for certain period (days, months, years)")
     @SecurityRequirement(name = "JWT")
     @PreAuthorize("hasRole('ROLE_ADMINISTRATOR')")
@@ -42,6 +42,13 @@ public class ControllerAdvice {
                 .body(new ErrorMessage(exception.getMessage()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorMessage> exceptionHandler(InvalidCursorException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorMessage(exception.getMessage()));
+    }
+
     @ExceptionHandler(OrderStatusException.class)
     public ResponseEntity<ErrorMessage> exceptionHandler(OrderStatusException exception) {
         return ResponseEntity
@@ -49,6 +56,22 @@ public class ControllerAdvice {
                 .body(new ErrorMessage(exception.getMessage()));
     }
 
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ErrorMessage> exceptionHandler(PasswordHashingOverloadedException exception) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorMessage(exception.getMessage()));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorMessage> exceptionHandler(TooManyRequestsException exception) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(new ErrorMessage(exception.getMessage()));
+    }
+
     @ExceptionHandler(AuthException.class)
     public ResponseEntity<ErrorMessage> exceptionHandler(AuthException exception) {
         return ResponseEntity
@@ -56,6 +79,13 @@ public class ControllerAdvice {
                 .body(new ErrorMessage(exception.getMessage()));
     }
 
+    @ExceptionHandler(IncompleteTokenException.class)
+    public ResponseEntity<ErrorMessage> exceptionHandler(IncompleteTokenException exception) {
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorMessage(exception.getMessage()));
+    }
+
     @ExceptionHandler(ExpiredJwtException.class)
     public ResponseEntity<ErrorMessage> exceptionHandler(ExpiredJwtException exception) {
         return ResponseEntity
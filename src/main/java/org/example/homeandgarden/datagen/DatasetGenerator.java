@@ -0,0 +1,272 @@
+package org.example.homeandgarden.datagen;
+
+import lombok.Builder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Bulk-loads generated products, users with their carts and favorites, and order histories with batched JDBC. Rows
+ * are produced and written one batch at a time, so memory stays flat however many users are asked for. Ids are
+ * reserved from {@code IdGenerators} in blocks, which keeps the application's own inserts clear of them.
+ * <p>
+ * Product popularity follows a Zipf distribution, prices a log-normal one, and orders per user, items per order,
+ * cart items and favorites geometric ones. Orders are spread over the last {@code days} days; those older than two
+ * weeks are delivered or canceled, newer ones are still on their way through the order statuses.
+ * <p>
+ * ProductSales and DailyRevenue are not written here; rebuild them from OrderItems afterwards.
+ */
+public class DatasetGenerator {
+
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+    private static final int SETTLED_AFTER_DAYS = 14;
+    private static final int MAX_ITEMS_PER_ORDER = 10;
+    private static final double ZIPF_EXPONENT = 1.0;
+    private static final String[] OPEN_STATUSES = {"CREATED", "PENDING_PAYMENT", "PAID", "ON_THE_WAY"};
+
+    private static final String INSERT_PRODUCT = "INSERT INTO Products (ProductID, CategoryID, Price, DiscountPrice, CreatedAt, UpdatedAt, Name, Description, ImageURL) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER = "INSERT INTO Users (UserID, Name, Email, PhoneNumber, PasswordHash, Role) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CART = "INSERT INTO Cart (CartID, UserID) VALUES (?, ?)";
+    private static final String INSERT_CART_ITEM = "INSERT INTO CartItems (CartItemID, CartID, ProductID, Quantity) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_FAVORITE = "INSERT INTO Favorites (FavoriteID, ProductID, UserID) VALUES (?, ?, ?)";
+    private static final String INSERT_ORDER = "INSERT INTO Orders (OrderID, UserID, CreatedAt, DeliveryAddress, ContactPhone, DeliveryMethod, Status, UpdatedAt) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_ITEM = "INSERT INTO OrderItems (OrderItemID, OrderID, ProductID, Quantity, PriceAtPurchase) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * What to generate; the averages are the means of the geometric distributions.
+     */
+    @Builder
+    public record Spec(int users, int products, double ordersPerUser, double itemsPerOrder, double cartItemsPerUser,
+                       double favoritesPerUser, int days, String passwordHash, int batchSize, long seed) {
+    }
+
+    /**
+     * Users were given consecutive ids from {@code firstUserId}, each with the cart {@code firstCartId} further on,
+     * and the email {@link #email(long)}.
+     */
+    public record Result(long firstUserId, long firstCartId, int users, long firstProductId, int products,
+                         long orders, long orderItems, long cartItems, long favorites) {
+
+        public long userId(int user) {
+            return firstUserId + user;
+        }
+
+        public long cartId(int user) {
+            return firstCartId + user;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public static String email(long userId) {
+        return "user" + userId + "@generated.example.com";
+    }
+
+    public Result generate(Spec spec, LongConsumer usersProgress) {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        long now = System.currentTimeMillis();
+        List<Long> categories = jdbcTemplate.queryForList("SELECT CategoryID FROM Categories ORDER BY CategoryID", Long.class);
+        if (categories.isEmpty()) {
+            throw new IllegalStateException("Generated products need at least one category.");
+        }
+
+        long firstProductId = reserve("Products", spec.products());
+        BigDecimal[] salePrices = new BigDecimal[spec.products()];
+        Batch products = new Batch(INSERT_PRODUCT, spec.batchSize());
+        for (int product = 0; product < spec.products(); product++) {
+            long productId = firstProductId + product;
+            BigDecimal price = price(random);
+            BigDecimal discountPrice = random.nextInt(5) == 0
+                    ? price.multiply(BigDecimal.valueOf(60 + random.nextInt(31), 2)).setScale(2, RoundingMode.HALF_UP)
+                    : null;
+            salePrices[product] = discountPrice != null ? discountPrice : price;
+            Timestamp createdAt = new Timestamp(now - random.nextLong(spec.days() * DAY_MILLIS));
+            products.add(productId, categories.get(random.nextInt(categories.size())), price, discountPrice, createdAt, createdAt,
+                    "Product " + productId, "Generated product", "https://example.com/images/" + productId + ".jpg");
+            if (products.isFull()) {
+                products.flush();
+            }
+        }
+        products.flush();
+
+        double[] popularity = zipfCumulative(spec.products());
+        long firstUserId = reserve("Users", spec.users());
+        long firstCartId = reserve("Cart", spec.users());
+        IdBlock cartItemIds = new IdBlock("CartItems", spec.batchSize());
+        IdBlock favoriteIds = new IdBlock("Favorites", spec.batchSize());
+        IdBlock orderIds = new IdBlock("Orders", spec.batchSize());
+        IdBlock orderItemIds = new IdBlock("OrderItems", spec.batchSize());
+
+        Batch users = new Batch(INSERT_USER, spec.batchSize());
+        Batch carts = new Batch(INSERT_CART, spec.batchSize());
+        Batch cartItems = new Batch(INSERT_CART_ITEM, spec.batchSize());
+        Batch favorites = new Batch(INSERT_FAVORITE, spec.batchSize());
+        Batch orders = new Batch(INSERT_ORDER, spec.batchSize());
+        Batch orderItems = new Batch(INSERT_ORDER_ITEM, spec.batchSize());
+        for (int user = 0; user < spec.users(); user++) {
+            long userId = firstUserId + user;
+            long cartId = firstCartId + user;
+            String phone = "+49151" + userId;
+            users.add(userId, "User " + userId, email(userId), phone, spec.passwordHash(), "CLIENT");
+            carts.add(cartId, userId);
+            for (int product : distinctPicks(random, popularity, geometric(random, spec.cartItemsPerUser()))) {
+                cartItems.add(cartItemIds.next(), cartId, firstProductId + product, quantity(random));
+            }
+            for (int product : distinctPicks(random, popularity, geometric(random, spec.favoritesPerUser()))) {
+                favorites.add(favoriteIds.next(), firstProductId + product, userId);
+            }
+            for (int order = geometric(random, spec.ordersPerUser()); order > 0; order--) {
+                long orderId = orderIds.next();
+                int ageDays = random.nextInt(spec.days());
+                Timestamp createdAt = new Timestamp(now - ageDays * DAY_MILLIS - random.nextLong(DAY_MILLIS));
+                String status = ageDays >= SETTLED_AFTER_DAYS
+                        ? (random.nextInt(10) == 0 ? "CANCELED" : "DELIVERED")
+                        : OPEN_STATUSES[random.nextInt(OPEN_STATUSES.length)];
+                orders.add(orderId, userId, createdAt, "Main street " + userId, phone,
+                        random.nextInt(3) == 0 ? "CUSTOMER_PICKUP" : "COURIER_DELIVERY", status, createdAt);
+                int items = Math.min(MAX_ITEMS_PER_ORDER, 1 + geometric(random, spec.itemsPerOrder() - 1));
+                for (int item = 0; item < items; item++) {
+                    int product = pick(random, popularity);
+                    orderItems.add(orderItemIds.next(), orderId, firstProductId + product, quantity(random), salePrices[product]);
+                }
+            }
+            if (users.isFull()) {
+                flush(users, carts, cartItems, favorites, orders, orderItems);
+                usersProgress.accept(user + 1L);
+            }
+        }
+        flush(users, carts, cartItems, favorites, orders, orderItems);
+        usersProgress.accept(spec.users());
+        return new Result(firstUserId, firstCartId, spec.users(), firstProductId, spec.products(),
+                orders.written, orderItems.written, cartItems.written, favorites.written);
+    }
+
+    // Parents before children, for the foreign keys.
+    private static void flush(Batch... batches) {
+        for (Batch batch : batches) {
+            batch.flush();
+        }
+    }
+
+    private long reserve(String generator, long count) {
+        Long next = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE IdGenerators SET NextValue = NextValue + ? WHERE GeneratorName = ?", count, generator);
+            return jdbcTemplate.queryForObject("SELECT NextValue FROM IdGenerators WHERE GeneratorName = ?", Long.class, generator);
+        });
+        return next - count;
+    }
+
+    private static BigDecimal price(SplittableRandom random) {
+        double price = Math.exp(Math.log(25) + 0.9 * gaussian(random));
+        return BigDecimal.valueOf(Math.min(9999.99, Math.max(0.99, price))).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static int quantity(SplittableRandom random) {
+        int roll = random.nextInt(10);
+        return roll < 7 ? 1 : roll < 9 ? 2 : 3 + random.nextInt(3);
+    }
+
+    private static int geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        return (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(mean / (1 + mean)));
+    }
+
+    private static double[] zipfCumulative(int products) {
+        double[] cumulative = new double[products];
+        double sum = 0;
+        for (int rank = 0; rank < products; rank++) {
+            sum += 1 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulative[rank] = sum;
+        }
+        return cumulative;
+    }
+
+    private static int pick(SplittableRandom random, double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    private static Set<Integer> distinctPicks(SplittableRandom random, double[] cumulative, int count) {
+        Set<Integer> picks = new LinkedHashSet<>();
+        for (int attempt = 0; attempt < count * 4 && picks.size() < Math.min(count, cumulative.length); attempt++) {
+            picks.add(pick(random, cumulative));
+        }
+        return picks;
+    }
+
+    private final class IdBlock {
+
+        private final String generator;
+        private final int size;
+        private long next;
+        private long end;
+
+        private IdBlock(String generator, int size) {
+            this.generator = generator;
+            this.size = size;
+        }
+
+        private long next() {
+            if (next == end) {
+                next = reserve(generator, size);
+                end = next + size;
+            }
+            return next++;
+        }
+    }
+
+    private final class Batch {
+
+        private final String sql;
+        private final int size;
+        private final List<Object[]> rows;
+        private long written;
+
+        private Batch(String sql, int size) {
+            this.sql = sql;
+            this.size = size;
+            this.rows = new ArrayList<>(size);
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+        }
+
+        private boolean isFull() {
+            return rows.size() >= size;
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                written += rows.size();
+                rows.clear();
+            }
+        }
+    }
+}
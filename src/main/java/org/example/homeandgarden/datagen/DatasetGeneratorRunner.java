@@ -0,0 +1,108 @@
+package org.example.homeandgarden.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.homeandgarden.security.service.PasswordHasher;
+import org.example.homeandgarden.service.DailyRevenueReconciler;
+import org.example.homeandgarden.service.ProductSalesReconciler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills the database with a {@link DatasetGenerator} data set when the application is started with the
+ * {@code datagen} profile, then rebuilds ProductSales and DailyRevenue from the generated orders:
+ * <p>
+ * {@code ./mvnw spring-boot:run -Dspring-boot.run.profiles=datagen -Dspring-boot.run.arguments=--datagen.users=1000000}
+ * <p>
+ * Every generated user logs in with {@code datagen.password}. With {@code datagen.exit=false} the application keeps
+ * running on the new data instead of exiting.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PasswordHasher passwordHasher;
+    private final ProductSalesReconciler productSalesReconciler;
+    private final DailyRevenueReconciler dailyRevenueReconciler;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${datagen.users:100000}")
+    private int users;
+
+    @Value("${datagen.products:10000}")
+    private int products;
+
+    @Value("${datagen.orders-per-user:3}")
+    private double ordersPerUser;
+
+    @Value("${datagen.items-per-order:2.5}")
+    private double itemsPerOrder;
+
+    @Value("${datagen.cart-items-per-user:1.5}")
+    private double cartItemsPerUser;
+
+    @Value("${datagen.favorites-per-user:2}")
+    private double favoritesPerUser;
+
+    @Value("${datagen.days:365}")
+    private int days;
+
+    @Value("${datagen.password:Generated1$}")
+    private String password;
+
+    @Value("${datagen.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.exit:true}")
+    private boolean exit;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long reportEvery = Math.max(batchSize, users / 20);
+        long[] nextReport = {reportEvery};
+        DatasetGenerator.Result result = new DatasetGenerator(jdbcTemplate, new TransactionTemplate(transactionManager)).generate(
+                DatasetGenerator.Spec.builder()
+                        .users(users)
+                        .products(products)
+                        .ordersPerUser(ordersPerUser)
+                        .itemsPerOrder(itemsPerOrder)
+                        .cartItemsPerUser(cartItemsPerUser)
+                        .favoritesPerUser(favoritesPerUser)
+                        .days(days)
+                        .passwordHash(passwordHasher.encode(password))
+                        .batchSize(batchSize)
+                        .seed(seed)
+                        .build(),
+                written -> {
+                    if (written >= nextReport[0]) {
+                        log.info("Generated {} of {} users in {} s.", written, users, (System.nanoTime() - start) / 1_000_000_000);
+                        nextReport[0] = written + reportEvery;
+                    }
+                });
+        log.info("Generated {} products, {} users, {} orders with {} items, {} cart items and {} favorites in {} s.",
+                result.products(), result.users(), result.orders(), result.orderItems(), result.cartItems(), result.favorites(),
+                (System.nanoTime() - start) / 1_000_000_000);
+
+        productSalesReconciler.reconcile();
+        dailyRevenueReconciler.reconcile();
+        if (exit) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
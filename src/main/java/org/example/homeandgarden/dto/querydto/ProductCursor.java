@@ -0,0 +1,82 @@
+package org.example.homeandgarden.dto.querydto;
+
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.example.homeandgarden.exception.InvalidCursorException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Position in a sorted product listing: the sort key and productId of the last product on the previous page.
+ * Prices are kept in cents and timestamps in epoch nanoseconds; a {@code null} key is a product without a value.
+ */
+public record ProductCursor(String sort, boolean ascending, long productId, String key) {
+
+    private static final String INVALID_CURSOR = "Invalid cursor: Request the first page again.";
+
+    public static ProductCursor after(ProductResponseDto product, String sort, boolean ascending) {
+        String key = switch (sort) {
+            case "name" -> product.getName();
+            case "price" -> toCents(product.getPrice());
+            case "discountPrice" -> toCents(product.getDiscountPrice());
+            case "createdAt" -> toNanos(product.getCreatedAt());
+            case "updatedAt" -> toNanos(product.getUpdatedAt());
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sort);
+        };
+        return new ProductCursor(sort, ascending, product.getProductId(), key);
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+            String[] sortParts = parts[0].split(",");
+            if (parts.length != 3 || sortParts.length != 2 || !(sortParts[1].equals("asc") || sortParts[1].equals("desc"))
+                    || !(parts[2].isEmpty() || parts[2].startsWith("="))) {
+                throw new InvalidCursorException(INVALID_CURSOR);
+            }
+            String key = parts[2].isEmpty() ? null : parts[2].substring(1);
+            ProductCursor cursor = new ProductCursor(sortParts[0], sortParts[1].equals("asc"), Long.parseLong(parts[1]), key);
+            cursor.typedKey();
+            return cursor;
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException(INVALID_CURSOR);
+        }
+    }
+
+    public String encode() {
+        String value = sort + "," + (ascending ? "asc" : "desc") + ":" + productId + ":" + (key == null ? "" : "=" + key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Long longKey() {
+        return key == null ? null : Long.parseLong(key);
+    }
+
+    public Comparable<?> typedKey() {
+        if (key == null) {
+            return null;
+        }
+        return switch (sort) {
+            case "name" -> key;
+            case "price", "discountPrice" -> BigDecimal.valueOf(Long.parseLong(key), 2);
+            case "createdAt", "updatedAt" -> {
+                long nanos = Long.parseLong(key);
+                Timestamp timestamp = new Timestamp(Math.floorDiv(nanos, 1_000_000_000L) * 1000);
+                timestamp.setNanos((int) Math.floorMod(nanos, 1_000_000_000L));
+                yield timestamp;
+            }
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sort);
+        };
+    }
+
+    private static String toCents(BigDecimal price) {
+        return price == null ? null : String.valueOf(price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    private static String toNanos(Timestamp timestamp) {
+        return timestamp == null ? null : String.valueOf(Math.floorDiv(timestamp.getTime(), 1000) * 1_000_000_000L + timestamp.getNanos());
+    }
+}
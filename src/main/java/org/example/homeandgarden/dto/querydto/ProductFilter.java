@@ -0,0 +1,50 @@
+package org.example.homeandgarden.dto.querydto;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.*;
+import org.springframework.web.bind.annotation.BindParam;
+
+import java.math.BigDecimal;
+
+/**
+ * Filter and sort order of the product listings, bound from the query parameters shared by all of them.
+ * Without a price bound the range is open and without a sort the products are listed by name.
+ */
+public record ProductFilter(
+        @Min(value = 1, message = "Invalid ID: Id must be greater than or equal to 1")
+        @Parameter(description = "Category identifier") Long category,
+
+        @DecimalMin(value = "0.0") @Digits(integer = 6, fraction = 2)
+        @Parameter(description = "Minimal price for the filter range") BigDecimal minPrice,
+
+        @DecimalMax(value = "999999.0") @Digits(integer = 6, fraction = 2)
+        @Parameter(description = "Maximal price for the filter range") BigDecimal maxPrice,
+
+        @BindParam("discount")
+        @Parameter(name = "discount", description = "Indicator whether a discount is available or not") Boolean hasDiscount,
+
+        @Pattern(regexp = "^((name|price|discountPrice|createdAt|updatedAt)(,asc|,desc))?$", message = "Invalid sorting definition: must be in form '<sort parameter>,<sort order>'")
+        @Parameter(description = "Sorting parameters in ascending and descending order by:<br>name: <code>name,asc</code> / <code>name,desc</code><br>price: <code>price,asc</code> / <code>price,desc</code><br>discountPrice: <code>discountPrice,asc</code> / <code>discountPrice,desc</code><br>creation date: <code>createdAt,asc</code> / <code>createdAt,desc</code><br>update date: <code>updatedAt,asc</code> / <code>updatedAt,desc</code>") String sort) {
+
+    private static final BigDecimal NO_MAX_PRICE = BigDecimal.valueOf(Double.MAX_VALUE);
+
+    public ProductFilter {
+        hasDiscount = Boolean.TRUE.equals(hasDiscount);
+    }
+
+    public BigDecimal minPriceOrDefault() {
+        return minPrice == null ? BigDecimal.ZERO : minPrice;
+    }
+
+    public BigDecimal maxPriceOrDefault() {
+        return maxPrice == null ? NO_MAX_PRICE : maxPrice;
+    }
+
+    public String sortField() {
+        return sort == null || sort.isEmpty() ? "name" : sort.substring(0, sort.indexOf(','));
+    }
+
+    public boolean ascending() {
+        return sort == null || !sort.endsWith(",desc");
+    }
+}
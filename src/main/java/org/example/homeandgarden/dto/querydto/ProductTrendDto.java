@@ -0,0 +1,17 @@
+package org.example.homeandgarden.dto.querydto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductTrendDto {
+    private Long productId;
+    private String name;
+    private Long count;
+    private Long error;
+}
@@ -0,0 +1,23 @@
+package org.example.homeandgarden.dto.querydto;
+
+import org.example.homeandgarden.entity.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * The part of a user needed to authenticate and issue tokens. Instances are shared through the user identity cache,
+ * so they are immutable; the refresh token is kept only as its SHA-256 digest.
+ */
+@Getter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class UserIdentityDto {
+    private final Long userId;
+    private final String email;
+    private final String name;
+    private final Role role;
+    private final Long cartId;
+    private final String passwordHash;
+    private final byte[] refreshTokenFingerprint;
+}
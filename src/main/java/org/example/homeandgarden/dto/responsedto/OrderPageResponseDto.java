@@ -0,0 +1,20 @@
+package org.example.homeandgarden.dto.responsedto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageResponseDto {
+
+    private List<OrderResponseDto> items;
+    private Integer page;
+    private Integer size;
+    private Boolean hasNext;
+}
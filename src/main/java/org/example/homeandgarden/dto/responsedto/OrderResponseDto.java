@@ -9,7 +9,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.sql.Timestamp;
-import java.util.Set;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -31,6 +31,6 @@ public class OrderResponseDto {
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonProperty("items")
-    private Set<OrderItemResponseDto> orderItemsSet;
+    private List<OrderItemResponseDto> orderItems;
 }
 
@@ -0,0 +1,21 @@
+package org.example.homeandgarden.dto.responsedto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductPageResponseDto {
+
+    private List<ProductResponseDto> items;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String next;
+}
@@ -18,7 +18,9 @@ import java.util.Set;
 public class Cart {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "CartIdGenerator")
+    @TableGenerator(name = "CartIdGenerator", table = "IdGenerators", pkColumnName = "GeneratorName",
+            valueColumnName = "NextValue", pkColumnValue = "Cart", allocationSize = 50)
     @Column(name = "CartID")
     private Long cartId;
 
@@ -17,7 +17,9 @@ public class CartItem {
 
     @Id
     @Column(name = "CartItemID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "CartItemIdGenerator")
+    @TableGenerator(name = "CartItemIdGenerator", table = "IdGenerators", pkColumnName = "GeneratorName",
+            valueColumnName = "NextValue", pkColumnValue = "CartItems", allocationSize = 50)
     private Long cartItemId;
 
     @ManyToOne(fetch = FetchType.LAZY)
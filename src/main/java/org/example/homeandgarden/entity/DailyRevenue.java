@@ -0,0 +1,29 @@
+package org.example.homeandgarden.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Revenue at purchase prices of the paid, on the way and delivered orders created on one day.
+ */
+@Entity
+@Table(name = "DailyRevenue")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenue {
+
+    @Id
+    @Column(name = "RevenueDate")
+    private LocalDate revenueDate;
+
+    @Column(name = "Revenue")
+    private BigDecimal revenue;
+}
@@ -16,10 +16,12 @@ public class Favorite {
 
     @Id
     @Column(name = "FavoriteID")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "FavoriteIdGenerator")
+    @TableGenerator(name = "FavoriteIdGenerator", table = "IdGenerators", pkColumnName = "GeneratorName",
+            valueColumnName = "NextValue", pkColumnValue = "Favorites", allocationSize = 50)
     private Long favoriteId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="UserID", nullable=false)
     private User user;
 
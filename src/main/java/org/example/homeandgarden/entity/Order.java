@@ -20,7 +20,9 @@ import java.util.Set;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "OrderIdGenerator")
+    @TableGenerator(name = "OrderIdGenerator", table = "IdGenerators", pkColumnName = "GeneratorName",
+            valueColumnName = "NextValue", pkColumnValue = "Orders", allocationSize = 50)
     @Column(name = "OrderID")
     private Long orderId;
 
@@ -47,7 +49,7 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<OrderItem> orderItems = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "UserID", nullable = false)
     private User user;
 
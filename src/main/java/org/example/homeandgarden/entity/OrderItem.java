@@ -17,7 +17,9 @@ import java.math.BigDecimal;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "OrderItemIdGenerator")
+    @TableGenerator(name = "OrderItemIdGenerator", table = "IdGenerators", pkColumnName = "GeneratorName",
+            valueColumnName = "NextValue", pkColumnValue = "OrderItems", allocationSize = 50)
     @Column(name = "OrderItemID")
     private Long orderItemID;
 
@@ -0,0 +1,41 @@
+package org.example.homeandgarden.entity;
+
+import org.example.homeandgarden.entity.enums.Status;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Units of a product sold in orders of one status, kept in step with OrderItems by {@code OrderService}
+ * and rebuilt from them by {@code ProductSalesReconciler}.
+ */
+@Entity
+@Table(name = "ProductSales")
+@IdClass(ProductSales.ProductSalesId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSales {
+
+    @Id
+    @Column(name = "ProductID")
+    private Long productId;
+
+    @Id
+    @Column(name = "Status")
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "Quantity")
+    private Long quantity;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductSalesId implements Serializable {
+        private Long productId;
+        private Status status;
+    }
+}
@@ -18,7 +18,9 @@ import java.util.Set;
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "UserIdGenerator")
+    @TableGenerator(name = "UserIdGenerator", table = "IdGenerators", pkColumnName = "GeneratorName",
+            valueColumnName = "NextValue", pkColumnValue = "Users", allocationSize = 50)
     @Column(name = "UserID")
     private Long userId;
 
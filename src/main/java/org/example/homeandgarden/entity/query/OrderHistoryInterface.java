@@ -0,0 +1,28 @@
+package org.example.homeandgarden.entity.query;
+
+import org.example.homeandgarden.entity.enums.DeliveryMethod;
+import org.example.homeandgarden.entity.enums.Status;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+public interface OrderHistoryInterface {
+    Long getOrderId();
+    Timestamp getCreatedAt();
+    String getDeliveryAddress();
+    String getContactPhone();
+    DeliveryMethod getDeliveryMethod();
+    Status getStatus();
+    Timestamp getUpdatedAt();
+    Long getOrderItemId();
+    Integer getQuantity();
+    BigDecimal getPriceAtPurchase();
+    Long getProductId();
+    String getName();
+    String getDescription();
+    BigDecimal getPrice();
+    BigDecimal getDiscountPrice();
+    String getImageUrl();
+    Timestamp getProductCreatedAt();
+    Timestamp getProductUpdatedAt();
+}
@@ -1,8 +0,0 @@
-package org.example.homeandgarden.entity.query;
-
-import java.math.BigDecimal;
-
-public interface ProductProfitInterface {
-    String getPeriod();
-    BigDecimal getSum();
-}
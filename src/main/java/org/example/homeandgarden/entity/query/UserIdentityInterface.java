@@ -0,0 +1,13 @@
+package org.example.homeandgarden.entity.query;
+
+import org.example.homeandgarden.entity.enums.Role;
+
+public interface UserIdentityInterface {
+    Long getUserId();
+    String getEmail();
+    String getName();
+    Role getRole();
+    String getPasswordHash();
+    String getRefreshToken();
+    Long getCartId();
+}
@@ -0,0 +1,8 @@
+package org.example.homeandgarden.exception;
+
+public class IncompleteTokenException extends RuntimeException {
+
+    public IncompleteTokenException(String message) {
+        super(message);
+    }
+}
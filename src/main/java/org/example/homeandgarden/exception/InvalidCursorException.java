@@ -0,0 +1,8 @@
+package org.example.homeandgarden.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,559 @@
+package org.example.homeandgarden.index;
+
+import org.example.homeandgarden.dto.querydto.ProductCursor;
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.mapper.Mappers;
+import org.example.homeandgarden.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of the product catalog that answers {@code GET /products} without touching the database.
+ * Readers work on an immutable snapshot; every write produces a new snapshot from the previous one.
+ */
+@Slf4j
+@Component
+public class ProductCatalogIndex {
+
+    private static final long NULL_KEY = Long.MIN_VALUE;
+    private static final long NO_CATEGORY = -1L;
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private static final int NAME = 0;
+    private static final int DISCOUNT_PRICE = 1;
+    private static final int CREATED_AT = 2;
+    private static final int UPDATED_AT = 3;
+    private static final int SORT_FIELDS = 4;
+    private static final int PRICE = SORT_FIELDS;
+
+    private final ProductRepository productRepository;
+    private final Mappers mappers;
+    private final boolean enabled;
+    private final Lock writeLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public ProductCatalogIndex(ProductRepository productRepository,
+                               Mappers mappers,
+                               @Value("${catalog.index.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.mappers = mappers;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Product catalog index is disabled, catalog reads go to the database.");
+            return;
+        }
+        rebuild(productRepository.findAll());
+        log.info("Product catalog index loaded with {} products.", snapshot.size);
+    }
+
+    public void rebuild(Collection<Product> products) {
+        List<Entry> entries = new ArrayList<>(products.size());
+        for (Product product : products) {
+            if (product.getPrice() != null) {
+                entries.add(toEntry(product));
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::price).thenComparingLong(Entry::productId));
+        writeLock.lock();
+        try {
+            snapshot = Snapshot.of(entries);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.size;
+    }
+
+    public void put(Product product) {
+        if (product == null || product.getProductId() == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null) {
+                Snapshot next = current.without(product.getProductId());
+                snapshot = product.getPrice() == null ? next : next.with(toEntry(product));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null) {
+                snapshot = current.without(productId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeCategory(Long categoryId) {
+        if (categoryId == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null) {
+                BitSet keep = new BitSet(current.size);
+                keep.set(0, current.size);
+                BitSet category = current.categories.get(categoryId);
+                if (category != null) {
+                    keep.andNot(category);
+                    snapshot = current.retain(keep);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<ProductResponseDto> query(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                          boolean hasDiscount, String sortField, boolean ascending) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Product catalog index is not loaded.");
+        }
+        BitSet matches = current.match(categoryId, minPrice, maxPrice, hasDiscount);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        return "price".equals(sortField)
+                ? current.byPrice(matches, ascending)
+                : current.byField(fieldOf(sortField), matches, ascending);
+    }
+
+    public List<ProductResponseDto> queryAfter(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, boolean hasDiscount,
+                                               String sortField, boolean ascending, ProductCursor after, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Product catalog index is not loaded.");
+        }
+        BitSet matches = current.match(categoryId, minPrice, maxPrice, hasDiscount);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        int field = "price".equals(sortField) ? PRICE : fieldOf(sortField);
+        return current.page(field, matches, ascending, after, limit);
+    }
+
+    private Entry toEntry(Product product) {
+        return new Entry(product.getProductId(),
+                toCents(product.getPrice()),
+                product.getDiscountPrice() == null ? NULL_KEY : toCents(product.getDiscountPrice()),
+                toNanos(product.getCreatedAt()),
+                toNanos(product.getUpdatedAt()),
+                product.getName() == null ? "" : product.getName(),
+                product.getCategory() == null ? NO_CATEGORY : product.getCategory().getCategoryId(),
+                mappers.convertToProductResponseDto(product));
+    }
+
+    private static int fieldOf(String sortField) {
+        return switch (sortField) {
+            case "name" -> NAME;
+            case "discountPrice" -> DISCOUNT_PRICE;
+            case "createdAt" -> CREATED_AT;
+            case "updatedAt" -> UPDATED_AT;
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        };
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static long toNanos(Timestamp timestamp) {
+        return timestamp == null ? NULL_KEY : Math.floorDiv(timestamp.getTime(), 1000) * 1_000_000_000L + timestamp.getNanos();
+    }
+
+    private static long lowerBoundCents(BigDecimal minPrice) {
+        if (minPrice == null) {
+            return Long.MIN_VALUE;
+        }
+        BigDecimal cents = minPrice.movePointRight(2).setScale(0, RoundingMode.CEILING);
+        return cents.compareTo(MAX_CENTS) > 0 ? Long.MAX_VALUE : cents.longValue();
+    }
+
+    private static long upperBoundCents(BigDecimal maxPrice) {
+        if (maxPrice == null) {
+            return Long.MAX_VALUE;
+        }
+        BigDecimal cents = maxPrice.movePointRight(2).setScale(0, RoundingMode.FLOOR);
+        return cents.compareTo(MAX_CENTS) > 0 ? Long.MAX_VALUE : cents.longValue();
+    }
+
+    private record Entry(long productId, long price, long discountPrice, long createdAt, long updatedAt,
+                         String name, long categoryId, ProductResponseDto dto) {
+    }
+
+    /**
+     * Slots are ordered by (price, productId). Every other sort order is kept as a permutation of slots
+     * together with its inverse, so filtering is done with bitsets and ordering never re-sorts the catalog.
+     */
+    private static final class Snapshot {
+
+        private final int size;
+        private final long[] productIds;
+        private final long[] prices;
+        private final long[][] keys;
+        private final String[] names;
+        private final long[] categoryIds;
+        private final ProductResponseDto[] dtos;
+        private final int[][] permutations;
+        private final int[][] ranks;
+        private final Map<Long, BitSet> categories;
+        private final BitSet discounted;
+
+        private Snapshot(long[] productIds, long[] prices, long[][] keys, String[] names,
+                         long[] categoryIds, ProductResponseDto[] dtos, int[][] permutations) {
+            this.size = productIds.length;
+            this.productIds = productIds;
+            this.prices = prices;
+            this.keys = keys;
+            this.names = names;
+            this.categoryIds = categoryIds;
+            this.dtos = dtos;
+            this.permutations = permutations;
+            this.ranks = new int[SORT_FIELDS][size];
+            for (int field = 0; field < SORT_FIELDS; field++) {
+                for (int rank = 0; rank < size; rank++) {
+                    ranks[field][permutations[field][rank]] = rank;
+                }
+            }
+            this.categories = new HashMap<>();
+            this.discounted = new BitSet(size);
+            for (int slot = 0; slot < size; slot++) {
+                categories.computeIfAbsent(categoryIds[slot], id -> new BitSet(size)).set(slot);
+                if (keys[DISCOUNT_PRICE][slot] != NULL_KEY) {
+                    discounted.set(slot);
+                }
+            }
+        }
+
+        private static Snapshot of(List<Entry> entries) {
+            int size = entries.size();
+            long[] productIds = new long[size];
+            long[] prices = new long[size];
+            long[][] keys = new long[SORT_FIELDS][size];
+            keys[NAME] = new long[0];
+            String[] names = new String[size];
+            long[] categoryIds = new long[size];
+            ProductResponseDto[] dtos = new ProductResponseDto[size];
+            for (int slot = 0; slot < size; slot++) {
+                Entry entry = entries.get(slot);
+                productIds[slot] = entry.productId();
+                prices[slot] = entry.price();
+                keys[DISCOUNT_PRICE][slot] = entry.discountPrice();
+                keys[CREATED_AT][slot] = entry.createdAt();
+                keys[UPDATED_AT][slot] = entry.updatedAt();
+                names[slot] = entry.name();
+                categoryIds[slot] = entry.categoryId();
+                dtos[slot] = entry.dto();
+            }
+            int[][] permutations = new int[SORT_FIELDS][];
+            for (int field = 0; field < SORT_FIELDS; field++) {
+                final int sortField = field;
+                Integer[] order = new Integer[size];
+                for (int slot = 0; slot < size; slot++) {
+                    order[slot] = slot;
+                }
+                Arrays.sort(order, (a, b) -> compare(sortField, names, keys, productIds, a, b));
+                permutations[field] = new int[size];
+                for (int rank = 0; rank < size; rank++) {
+                    permutations[field][rank] = order[rank];
+                }
+            }
+            return new Snapshot(productIds, prices, keys, names, categoryIds, dtos, permutations);
+        }
+
+        private static int compare(int field, String[] names, long[][] keys, long[] productIds, int a, int b) {
+            int result = field == NAME
+                    ? String.CASE_INSENSITIVE_ORDER.compare(names[a], names[b])
+                    : Long.compare(keys[field][a], keys[field][b]);
+            return result != 0 ? result : Long.compare(productIds[a], productIds[b]);
+        }
+
+        private Snapshot with(Entry entry) {
+            int slot = upperBound(entry.price(), entry.productId());
+            int newSize = size + 1;
+            long[] newProductIds = insert(productIds, slot, entry.productId());
+            long[] newPrices = insert(prices, slot, entry.price());
+            long[][] newKeys = new long[SORT_FIELDS][];
+            newKeys[NAME] = keys[NAME];
+            newKeys[DISCOUNT_PRICE] = insert(keys[DISCOUNT_PRICE], slot, entry.discountPrice());
+            newKeys[CREATED_AT] = insert(keys[CREATED_AT], slot, entry.createdAt());
+            newKeys[UPDATED_AT] = insert(keys[UPDATED_AT], slot, entry.updatedAt());
+            String[] newNames = new String[newSize];
+            System.arraycopy(names, 0, newNames, 0, slot);
+            System.arraycopy(names, slot, newNames, slot + 1, size - slot);
+            newNames[slot] = entry.name();
+            long[] newCategoryIds = insert(categoryIds, slot, entry.categoryId());
+            ProductResponseDto[] newDtos = new ProductResponseDto[newSize];
+            System.arraycopy(dtos, 0, newDtos, 0, slot);
+            System.arraycopy(dtos, slot, newDtos, slot + 1, size - slot);
+            newDtos[slot] = entry.dto();
+
+            int[][] newPermutations = new int[SORT_FIELDS][];
+            for (int field = 0; field < SORT_FIELDS; field++) {
+                int[] permutation = permutations[field];
+                int low = 0;
+                int high = size;
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    int existing = permutation[middle] >= slot ? permutation[middle] + 1 : permutation[middle];
+                    if (compare(field, newNames, newKeys, newProductIds, existing, slot) < 0) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                int[] newPermutation = new int[newSize];
+                for (int rank = 0; rank < size; rank++) {
+                    int existing = permutation[rank] >= slot ? permutation[rank] + 1 : permutation[rank];
+                    newPermutation[rank < low ? rank : rank + 1] = existing;
+                }
+                newPermutation[low] = slot;
+                newPermutations[field] = newPermutation;
+            }
+            return new Snapshot(newProductIds, newPrices, newKeys, newNames, newCategoryIds, newDtos, newPermutations);
+        }
+
+        private Snapshot without(long productId) {
+            for (int slot = 0; slot < size; slot++) {
+                if (productIds[slot] == productId) {
+                    BitSet keep = new BitSet(size);
+                    keep.set(0, size);
+                    keep.clear(slot);
+                    return retain(keep);
+                }
+            }
+            return this;
+        }
+
+        private Snapshot retain(BitSet keep) {
+            int newSize = keep.cardinality();
+            int[] newSlots = new int[size];
+            long[] newProductIds = new long[newSize];
+            long[] newPrices = new long[newSize];
+            long[][] newKeys = new long[SORT_FIELDS][newSize];
+            newKeys[NAME] = keys[NAME];
+            String[] newNames = new String[newSize];
+            long[] newCategoryIds = new long[newSize];
+            ProductResponseDto[] newDtos = new ProductResponseDto[newSize];
+            int next = 0;
+            for (int slot = 0; slot < size; slot++) {
+                if (keep.get(slot)) {
+                    newSlots[slot] = next;
+                    newProductIds[next] = productIds[slot];
+                    newPrices[next] = prices[slot];
+                    for (int field = DISCOUNT_PRICE; field < SORT_FIELDS; field++) {
+                        newKeys[field][next] = keys[field][slot];
+                    }
+                    newNames[next] = names[slot];
+                    newCategoryIds[next] = categoryIds[slot];
+                    newDtos[next] = dtos[slot];
+                    next++;
+                } else {
+                    newSlots[slot] = -1;
+                }
+            }
+            int[][] newPermutations = new int[SORT_FIELDS][newSize];
+            for (int field = 0; field < SORT_FIELDS; field++) {
+                int rank = 0;
+                for (int slot : permutations[field]) {
+                    if (newSlots[slot] >= 0) {
+                        newPermutations[field][rank++] = newSlots[slot];
+                    }
+                }
+            }
+            return new Snapshot(newProductIds, newPrices, newKeys, newNames, newCategoryIds, newDtos, newPermutations);
+        }
+
+        private BitSet match(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, boolean hasDiscount) {
+            BitSet matches = new BitSet(size);
+            long lowest = lowerBoundCents(minPrice);
+            long highest = upperBoundCents(maxPrice);
+            if (lowest > highest) {
+                return matches;
+            }
+            int from = lowerBound(lowest);
+            int to = upperBound(highest, Long.MAX_VALUE);
+            if (from >= to) {
+                return matches;
+            }
+            matches.set(from, to);
+            if (categoryId != null) {
+                BitSet category = categories.get(categoryId);
+                if (category == null) {
+                    matches.clear();
+                    return matches;
+                }
+                matches.and(category);
+            }
+            if (hasDiscount) {
+                matches.and(discounted);
+            }
+            return matches;
+        }
+
+        private List<ProductResponseDto> byPrice(BitSet matches, boolean ascending) {
+            List<ProductResponseDto> result = new ArrayList<>(matches.cardinality());
+            if (ascending) {
+                for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                    result.add(dtos[slot]);
+                }
+            } else {
+                for (int slot = matches.previousSetBit(size - 1); slot >= 0; slot = matches.previousSetBit(slot - 1)) {
+                    result.add(dtos[slot]);
+                }
+            }
+            return result;
+        }
+
+        private List<ProductResponseDto> byField(int field, BitSet matches, boolean ascending) {
+            int count = matches.cardinality();
+            int[] permutation = permutations[field];
+            List<ProductResponseDto> result = new ArrayList<>(count);
+            if ((long) count * 32 < size) {
+                int[] matchedRanks = new int[count];
+                int next = 0;
+                for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                    matchedRanks[next++] = ranks[field][slot];
+                }
+                Arrays.sort(matchedRanks);
+                for (int i = 0; i < count; i++) {
+                    result.add(dtos[permutation[matchedRanks[ascending ? i : count - 1 - i]]]);
+                }
+            } else if (ascending) {
+                for (int rank = 0; rank < size && result.size() < count; rank++) {
+                    if (matches.get(permutation[rank])) {
+                        result.add(dtos[permutation[rank]]);
+                    }
+                }
+            } else {
+                for (int rank = size - 1; rank >= 0 && result.size() < count; rank--) {
+                    if (matches.get(permutation[rank])) {
+                        result.add(dtos[permutation[rank]]);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private List<ProductResponseDto> page(int field, BitSet matches, boolean ascending, ProductCursor after, int limit) {
+            int rank;
+            if (after == null) {
+                rank = ascending ? 0 : size - 1;
+            } else {
+                rank = ascending ? firstRankAfter(field, after, true) : firstRankAfter(field, after, false) - 1;
+            }
+            List<ProductResponseDto> result = new ArrayList<>(Math.min(limit, size));
+            if (field == PRICE) {
+                for (int slot = ascending ? matches.nextSetBit(rank) : matches.previousSetBit(rank);
+                     slot >= 0 && result.size() < limit;
+                     slot = ascending ? matches.nextSetBit(slot + 1) : matches.previousSetBit(slot - 1)) {
+                    result.add(dtos[slot]);
+                }
+                return result;
+            }
+            int[] permutation = permutations[field];
+            for (; rank >= 0 && rank < size && result.size() < limit; rank += ascending ? 1 : -1) {
+                if (matches.get(permutation[rank])) {
+                    result.add(dtos[permutation[rank]]);
+                }
+            }
+            return result;
+        }
+
+        private int firstRankAfter(int field, ProductCursor after, boolean strict) {
+            String name = after.key() == null ? "" : after.key();
+            long key = field == NAME || after.key() == null ? NULL_KEY : after.longKey();
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int slot = field == PRICE ? middle : permutations[field][middle];
+                int result = field == NAME
+                        ? String.CASE_INSENSITIVE_ORDER.compare(names[slot], name)
+                        : Long.compare(field == PRICE ? prices[slot] : keys[field][slot], key);
+                if (result == 0) {
+                    result = Long.compare(productIds[slot], after.productId());
+                }
+                if (result < 0 || (result == 0 && strict)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int lowerBound(long price) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (prices[middle] < price) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int upperBound(long price, long productId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int result = Long.compare(prices[middle], price);
+                if (result < 0 || (result == 0 && productIds[middle] <= productId)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static long[] insert(long[] source, int slot, long value) {
+            long[] target = new long[source.length + 1];
+            System.arraycopy(source, 0, target, 0, slot);
+            System.arraycopy(source, slot, target, slot + 1, source.length - slot);
+            target[slot] = value;
+            return target;
+        }
+    }
+}
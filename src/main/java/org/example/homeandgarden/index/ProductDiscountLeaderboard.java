@@ -0,0 +1,166 @@
+package org.example.homeandgarden.index;
+
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.mapper.Mappers;
+import org.example.homeandgarden.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Discounted products ranked by {@code price / discountPrice}, highest first, for {@code /products/maxDiscount}
+ * and {@code /products/topDiscounts}. Ratios are compared exactly by cross-multiplying prices.
+ */
+@Slf4j
+@Component
+public class ProductDiscountLeaderboard {
+
+    private static final Comparator<Entry> BY_DISCOUNT = ((Comparator<Entry>) (first, second) ->
+            second.price().multiply(first.discountPrice()).compareTo(first.price().multiply(second.discountPrice())))
+            .thenComparing(Entry::productId);
+
+    private final ProductRepository productRepository;
+    private final Mappers mappers;
+    private final boolean enabled;
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(BY_DISCOUNT);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Lock writeLock = new ReentrantLock();
+
+    private volatile boolean ready;
+
+    public ProductDiscountLeaderboard(ProductRepository productRepository,
+                                      Mappers mappers,
+                                      @Value("${catalog.index.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.mappers = mappers;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        rebuild(productRepository.findAllByDiscountPriceIsNotNull());
+        log.info("Product discount leaderboard loaded with {} discounted products.", entries.size());
+    }
+
+    public void rebuild(Collection<Product> products) {
+        writeLock.lock();
+        try {
+            ranking.clear();
+            entries.clear();
+            for (Product product : products) {
+                add(product);
+            }
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Product product) {
+        if (product == null || product.getProductId() == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            delete(product.getProductId());
+            add(product);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            delete(productId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeCategory(Long categoryId) {
+        if (categoryId == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            for (Entry entry : List.copyOf(entries.values())) {
+                if (categoryId.equals(entry.categoryId())) {
+                    delete(entry.productId());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * All products sharing the highest discount ratio, usually a single one.
+     */
+    public List<ProductResponseDto> maxDiscount() {
+        Iterator<Entry> iterator = ranking.iterator();
+        if (!iterator.hasNext()) {
+            return List.of();
+        }
+        Entry first = iterator.next();
+        List<ProductResponseDto> result = new ArrayList<>();
+        result.add(first.product());
+        while (iterator.hasNext()) {
+            Entry next = iterator.next();
+            if (next.price().multiply(first.discountPrice()).compareTo(first.price().multiply(next.discountPrice())) != 0) {
+                break;
+            }
+            result.add(next.product());
+        }
+        return result;
+    }
+
+    public List<ProductResponseDto> top(int limit) {
+        List<ProductResponseDto> result = new ArrayList<>(Math.min(limit, entries.size()));
+        for (Iterator<Entry> iterator = ranking.iterator(); iterator.hasNext() && result.size() < limit; ) {
+            result.add(iterator.next().product());
+        }
+        return result;
+    }
+
+    private void add(Product product) {
+        if (product.getPrice() == null || product.getDiscountPrice() == null || product.getDiscountPrice().signum() == 0) {
+            return;
+        }
+        Entry entry = new Entry(product.getProductId(), product.getPrice(), product.getDiscountPrice(),
+                product.getCategory() == null ? null : product.getCategory().getCategoryId(),
+                mappers.convertToProductResponseDto(product));
+        entries.put(entry.productId(), entry);
+        ranking.add(entry);
+    }
+
+    private void delete(Long productId) {
+        Entry entry = entries.remove(productId);
+        if (entry != null) {
+            ranking.remove(entry);
+        }
+    }
+
+    private record Entry(Long productId, BigDecimal price, BigDecimal discountPrice, Long categoryId, ProductResponseDto product) {
+    }
+}
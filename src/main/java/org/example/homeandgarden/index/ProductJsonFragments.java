@@ -0,0 +1,158 @@
+package org.example.homeandgarden.index;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+/**
+ * UTF-8 encoded JSON of each {@link ProductResponseDto} by product id, so that catalog, cart, favorites and order
+ * responses copy the bytes of a product instead of serializing it again. A fragment is only reused for the DTO it
+ * was encoded from or an equal one, which makes every product version its own entry; products are invalidated when
+ * they are written and all of them when a category changes, which only frees the superseded entries sooner.
+ */
+@Component
+public class ProductJsonFragments {
+
+    private final Cache<Long, Fragment> fragments;
+
+    public ProductJsonFragments(
+            @Value("${catalog.json-cache.maximum-size:100000}") long maximumSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "products.json");
+    }
+
+    public SerializableString fragmentOf(ProductResponseDto product, Function<ProductResponseDto, String> encoder) {
+        Fragment fragment = fragments.getIfPresent(product.getProductId());
+        if (fragment != null && (fragment.product() == product || fragment.product().equals(product))) {
+            return fragment.json();
+        }
+        SerializedString json = new SerializedString(encoder.apply(product));
+        json.asUnquotedUTF8();
+        fragments.put(product.getProductId(), new Fragment(product, json));
+        return json;
+    }
+
+    public void invalidate(Long productId) {
+        if (productId != null) {
+            fragments.invalidate(productId);
+        }
+    }
+
+    public void invalidateAll() {
+        fragments.invalidateAll();
+    }
+
+    /**
+     * Jackson module that writes every {@link ProductResponseDto} from this cache.
+     */
+    public Module module() {
+        SimpleModule module = new SimpleModule("ProductJsonFragments");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                      JsonSerializer<?> serializer) {
+                return description.getBeanClass() == ProductResponseDto.class
+                        ? new FragmentSerializer((JsonSerializer<Object>) serializer)
+                        : serializer;
+            }
+        });
+        return module;
+    }
+
+    private record Fragment(ProductResponseDto product, SerializedString json) {
+    }
+
+    private final class FragmentSerializer extends JsonSerializer<ProductResponseDto>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+
+        private FragmentSerializer(JsonSerializer<Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(ProductResponseDto product, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            // Fragments are compact, so indented output and token buffers used for conversions are written as usual.
+            if (product.getProductId() == null || generator.getCodec() == null
+                    || generator.getPrettyPrinter() != null || generator instanceof TokenBuffer) {
+                delegate.serialize(product, generator, provider);
+                return;
+            }
+            JsonFactory factory = generator.getCodec().getFactory();
+            generator.writeRawValue(fragmentOf(product, dto -> encode(dto, factory, provider)));
+        }
+
+        @Override
+        public void serializeWithType(ProductResponseDto product, JsonGenerator generator, SerializerProvider provider,
+                                      TypeSerializer typeSerializer) throws IOException {
+            delegate.serializeWithType(product, generator, provider, typeSerializer);
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextual) {
+                JsonSerializer<?> serializer = contextual.createContextual(provider, property);
+                if (serializer != delegate) {
+                    return new FragmentSerializer((JsonSerializer<Object>) serializer);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public Class<ProductResponseDto> handledType() {
+            return ProductResponseDto.class;
+        }
+
+        private String encode(ProductResponseDto product, JsonFactory factory, SerializerProvider provider) {
+            StringWriter writer = new StringWriter(512);
+            try (JsonGenerator generator = factory.createGenerator(writer)) {
+                delegate.serialize(product, generator, provider);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            return writer.toString();
+        }
+    }
+}
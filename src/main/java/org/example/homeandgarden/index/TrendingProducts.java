@@ -0,0 +1,218 @@
+package org.example.homeandgarden.index;
+
+import org.example.homeandgarden.dto.querydto.ProductTrendDto;
+import org.example.homeandgarden.entity.OrderItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Best selling products of the last hour, day and week for {@code /products/trending}, counted in units ordered.
+ * Each window is a ring of time buckets and each bucket a Space-Saving summary of at most {@code capacity}
+ * products, so memory does not grow with the catalog or the order rate. A product's count may be overestimated by
+ * at most its reported error; any product with more than {@code 1/capacity} of a bucket's units is kept.
+ */
+@Component
+public class TrendingProducts {
+
+    public enum Window {
+        HOUR("1h", Duration.ofHours(1), 12),
+        DAY("24h", Duration.ofHours(24), 24),
+        WEEK("7d", Duration.ofDays(7), 28);
+
+        private final String label;
+        private final long bucketMillis;
+        private final int buckets;
+
+        Window(String label, Duration length, int buckets) {
+            this.label = label;
+            this.bucketMillis = length.toMillis() / buckets;
+            this.buckets = buckets;
+        }
+
+        public static Window of(String label) {
+            for (Window window : values()) {
+                if (window.label.equals(label)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Unknown trending window: " + label);
+        }
+    }
+
+    private static final Comparator<ProductTrendDto> BY_COUNT = Comparator.comparingLong(ProductTrendDto::getCount).reversed()
+            .thenComparing(ProductTrendDto::getProductId);
+
+    private final int capacity;
+    private final Clock clock;
+    private final Map<Window, Bucket[]> windows = new EnumMap<>(Window.class);
+    private final Map<Window, Ranking> rankings = new EnumMap<>(Window.class);
+    private final Lock lock = new ReentrantLock();
+
+    private long version;
+
+    @Autowired
+    public TrendingProducts(@Value("${trending.capacity:100}") int capacity) {
+        this(capacity, Clock.systemUTC());
+    }
+
+    TrendingProducts(int capacity, Clock clock) {
+        this.capacity = capacity;
+        this.clock = clock;
+        for (Window window : Window.values()) {
+            Bucket[] buckets = new Bucket[window.buckets];
+            for (int index = 0; index < buckets.length; index++) {
+                buckets[index] = new Bucket(capacity);
+            }
+            windows.put(window, buckets);
+        }
+    }
+
+    public void record(Collection<OrderItem> orderItems) {
+        long now = clock.millis();
+        lock.lock();
+        try {
+            for (Map.Entry<Window, Bucket[]> window : windows.entrySet()) {
+                Bucket bucket = current(window.getKey(), window.getValue(), now);
+                for (OrderItem orderItem : orderItems) {
+                    bucket.add(orderItem.getProduct().getProductId(), orderItem.getProduct().getName(), orderItem.getQuantity());
+                }
+            }
+            version++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} products of the window, most units first. The merged ranking is cached until the next
+     * order or the next bucket boundary, so repeated reads only copy the head of a list.
+     */
+    public List<ProductTrendDto> top(Window window, int limit) {
+        long now = clock.millis();
+        long epoch = now / window.bucketMillis;
+        lock.lock();
+        try {
+            Ranking ranking = rankings.get(window);
+            if (ranking == null || ranking.version != version || ranking.epoch != epoch) {
+                ranking = new Ranking(version, epoch, merge(window, epoch));
+                rankings.put(window, ranking);
+            }
+            return List.copyOf(ranking.products.subList(0, Math.min(limit, ranking.products.size())));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sums the buckets of the window. A full bucket without a counter for a product may still have seen up to its
+     * smallest count of it, so that amount is added to the product's count and error for every such bucket; counts
+     * then stay upper bounds, with the true count no lower than count minus error.
+     */
+    private List<ProductTrendDto> merge(Window window, long epoch) {
+        List<Bucket> live = new ArrayList<>();
+        long[] smallest = new long[window.buckets];
+        long total = 0;
+        for (Bucket bucket : windows.get(window)) {
+            if (bucket.epoch <= epoch - window.buckets || bucket.epoch > epoch) {
+                continue;
+            }
+            smallest[live.size()] = bucket.smallest();
+            total += smallest[live.size()];
+            live.add(bucket);
+        }
+        long unseen = total;
+        Map<Long, ProductTrendDto> merged = new HashMap<>();
+        for (int index = 0; index < live.size(); index++) {
+            Bucket bucket = live.get(index);
+            for (Counter counter : bucket.counters.values()) {
+                ProductTrendDto product = merged.computeIfAbsent(counter.productId,
+                        productId -> new ProductTrendDto(productId, counter.name, unseen, unseen));
+                product.setCount(product.getCount() + counter.count - smallest[index]);
+                product.setError(product.getError() + counter.error - smallest[index]);
+            }
+        }
+        List<ProductTrendDto> products = new ArrayList<>(merged.values());
+        products.sort(BY_COUNT);
+        return products.subList(0, Math.min(capacity, products.size()));
+    }
+
+    private static Bucket current(Window window, Bucket[] buckets, long now) {
+        long epoch = now / window.bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        if (bucket.epoch != epoch) {
+            bucket.counters.clear();
+            bucket.epoch = epoch;
+        }
+        return bucket;
+    }
+
+    private static final class Bucket {
+
+        private final int capacity;
+        private final Map<Long, Counter> counters;
+        private long epoch = Long.MIN_VALUE;
+
+        private Bucket(int capacity) {
+            this.capacity = capacity;
+            this.counters = new HashMap<>(capacity * 2);
+        }
+
+        // Upper bound on the units of any product this bucket has no counter for.
+        private long smallest() {
+            if (counters.size() < capacity) {
+                return 0;
+            }
+            long smallest = Long.MAX_VALUE;
+            for (Counter counter : counters.values()) {
+                smallest = Math.min(smallest, counter.count);
+            }
+            return smallest;
+        }
+
+        // Space-Saving: a product without a counter takes over the smallest one, inheriting its count as error.
+        private void add(Long productId, String name, long quantity) {
+            Counter counter = counters.get(productId);
+            if (counter != null) {
+                counter.count += quantity;
+                return;
+            }
+            if (counters.size() < capacity) {
+                counters.put(productId, new Counter(productId, name, quantity, 0));
+                return;
+            }
+            Counter smallest = null;
+            for (Counter candidate : counters.values()) {
+                if (smallest == null || candidate.count < smallest.count) {
+                    smallest = candidate;
+                }
+            }
+            counters.remove(smallest.productId);
+            counters.put(productId, new Counter(productId, name, smallest.count + quantity, smallest.count));
+        }
+    }
+
+    private static final class Counter {
+
+        private final Long productId;
+        private final String name;
+        private long count;
+        private final long error;
+
+        private Counter(Long productId, String name, long count, long error) {
+            this.productId = productId;
+            this.name = name;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private record Ranking(long version, long epoch, List<ProductTrendDto> products) {
+    }
+}
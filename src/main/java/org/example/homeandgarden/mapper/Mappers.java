@@ -2,89 +2,192 @@ package org.example.homeandgarden.mapper;
 
 import org.example.homeandgarden.dto.querydto.ProductCountDto;
 import org.example.homeandgarden.dto.querydto.ProductPendingDto;
-import org.example.homeandgarden.dto.querydto.ProductProfitDto;
+import org.example.homeandgarden.dto.querydto.UserIdentityDto;
 import org.example.homeandgarden.dto.requestdto.*;
 import org.example.homeandgarden.dto.responsedto.*;
 import org.example.homeandgarden.entity.*;
+import org.example.homeandgarden.entity.query.OrderHistoryInterface;
 import org.example.homeandgarden.entity.query.ProductCountInterface;
 import org.example.homeandgarden.entity.query.ProductPendingInterface;
-import org.example.homeandgarden.entity.query.ProductProfitInterface;
-import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Conversions between entities and DTOs, written out field by field. Nested DTOs are only filled where a response
+ * needs them: the product of favorites, cart items and order items, and the items of an order.
+ */
 @Component
-@RequiredArgsConstructor
 public class Mappers {
 
-    private final ModelMapper modelMapper;
-
     public UserResponseDto convertToUserResponseDto(User user) {
-        return modelMapper.map(user, UserResponseDto.class);
+        return UserResponseDto.builder()
+                .userId(user.getUserId())
+                .name(user.getName())
+                .phone(user.getPhone())
+                .email(user.getEmail())
+                .passwordHash(user.getPasswordHash())
+                .role(user.getRole())
+                .build();
+    }
+
+    public UserResponseDto convertToUserResponseDto(UserIdentityDto userIdentityDto) {
+        return UserResponseDto.builder()
+                .userId(userIdentityDto.getUserId())
+                .name(userIdentityDto.getName())
+                .email(userIdentityDto.getEmail())
+                .passwordHash(userIdentityDto.getPasswordHash())
+                .role(userIdentityDto.getRole())
+                .build();
     }
 
     public User convertToUser(UserRequestDto userRequestDto) {
-        return modelMapper.map(userRequestDto, User.class);
+        User user = new User();
+        user.setName(userRequestDto.getName());
+        user.setEmail(userRequestDto.getEmail());
+        user.setPhone(userRequestDto.getPhone());
+        return user;
     }
 
     public FavoriteResponseDto convertToFavoriteResponseDto(Favorite favorite) {
-        FavoriteResponseDto favoriteResponseDto = modelMapper.map(favorite, FavoriteResponseDto.class);
-        modelMapper.typeMap(Favorite.class, FavoriteResponseDto.class)
-        .addMappings(mapper -> mapper.skip(FavoriteResponseDto::setUserResponseDto));
-        favoriteResponseDto.setProductResponseDto(convertToProductResponseDto(favorite.getProduct()));
-        return favoriteResponseDto;
+        return FavoriteResponseDto.builder()
+                .favoriteId(favorite.getFavoriteId())
+                .productResponseDto(convertNullableProduct(favorite.getProduct()))
+                .build();
     }
 
     public CartItemResponseDto convertToCartItemResponseDto(CartItem cartItem) {
-        modelMapper.typeMap(CartItem.class, CartItemResponseDto.class)
-                .addMappings(mapper -> mapper.skip(CartItemResponseDto::setCartResponseDto));
-        CartItemResponseDto cartItemResponseDto = modelMapper.map(cartItem, CartItemResponseDto.class);
-        cartItemResponseDto.setProductResponseDto(convertToProductResponseDto(cartItem.getProduct()));
-        return cartItemResponseDto;
+        return CartItemResponseDto.builder()
+                .cartItemId(cartItem.getCartItemId())
+                .quantity(cartItem.getQuantity())
+                .productResponseDto(convertNullableProduct(cartItem.getProduct()))
+                .build();
     }
 
     public OrderResponseDto convertToOrderResponseDto(Order order) {
-           modelMapper.typeMap(Order.class, OrderResponseDto.class)
-            .addMappings(mapper -> mapper.skip(OrderResponseDto::setUserResponseDto));
-        return modelMapper.map(order, OrderResponseDto.class);
+        List<OrderItemResponseDto> orderItems = null;
+        if (order.getOrderItems() != null) {
+            orderItems = new ArrayList<>(order.getOrderItems().size());
+            for (OrderItem orderItem : order.getOrderItems()) {
+                orderItems.add(OrderItemResponseDto.builder()
+                        .orderItemId(orderItem.getOrderItemID())
+                        .priceAtPurchase(orderItem.getPriceAtPurchase())
+                        .quantity(orderItem.getQuantity())
+                        .build());
+            }
+            // Order items are a HashSet, list them in the order they were created.
+            orderItems.sort(Comparator.comparing(OrderItemResponseDto::getOrderItemId,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return OrderResponseDto.builder()
+                .orderId(order.getOrderId())
+                .createdAt(order.getCreatedAt())
+                .deliveryAddress(order.getDeliveryAddress())
+                .contactPhone(order.getContactPhone())
+                .deliveryMethod(order.getDeliveryMethod())
+                .status(order.getStatus())
+                .updatedAt(order.getUpdatedAt())
+                .orderItems(orderItems)
+                .build();
+    }
+
+    public OrderResponseDto convertToOrderResponseDto(OrderHistoryInterface orderHistoryInterface) {
+        return OrderResponseDto.builder()
+                .orderId(orderHistoryInterface.getOrderId())
+                .createdAt(orderHistoryInterface.getCreatedAt())
+                .deliveryAddress(orderHistoryInterface.getDeliveryAddress())
+                .contactPhone(orderHistoryInterface.getContactPhone())
+                .deliveryMethod(orderHistoryInterface.getDeliveryMethod())
+                .status(orderHistoryInterface.getStatus())
+                .updatedAt(orderHistoryInterface.getUpdatedAt())
+                .orderItems(new ArrayList<>())
+                .build();
+    }
 
+    public OrderItemResponseDto convertToOrderItemResponseDto(OrderHistoryInterface orderHistoryInterface) {
+        return OrderItemResponseDto.builder()
+                .orderItemId(orderHistoryInterface.getOrderItemId())
+                .priceAtPurchase(orderHistoryInterface.getPriceAtPurchase())
+                .quantity(orderHistoryInterface.getQuantity())
+                .productResponseDto(ProductResponseDto.builder()
+                        .productId(orderHistoryInterface.getProductId())
+                        .name(orderHistoryInterface.getName())
+                        .description(orderHistoryInterface.getDescription())
+                        .price(orderHistoryInterface.getPrice())
+                        .discountPrice(orderHistoryInterface.getDiscountPrice())
+                        .createdAt(orderHistoryInterface.getProductCreatedAt())
+                        .updatedAt(orderHistoryInterface.getProductUpdatedAt())
+                        .imageUrl(orderHistoryInterface.getImageUrl())
+                        .build())
+                .build();
     }
 
     public OrderItemResponseDto convertToOrderItemResponseDto(OrderItem orderItem) {
-        modelMapper.typeMap(OrderItem.class, OrderItemResponseDto.class)
-                .addMappings(mapper -> mapper.skip(OrderItemResponseDto::setOrderResponseDto));
-        OrderItemResponseDto orderItemResponseDto = modelMapper.map(orderItem, OrderItemResponseDto.class);
-        orderItemResponseDto.setProductResponseDto(convertToProductResponseDto(orderItem.getProduct()));
-        return orderItemResponseDto;
+        return OrderItemResponseDto.builder()
+                .orderItemId(orderItem.getOrderItemID())
+                .priceAtPurchase(orderItem.getPriceAtPurchase())
+                .quantity(orderItem.getQuantity())
+                .productResponseDto(convertNullableProduct(orderItem.getProduct()))
+                .build();
     }
 
     public Product convertToProduct(ProductRequestDto productRequestDto) {
-        return modelMapper.map(productRequestDto, Product.class);
+        Product product = new Product();
+        product.setName(productRequestDto.getName());
+        product.setDescription(productRequestDto.getDescription());
+        product.setPrice(productRequestDto.getPrice());
+        product.setImageUrl(productRequestDto.getImageUrl());
+        return product;
     }
 
     public ProductResponseDto convertToProductResponseDto(Product product) {
-        modelMapper.typeMap(Product.class, ProductResponseDto.class)
-                .addMappings(mapper -> mapper.skip(ProductResponseDto::setCategoryResponseDto));
-        return modelMapper.map(product, ProductResponseDto.class);
+        return ProductResponseDto.builder()
+                .productId(product.getProductId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .discountPrice(product.getDiscountPrice())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .imageUrl(product.getImageUrl())
+                .build();
     }
 
     public CategoryResponseDto convertToCategoryResponseDto(Category category) {
-        return modelMapper.map(category, CategoryResponseDto.class);
+        return CategoryResponseDto.builder()
+                .categoryId(category.getCategoryId())
+                .name(category.getName())
+                .build();
     }
 
     public Category convertToCategory(CategoryRequestDto categoryRequestDto) {
-        return modelMapper.map(categoryRequestDto, Category.class);
+        Category category = new Category();
+        category.setName(categoryRequestDto.getName());
+        return category;
     }
 
     public ProductCountDto convertToProductCountDto(ProductCountInterface productCountInterface) {
-        return modelMapper.map(productCountInterface, ProductCountDto.class);
+        return ProductCountDto.builder()
+                .productId(productCountInterface.getProductId())
+                .name(productCountInterface.getName())
+                .status(productCountInterface.getStatus())
+                .count(productCountInterface.getCount())
+                .sum(productCountInterface.getSum())
+                .build();
     }
 
     public ProductPendingDto convertToProductPendingDto(ProductPendingInterface productPendingInterface) {
-        return modelMapper.map(productPendingInterface, ProductPendingDto.class);
+        return ProductPendingDto.builder()
+                .productId(productPendingInterface.getProductId())
+                .name(productPendingInterface.getName())
+                .count(productPendingInterface.getCount())
+                .status(productPendingInterface.getStatus())
+                .build();
     }
 
-    public ProductProfitDto convertToProductProfitDto(ProductProfitInterface productProfitInterface) {
-        return modelMapper.map(productProfitInterface, ProductProfitDto.class);
+    private ProductResponseDto convertNullableProduct(Product product) {
+        return product == null ? null : convertToProductResponseDto(product);
     }
-}
\ No newline at end of file
+}
@@ -5,10 +5,30 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Set;
+
 public interface CartItemRepository extends JpaRepository<CartItem,Long> {
 
     @Modifying(clearAutomatically=true, flushAutomatically=true)
     @Query("DELETE FROM CartItem cartItem " +
             "WHERE cartItem.cartItemId = :id")
     void deleteById(Long id);
+
+    @Modifying(clearAutomatically=true, flushAutomatically=true)
+    @Query("DELETE FROM CartItem cartItem " +
+            "WHERE cartItem.cart.cartId = :cartId")
+    void deleteByCartId(Long cartId);
+
+    @Query("SELECT cartItem FROM CartItem cartItem " +
+            "JOIN FETCH cartItem.product product " +
+            "LEFT JOIN FETCH product.category " +
+            "WHERE cartItem.cart.cartId = :cartId")
+    Set<CartItem> findAllWithProductByCartId(Long cartId);
+
+    boolean existsByCartCartIdAndProductProductId(Long cartId, Long productId);
+
+    @Modifying(clearAutomatically=true, flushAutomatically=true)
+    @Query("DELETE FROM CartItem cartItem " +
+            "WHERE cartItem.cart.cartId = :cartId AND cartItem.product.productId = :productId")
+    int deleteByCartIdAndProductId(Long cartId, Long productId);
 }
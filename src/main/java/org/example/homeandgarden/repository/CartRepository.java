@@ -2,7 +2,13 @@ package org.example.homeandgarden.repository;
 
 import org.example.homeandgarden.entity.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface CartRepository extends JpaRepository<Cart,Long> {
 
+    @Query("SELECT cart.cartId FROM Cart cart " +
+            "WHERE cart.user.userId = :userId")
+    Optional<Long> findCartIdByUserId(Long userId);
 }
@@ -0,0 +1,67 @@
+package org.example.homeandgarden.repository;
+
+import org.example.homeandgarden.entity.DailyRevenue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, LocalDate> {
+
+    List<DailyRevenue> findAllByRevenueDateGreaterThanEqualOrderByRevenueDate(LocalDate revenueDate);
+
+    /**
+     * Adds ({@code sign} 1) or removes ({@code sign} -1) the order's items at their purchase prices to the revenue of
+     * {@code revenueDate}. Returns 0 when the day has no row yet.
+     */
+    @Modifying
+    @Query("UPDATE DailyRevenue dailyRevenue SET dailyRevenue.revenue = dailyRevenue.revenue + :sign * " +
+            "(SELECT COALESCE(SUM(orderItem.quantity * orderItem.priceAtPurchase), 0) FROM OrderItem orderItem " +
+            "WHERE orderItem.order.orderId = :orderId) " +
+            "WHERE dailyRevenue.revenueDate = :revenueDate")
+    int addOrder(LocalDate revenueDate, Long orderId, int sign);
+
+    @Modifying
+    @Query(value =
+            "INSERT INTO DailyRevenue (RevenueDate, Revenue) " +
+                    "SELECT :revenueDate, 0 FROM (SELECT 1 AS One) one " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM DailyRevenue WHERE RevenueDate = :revenueDate)"
+            , nativeQuery = true
+    )
+    int insertDayIfMissing(LocalDate revenueDate);
+
+    /**
+     * Creates the row of a day that has none from the paid, on the way and delivered orders created that day, as the
+     * nightly rebuild would. Returns 0 when the day already has a row.
+     */
+    @Modifying
+    @Query(value =
+            "INSERT INTO DailyRevenue (RevenueDate, Revenue) " +
+                    "SELECT :revenueDate, dayRevenue.Revenue FROM (" +
+                    "SELECT COALESCE(SUM(oi.Quantity * oi.PriceAtPurchase), 0) AS Revenue " +
+                    "FROM Orders o JOIN OrderItems oi ON oi.OrderID = o.OrderID " +
+                    "WHERE o.CreatedAt >= :revenueDate AND o.CreatedAt < :nextDate " +
+                    "AND o.Status IN ('PAID','ON_THE_WAY','DELIVERED')) dayRevenue " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM DailyRevenue WHERE RevenueDate = :revenueDate)"
+            , nativeQuery = true
+    )
+    int insertDayFromOrderItems(LocalDate revenueDate, LocalDate nextDate);
+
+    @Modifying
+    @Query(value = "DELETE FROM DailyRevenue", nativeQuery = true)
+    int deleteAllRevenue();
+
+    @Modifying
+    @Query(value =
+            "INSERT INTO DailyRevenue (RevenueDate, Revenue) " +
+                    "SELECT CAST(o.CreatedAt AS DATE), " +
+                    "COALESCE(SUM(CASE WHEN o.Status IN ('PAID','ON_THE_WAY','DELIVERED') THEN oi.Quantity * oi.PriceAtPurchase END), 0) " +
+                    "FROM Orders o LEFT JOIN OrderItems oi ON oi.OrderID = o.OrderID " +
+                    "WHERE o.CreatedAt IS NOT NULL " +
+                    "GROUP BY CAST(o.CreatedAt AS DATE)"
+            , nativeQuery = true
+    )
+    int insertAllRevenueFromOrderItems();
+}
@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Set;
+
 public interface FavoriteRepository extends JpaRepository<Favorite,Long> {
 
     @Modifying(clearAutomatically=true, flushAutomatically=true)
@@ -12,5 +14,16 @@ public interface FavoriteRepository extends JpaRepository<Favorite,Long> {
             "WHERE favorite.favoriteId = :id")
     void deleteById(Long id);
 
+    @Query("SELECT favorite FROM Favorite favorite " +
+            "JOIN FETCH favorite.product product " +
+            "LEFT JOIN FETCH product.category " +
+            "WHERE favorite.user.userId = :userId")
+    Set<Favorite> findAllWithProductByUserId(Long userId);
+
+    boolean existsByUserUserIdAndProductProductId(Long userId, Long productId);
 
+    @Modifying(clearAutomatically=true, flushAutomatically=true)
+    @Query("DELETE FROM Favorite favorite " +
+            "WHERE favorite.user.userId = :userId AND favorite.product.productId = :productId")
+    int deleteByUserIdAndProductId(Long userId, Long productId);
 }
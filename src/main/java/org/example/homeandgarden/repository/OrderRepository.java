@@ -1,7 +1,42 @@
 package org.example.homeandgarden.repository;
 
 import org.example.homeandgarden.entity.*;
+import org.example.homeandgarden.entity.query.OrderHistoryInterface;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    Optional<Order> findByOrderIdAndUserUserId(Long orderId, Long userId);
+
+    @Query("SELECT customerOrder FROM Order customerOrder " +
+            "LEFT JOIN FETCH customerOrder.orderItems orderItem " +
+            "LEFT JOIN FETCH orderItem.product product " +
+            "LEFT JOIN FETCH product.category " +
+            "WHERE customerOrder.orderId = :orderId AND customerOrder.user.userId = :userId")
+    Optional<Order> findWithItemsByOrderIdAndUserId(Long orderId, Long userId);
+
+    @Query("SELECT customerOrder.orderId FROM Order customerOrder " +
+            "WHERE customerOrder.user.userId = :userId")
+    Slice<Long> findOrderIdsByUserId(Long userId, Pageable pageable);
+
+    @Query("SELECT customerOrder.orderId AS orderId, customerOrder.createdAt AS createdAt, " +
+            "customerOrder.deliveryAddress AS deliveryAddress, customerOrder.contactPhone AS contactPhone, " +
+            "customerOrder.deliveryMethod AS deliveryMethod, customerOrder.status AS status, customerOrder.updatedAt AS updatedAt, " +
+            "orderItem.orderItemID AS orderItemId, orderItem.quantity AS quantity, orderItem.priceAtPurchase AS priceAtPurchase, " +
+            "product.productId AS productId, product.name AS name, product.description AS description, " +
+            "product.price AS price, product.discountPrice AS discountPrice, product.imageUrl AS imageUrl, " +
+            "product.createdAt AS productCreatedAt, product.updatedAt AS productUpdatedAt " +
+            "FROM Order customerOrder " +
+            "LEFT JOIN customerOrder.orderItems orderItem " +
+            "LEFT JOIN orderItem.product product " +
+            "WHERE customerOrder.orderId IN :orderIds " +
+            "ORDER BY customerOrder.createdAt DESC, customerOrder.orderId DESC, orderItem.orderItemID")
+    Stream<OrderHistoryInterface> streamOrderHistoryByOrderIdIn(Collection<Long> orderIds);
 }
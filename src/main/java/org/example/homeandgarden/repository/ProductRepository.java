@@ -1,25 +1,22 @@
 package org.example.homeandgarden.repository;
 
 import org.example.homeandgarden.entity.Product;
-import org.example.homeandgarden.entity.query.ProductCountInterface;
 import org.example.homeandgarden.entity.query.ProductPendingInterface;
-import org.example.homeandgarden.entity.query.ProductProfitInterface;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 
 
-    @Modifying(clearAutomatically=true, flushAutomatically=true)
-    @Query("DELETE FROM Product product " +
-            "WHERE product.productId = :id")
+    @Override
     void deleteById(Long id);
 
 
@@ -30,66 +27,46 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> getMaxDiscountProduct();
 
 
+    @Query("SELECT product FROM Product product " +
+            "WHERE product.discountPrice IS NOT NULL AND product.discountPrice <> 0 " +
+            "ORDER BY product.price / product.discountPrice DESC, product.productId")
+    List<Product> findTopDiscountProducts(Pageable pageable);
+
+
+    List<Product> findAllByDiscountPriceIsNotNull();
+
+
+    @Query("SELECT product FROM Product product " +
+            "LEFT JOIN FETCH product.category " +
+            "WHERE product.productId IN :ids")
+    List<Product> findAllWithCategoryByIdIn(Collection<Long> ids);
 
 
 
-    @Query(value =
-            "SELECT  p.ProductID as productId, p.Name as name, o.Status as status, SUM(Quantity) as count, SUM(Quantity*Price) as sum " +
-                    "FROM Products p JOIN OrderItems oi ON p.ProductID = oi.ProductID " +
-                    "JOIN Orders o ON oi.OrderId = o.OrderID " +
-                    "WHERE   "+
-                    "(:status ='PAID' AND o.Status IN ('PAID','ON_THE_WAY','DELIVERED') ) OR " +
-                    "(:status = 'CANCELED' AND o.Status = 'CANCELED' )" +
-                    "GROUP BY p.ProductID, p.Name, o.Status " +
-                    "ORDER BY Count DESC  " +
-                    "LIMIT 10"
-            , nativeQuery = true
-    )
-    List<ProductCountInterface> findTop10Products(@Param("status") String status);
 
 
     @Query("SELECT product from Product product " +
-            "WHERE (:hasCategory = FALSE OR product.category.categoryId = :category) " +
-            "AND product.price BETWEEN :minPrice and :maxPrice " +
+            "WHERE product.price BETWEEN :minPrice and :maxPrice " +
             "AND (:hasDiscount = FALSE OR product.discountPrice IS NOT NULL)")
-    List<Product> findProductsByFilter(Boolean hasCategory, Long category, BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount, Sort sortObject);
+    List<Product> findProductsByFilter(BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount, Sort sortObject);
 
 
+    @Query("SELECT product from Product product " +
+            "WHERE product.category.categoryId = :category " +
+            "AND product.price BETWEEN :minPrice and :maxPrice " +
+            "AND (:hasDiscount = FALSE OR product.discountPrice IS NOT NULL)")
+    List<Product> findProductsByCategoryAndFilter(Long category, BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount, Sort sortObject);
 
 
-@Query (value =
+    String PRODUCT_PENDING =
            "SELECT  p.ProductID as productId, p.Name as name, SUM(oi.Quantity) as count, o.Status "+
            "FROM Products p JOIN OrderItems oi ON p.ProductID = oi.ProductID " +
            "JOIN Orders o ON oi.OrderId = o.OrderID " +
-           "where o.Status = 'PENDING_PAYMENT' and o.CreatedAt < Now() - INTERVAL :day DAY  " +
+           "where o.Status = 'PENDING_PAYMENT' and o.CreatedAt < :createdBefore " +
            "GROUP BY  p.ProductID "+
-           "Order by p.ProductID ", nativeQuery = true)
-    List<ProductPendingInterface> findProductPending(Integer day);
-
-
-
-    @Query(value =
-            "SELECT CASE " +
-                    "WHEN :period = 'MONTH' THEN DATE_FORMAT(o.CreatedAt, '%Y-%m') " +
-                    "WHEN :period = 'WEEK' THEN DATE_FORMAT(o.CreatedAt, '%Y-%u') " +
-                    "ELSE DATE_FORMAT(o.CreatedAt, '%Y-%m-%d') " +
-            "END as period, SUM(oi.Quantity * p.Price) as sum " +
-            "FROM Products p " +
-            "JOIN OrderItems oi ON p.ProductID = oi.ProductID " +
-            "JOIN Orders o ON oi.OrderId = o.OrderID " +
-            "WHERE o.Status IN ('PAID','ON_THE_WAY','DELIVERED') AND o.CreatedAt >= " +
-            "CASE " +
-                    "WHEN :period = 'MONTH' THEN NOW() - INTERVAL :value MONTH " +
-                    "WHEN :period = 'WEEK' THEN NOW() - INTERVAL :value WEEK " +
-                    "ELSE NOW() - INTERVAL :value DAY " +
-            "END " +
-            "GROUP BY CASE " +
-                    "WHEN :period = 'MONTH' THEN DATE_FORMAT(o.CreatedAt, '%Y-%m') " +
-                    "WHEN :period = 'WEEK' THEN DATE_FORMAT(o.CreatedAt, '%Y-%u') " +
-                    "ELSE DATE_FORMAT(o.CreatedAt, '%Y-%m-%d') " +
-            "END ",
-            nativeQuery = true
-    )
-    List<ProductProfitInterface> findProfitByPeriod(String period, Integer value);
+           "Order by p.ProductID ";
+
+@Query (value = PRODUCT_PENDING, nativeQuery = true)
+    List<ProductPendingInterface> findProductPending(Timestamp createdBefore);
 
 }
\ No newline at end of file
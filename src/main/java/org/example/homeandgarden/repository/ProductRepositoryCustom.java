@@ -0,0 +1,24 @@
+package org.example.homeandgarden.repository;
+
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.entity.query.ProductPendingInterface;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+
+    void deleteById(Long id);
+
+    List<Product> findProductsByFilterAfter(Long category, BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount,
+                                            String sortField, boolean ascending, Comparable<?> afterKey, Long afterId, int limit);
+
+    Stream<Product> streamProductsByFilter(BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount, Sort sortObject);
+
+    Stream<Product> streamProductsByCategoryAndFilter(Long category, BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount, Sort sortObject);
+
+    Stream<ProductPendingInterface> streamProductPending(Timestamp createdBefore);
+}
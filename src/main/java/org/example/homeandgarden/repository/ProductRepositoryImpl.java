@@ -0,0 +1,172 @@
+package org.example.homeandgarden.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.entity.query.ProductPendingInterface;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Hibernate only drops cached products after a bulk delete commits, so the deleted product is evicted
+     * explicitly to keep it from being served from the second-level cache within the same transaction.
+     */
+    @Override
+    @Transactional
+    public void deleteById(Long id) {
+        entityManager.flush();
+        entityManager.createQuery("DELETE FROM Product product " +
+                        "WHERE product.productId = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evict(Product.class, id);
+    }
+
+    /**
+     * Seek query for keyset pagination: returns the products that follow (afterKey, afterId) in the requested order.
+     * NULL sort keys are ordered lowest, as MySQL does, so they come first ascending and last descending.
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<Product> findProductsByFilterAfter(Long category, BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount,
+                                                   String sortField, boolean ascending, Comparable afterKey, Long afterId, int limit) {
+        HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = builder.createQuery(Product.class);
+        Root<Product> product = query.from(Product.class);
+        Path<Comparable> key = product.get(sortField);
+        Path<Long> productId = product.get("productId");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (category != null) {
+            predicates.add(builder.equal(product.get("category").get("categoryId"), category));
+        }
+        predicates.add(builder.between(product.get("price"), minPrice, maxPrice));
+        if (Boolean.TRUE.equals(hasDiscount)) {
+            predicates.add(builder.isNotNull(product.get("discountPrice")));
+        }
+        if (afterId != null) {
+            Predicate sameKey;
+            Predicate followingKey;
+            if (afterKey == null) {
+                sameKey = builder.isNull(key);
+                followingKey = ascending ? builder.isNotNull(key) : builder.disjunction();
+            } else {
+                sameKey = builder.equal(key, afterKey);
+                followingKey = ascending
+                        ? builder.greaterThan(key, afterKey)
+                        : builder.or(builder.lessThan(key, afterKey), builder.isNull(key));
+            }
+            Predicate followingId = ascending ? builder.greaterThan(productId, afterId) : builder.lessThan(productId, afterId);
+            predicates.add(builder.or(followingKey, builder.and(sameKey, followingId)));
+        }
+
+        query.select(product)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(ascending ? builder.asc(key, true) : builder.desc(key, false),
+                        ascending ? builder.asc(productId) : builder.desc(productId));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * {@link ProductRepository#findProductsByFilter} read row by row with the categories fetched alongside, for writing
+     * the listing out product by product; must be consumed and closed inside a transaction.
+     */
+    @Override
+    public Stream<Product> streamProductsByFilter(BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount, Sort sortObject) {
+        return streamProducts(null, minPrice, maxPrice, hasDiscount, sortObject);
+    }
+
+    @Override
+    public Stream<Product> streamProductsByCategoryAndFilter(Long category, BigDecimal minPrice, BigDecimal maxPrice,
+                                                             Boolean hasDiscount, Sort sortObject) {
+        return streamProducts(category, minPrice, maxPrice, hasDiscount, sortObject);
+    }
+
+    /**
+     * {@link ProductRepository#findProductPending} read row by row, for writing the report out as it is read; must be
+     * consumed and closed inside a transaction.
+     */
+    @Override
+    public Stream<ProductPendingInterface> streamProductPending(Timestamp createdBefore) {
+        Stream<?> rows = entityManager.createNativeQuery(ProductRepository.PRODUCT_PENDING)
+                .setParameter("createdBefore", createdBefore)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize())
+                .getResultStream();
+        return rows.map(row -> {
+            Object[] columns = (Object[]) row;
+            return new ProductPendingRow(((Number) columns[0]).longValue(), (String) columns[1],
+                    columns[2] == null ? null : ((Number) columns[2]).intValue(), columns[3] == null ? null : columns[3].toString());
+        });
+    }
+
+    private Stream<Product> streamProducts(Long category, BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount, Sort sortObject) {
+        HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = builder.createQuery(Product.class);
+        Root<Product> product = query.from(Product.class);
+        product.fetch("category", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (category != null) {
+            predicates.add(builder.equal(product.get("category").get("categoryId"), category));
+        }
+        predicates.add(builder.between(product.get("price"), minPrice, maxPrice));
+        if (Boolean.TRUE.equals(hasDiscount)) {
+            predicates.add(builder.isNotNull(product.get("discountPrice")));
+        }
+
+        query.select(product)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(sortObject, product, builder));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * MySQL Connector/J reads a whole result set into memory unless the fetch size is {@code Integer.MIN_VALUE},
+     * which streams it row by row over the connection, or cursor fetch is enabled for the whole data source. Other
+     * drivers take the fetch size as the number of rows to read per round trip.
+     */
+    private int streamFetchSize() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect ? Integer.MIN_VALUE : STREAM_FETCH_SIZE;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class ProductPendingRow implements ProductPendingInterface {
+        private final Long productId;
+        private final String name;
+        private final Integer count;
+        private final String status;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.homeandgarden.repository;
+
+import org.example.homeandgarden.entity.ProductSales;
+import org.example.homeandgarden.entity.enums.Status;
+import org.example.homeandgarden.entity.query.ProductCountInterface;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ProductSalesRepository extends JpaRepository<ProductSales, ProductSales.ProductSalesId> {
+
+    String STATUSES = "(SELECT 'CREATED' AS Status UNION ALL SELECT 'PENDING_PAYMENT' UNION ALL SELECT 'PAID' UNION ALL " +
+            "SELECT 'ON_THE_WAY' UNION ALL SELECT 'DELIVERED' UNION ALL SELECT 'CANCELED') st ";
+
+    @Modifying
+    @Query("UPDATE ProductSales sales SET sales.quantity = sales.quantity + " +
+            "(SELECT SUM(orderItem.quantity) FROM OrderItem orderItem " +
+            "WHERE orderItem.order.orderId = :orderId AND orderItem.product.productId = sales.productId) " +
+            "WHERE sales.status = :status AND sales.productId IN " +
+            "(SELECT orderItem.product.productId FROM OrderItem orderItem WHERE orderItem.order.orderId = :orderId)")
+    int addOrder(Long orderId, Status status);
+
+    @Modifying
+    @Query("UPDATE ProductSales sales SET sales.quantity = sales.quantity + " +
+            "CASE WHEN sales.status = :to THEN 1 ELSE -1 END * " +
+            "(SELECT SUM(orderItem.quantity) FROM OrderItem orderItem " +
+            "WHERE orderItem.order.orderId = :orderId AND orderItem.product.productId = sales.productId) " +
+            "WHERE sales.status IN (:from, :to) AND sales.productId IN " +
+            "(SELECT orderItem.product.productId FROM OrderItem orderItem WHERE orderItem.order.orderId = :orderId)")
+    int moveOrder(Long orderId, Status from, Status to);
+
+    /**
+     * Creates the rows that the products of the order are missing, with the quantities of all their order items in
+     * each status, as the nightly rebuild would. Returns 0 when every product of the order has all its rows.
+     */
+    @Modifying
+    @Query(value =
+            "INSERT INTO ProductSales (ProductID, Status, Quantity) " +
+                    "SELECT products.ProductID, st.Status, " +
+                    "COALESCE((SELECT SUM(oi.Quantity) FROM OrderItems oi JOIN Orders o ON oi.OrderID = o.OrderID " +
+                    "WHERE oi.ProductID = products.ProductID AND o.Status = st.Status), 0) " +
+                    "FROM (SELECT DISTINCT ProductID FROM OrderItems WHERE OrderID = :orderId) products CROSS JOIN " + STATUSES +
+                    "WHERE NOT EXISTS (SELECT 1 FROM ProductSales s WHERE s.ProductID = products.ProductID AND s.Status = st.Status)"
+            , nativeQuery = true
+    )
+    int insertMissingSales(Long orderId);
+
+    @Modifying
+    @Query(value = "DELETE FROM ProductSales", nativeQuery = true)
+    int deleteAllSales();
+
+    @Modifying
+    @Query(value =
+            "INSERT INTO ProductSales (ProductID, Status, Quantity) " +
+                    "SELECT p.ProductID, st.Status, COALESCE(sales.Quantity, 0) " +
+                    "FROM Products p CROSS JOIN " + STATUSES +
+                    "LEFT JOIN (SELECT oi.ProductID, o.Status, SUM(oi.Quantity) AS Quantity " +
+                    "FROM OrderItems oi JOIN Orders o ON oi.OrderID = o.OrderID " +
+                    "GROUP BY oi.ProductID, o.Status) sales ON sales.ProductID = p.ProductID AND sales.Status = st.Status"
+            , nativeQuery = true
+    )
+    int insertAllSalesFromOrderItems();
+
+    // The statuses are literals rather than a parameter so that the (Status, Quantity) index can serve the ordering.
+    String TOP_10_SELECT = "SELECT p.ProductID as productId, p.Name as name, s.Status as status, s.Quantity as count, s.Quantity*p.Price as sum " +
+            "FROM ProductSales s JOIN Products p ON p.ProductID = s.ProductID ";
+    String TOP_10_ORDER = "AND s.Quantity > 0 ORDER BY s.Quantity DESC, s.ProductID DESC LIMIT 10";
+
+    @Query(value = TOP_10_SELECT + "WHERE s.Status IN ('PAID','ON_THE_WAY','DELIVERED') " + TOP_10_ORDER, nativeQuery = true)
+    List<ProductCountInterface> findTop10PaidProducts();
+
+    @Query(value = TOP_10_SELECT + "WHERE s.Status = 'CANCELED' " + TOP_10_ORDER, nativeQuery = true)
+    List<ProductCountInterface> findTop10CanceledProducts();
+}
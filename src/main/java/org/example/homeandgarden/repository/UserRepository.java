@@ -1,7 +1,11 @@
 package org.example.homeandgarden.repository;
 
 import org.example.homeandgarden.entity.*;
+import org.example.homeandgarden.entity.query.UserIdentityInterface;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -9,5 +13,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByEmail(String email);
 
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT user.phone FROM User user WHERE user.userId = :userId")
+    Optional<String> findPhoneByUserId(Long userId);
+
+    @Query("SELECT user.userId AS userId, user.email AS email, user.name AS name, user.role AS role, " +
+            "user.passwordHash AS passwordHash, user.refreshToken AS refreshToken, cart.cartId AS cartId " +
+            "FROM User user LEFT JOIN user.cart cart " +
+            "WHERE user.email = :email")
+    Optional<UserIdentityInterface> findIdentityByEmail(String email);
+
+    @Transactional
+    @Modifying(clearAutomatically=true, flushAutomatically=true)
+    @Query("UPDATE User user SET user.refreshToken = :refreshToken " +
+            "WHERE user.userId = :userId")
+    int updateRefreshToken(Long userId, String refreshToken);
 }
 
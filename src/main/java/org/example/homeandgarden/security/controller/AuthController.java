@@ -3,11 +3,13 @@ package org.example.homeandgarden.security.controller;
 import org.example.homeandgarden.security.jwt.JwtRequest;
 import org.example.homeandgarden.security.jwt.JwtRequestRefresh;
 import org.example.homeandgarden.security.jwt.JwtResponse;
+import org.example.homeandgarden.security.service.AuthRateLimiter;
 import org.example.homeandgarden.security.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.security.auth.message.AuthException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -22,18 +24,21 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
 
 
     @Operation(summary = "Logging in a user", description = "Provides functionality for logging in a user")
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> login(@RequestBody JwtRequest authRequest) throws AuthException {
+    public ResponseEntity<JwtResponse> login(@RequestBody JwtRequest authRequest, HttpServletRequest httpRequest) throws AuthException {
+        authRateLimiter.checkLogin(httpRequest.getRemoteAddr(), authRequest.getEmail());
         final JwtResponse token = authService.login(authRequest);
         return ResponseEntity.ok(token);
     }
 
     @Operation(summary = "Getting a JWT", description = "Provides functionality for getting an access and refresh JWT")
     @PostMapping("/token")
-    public ResponseEntity<JwtResponse> getNewAccessToken(@RequestBody JwtRequestRefresh request) throws AuthException {
+    public ResponseEntity<JwtResponse> getNewAccessToken(@RequestBody JwtRequestRefresh request, HttpServletRequest httpRequest) throws AuthException {
+        authRateLimiter.checkToken(httpRequest.getRemoteAddr());
         final JwtResponse token = authService.getAccessToken(request.getRefreshToken());
         return ResponseEntity.ok(token);
     }
@@ -41,7 +46,8 @@ public class AuthController {
     @Operation(summary = "Refreshing a JWT", description = "Provides functionality for getting an access and refresh JWT")
     @SecurityRequirement(name = "JWT")
     @PostMapping("/refresh")
-    public ResponseEntity<JwtResponse> getNewRefreshToken(@RequestBody JwtRequestRefresh request) throws AuthException {
+    public ResponseEntity<JwtResponse> getNewRefreshToken(@RequestBody JwtRequestRefresh request, HttpServletRequest httpRequest) throws AuthException {
+        authRateLimiter.checkToken(httpRequest.getRemoteAddr());
         final JwtResponse token = authService.refresh(request.getRefreshToken());
         return ResponseEntity.ok(token);
     }
@@ -1,5 +1,6 @@
 package org.example.homeandgarden.security.jwt;
 
+import org.example.homeandgarden.exception.IncompleteTokenException;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.security.core.Authentication;
@@ -19,15 +20,37 @@ public class JwtAuthentication implements Authentication {
 
     private String email;
 
+    private Long userId;
+
+    private Long cartId;
+
     private String firstName;
 
     private Set<SimpleGrantedAuthority> roles;
 
     public JwtAuthentication(String email, Collection<String> roles) {
-        this.email = email;
-        this.roles = roles.stream()
+        this(email, null, null, roles);
+    }
+
+    public JwtAuthentication(String email, Long userId, Long cartId, Collection<String> roles) {
+        this(email, userId, cartId, roles.stream()
                 .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                .collect(Collectors.toSet());
+                .collect(Collectors.toSet()), false);
+    }
+
+    JwtAuthentication(String email, Long userId, Long cartId, Set<SimpleGrantedAuthority> roles, boolean authenticated) {
+        this.email = email;
+        this.userId = userId;
+        this.cartId = cartId;
+        this.roles = roles;
+        this.authenticated = authenticated;
+    }
+
+    public Long requireUserId() {
+        if (userId == null) {
+            throw new IncompleteTokenException("Access token carries no user id. Please, log in again.");
+        }
+        return userId;
     }
 
     @Override
@@ -1,7 +1,6 @@
 package org.example.homeandgarden.security.jwt;
 
 
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -29,11 +28,11 @@ public class JwtFilter extends GenericFilterBean {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain fc)
             throws IOException, ServletException {
         final String token = getTokenFromRequest((HttpServletRequest) request);
-        if (token != null && jwtProvider.validateAccessToken(token)) {
-            final Claims claims = jwtProvider.getAccessClaims(token);
-            final JwtAuthentication jwtInfoToken = JwtUtils.generate(claims);
-            jwtInfoToken.setAuthenticated(true);
-            SecurityContextHolder.getContext().setAuthentication(jwtInfoToken);
+        if (token != null) {
+            final JwtAuthentication jwtInfoToken = jwtProvider.authenticateAccessToken(token);
+            if (jwtInfoToken != null) {
+                SecurityContextHolder.getContext().setAuthentication(jwtInfoToken);
+            }
         }
         fc.doFilter(request, response);
     }
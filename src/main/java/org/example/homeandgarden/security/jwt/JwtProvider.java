@@ -1,6 +1,11 @@
 package org.example.homeandgarden.security.jwt;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.example.homeandgarden.dto.responsedto.UserResponseDto;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -8,15 +13,21 @@ import io.jsonwebtoken.security.Keys;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -26,15 +37,35 @@ public class JwtProvider {
 
     private final SecretKey jwtRefreshSecret;
 
+    private final JwtParser accessParser;
+
+    private final JwtParser refreshParser;
+
+    private final Cache<ByteBuffer, VerifiedToken> verifiedAccessTokens;
+
     public JwtProvider(
             @Value("${jwt.secret.access}") String jwtAccessSecret,
-            @Value("${jwt.secret.refresh}") String jwtRefreshSecret
+            @Value("${jwt.secret.refresh}") String jwtRefreshSecret,
+            @Value("${jwt.cache.maximum-size:10000}") long cacheMaximumSize,
+            MeterRegistry meterRegistry
     ) {
         this.jwtAccessSecret = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtAccessSecret));
         this.jwtRefreshSecret = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtRefreshSecret));
+        this.accessParser = Jwts.parser().verifyWith(this.jwtAccessSecret).build();
+        this.refreshParser = Jwts.parser().verifyWith(this.jwtRefreshSecret).build();
+        this.verifiedAccessTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedAccessTokens, "jwt.access-tokens");
     }
 
     public String generateAccessToken(@NonNull UserResponseDto userResponseDto) {
+        return generateAccessToken(userResponseDto, null);
+    }
+
+    public String generateAccessToken(@NonNull UserResponseDto userResponseDto, Long cartId) {
         final LocalDateTime now = LocalDateTime.now();
         final Instant accessExpirationInstant = now.plusMinutes(15).atZone(ZoneId.systemDefault()).toInstant();
         final Date accessExpiration = Date.from(accessExpirationInstant);
@@ -44,6 +75,8 @@ public class JwtProvider {
                 .signWith(jwtAccessSecret)
                 .claim("roles", List.of(userResponseDto.getRole()))
                 .claim("name", userResponseDto.getName())
+                .claim("userId", userResponseDto.getUserId())
+                .claim("cartId", cartId)
                 .compact();
     }
 
@@ -58,21 +91,37 @@ public class JwtProvider {
                 .compact();
     }
 
+    /**
+     * Verifies an access token and returns its authentication, or {@code null} if the token is not valid.
+     * The identity and authorities of verified tokens are cached by their SHA-256 digest until they expire, so a token
+     * is parsed once; every call wraps them in its own authentication, since it is mutable and installed in the
+     * request's security context.
+     */
+    public JwtAuthentication authenticateAccessToken(@NonNull String accessToken) {
+        ByteBuffer digest = digest(accessToken);
+        VerifiedToken verifiedToken = verifiedAccessTokens.getIfPresent(digest);
+        if (verifiedToken == null) {
+            Claims claims = parseClaims(accessToken, accessParser);
+            if (claims == null) {
+                return null;
+            }
+            verifiedToken = VerifiedToken.of(claims);
+            verifiedAccessTokens.put(digest, verifiedToken);
+        }
+        return verifiedToken.authenticate();
+    }
+
     public boolean validateAccessToken(@NonNull String accessToken) {
-        return validateToken(accessToken, jwtAccessSecret);
+        return parseClaims(accessToken, accessParser) != null;
     }
 
     public boolean validateRefreshToken(@NonNull String refreshToken) {
-        return validateToken(refreshToken, jwtRefreshSecret);
+        return parseClaims(refreshToken, refreshParser) != null;
     }
 
-    private boolean validateToken(@NonNull String token, @NonNull Key secret) {
+    private Claims parseClaims(@NonNull String token, @NonNull JwtParser parser) {
         try {
-            Jwts.parser()
-                    .verifyWith((SecretKey) secret)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException expiredJwtException) {
             log.error("Token expired", expiredJwtException);
 
@@ -88,23 +137,57 @@ public class JwtProvider {
         } catch (Exception exception) {
             log.error("Invalid token", exception);
         }
-        return false;
+        return null;
     }
 
     public Claims getAccessClaims(@NonNull String token) {
-        return getClaims(token, jwtAccessSecret);
+        return accessParser.parseSignedClaims(token).getPayload();
     }
 
 
     public Claims getRefreshClaims(@NonNull String token) {
-        return getClaims(token, jwtRefreshSecret);
+        return refreshParser.parseSignedClaims(token).getPayload();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
     }
 
-    private Claims getClaims(@NonNull String token, @NonNull Key secret) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) secret)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private record VerifiedToken(String email, Long userId, Long cartId, Set<SimpleGrantedAuthority> roles,
+                                 long expiresAtMillis) {
+
+        static VerifiedToken of(Claims claims) {
+            JwtAuthentication identity = JwtUtils.generate(claims);
+            Date expiration = claims.getExpiration();
+            return new VerifiedToken(identity.getEmail(), identity.getUserId(), identity.getCartId(),
+                    Set.copyOf(identity.getRoles()), expiration == null ? Long.MAX_VALUE : expiration.getTime());
+        }
+
+        JwtAuthentication authenticate() {
+            return new JwtAuthentication(email, userId, cartId, roles, true);
+        }
+    }
+
+    private static final class UntilTokenExpires implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return remainingMillis <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
\ No newline at end of file
@@ -19,6 +19,6 @@ public class JwtUtils {
                 .map(Object::toString)
                 .collect(Collectors.toList());
 
-        return new JwtAuthentication(email, roles);
+        return new JwtAuthentication(email, claims.get("userId", Long.class), claims.get("cartId", Long.class), roles);
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package org.example.homeandgarden.security.service;
+
+import org.example.homeandgarden.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for the {@code /auth} endpoints, one per remote address and one per email, checked before any user is
+ * looked up or any password hashed. A bucket holds {@code capacity} attempts and regains one every
+ * {@code refill-period}; its state is a single timestamp advanced by compare-and-set, and buckets that have been idle
+ * long enough to be full again are evicted.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private final Limit ipLimit;
+    private final Limit emailLimit;
+    private final Ticker ticker;
+    private final Cache<String, Bucket> ipBuckets;
+    private final Cache<String, Bucket> emailBuckets;
+
+    @Autowired
+    public AuthRateLimiter(
+            @Value("${auth.rate-limit.ip.capacity:30}") int ipCapacity,
+            @Value("${auth.rate-limit.ip.refill-period:2s}") Duration ipRefillPeriod,
+            @Value("${auth.rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${auth.rate-limit.email.refill-period:12s}") Duration emailRefillPeriod,
+            @Value("${auth.rate-limit.maximum-size:100000}") long maximumSize
+    ) {
+        this(new Limit(ipCapacity, ipRefillPeriod), new Limit(emailCapacity, emailRefillPeriod), maximumSize, Ticker.systemTicker());
+    }
+
+    AuthRateLimiter(Limit ipLimit, Limit emailLimit, long maximumSize, Ticker ticker) {
+        this.ipLimit = ipLimit;
+        this.emailLimit = emailLimit;
+        this.ticker = ticker;
+        this.ipBuckets = buckets(ipLimit, maximumSize, ticker);
+        this.emailBuckets = buckets(emailLimit, maximumSize, ticker);
+    }
+
+    public void checkLogin(String remoteAddress, String email) {
+        check(ipBuckets, ipLimit, remoteAddress);
+        if (email != null) {
+            check(emailBuckets, emailLimit, email.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public void checkToken(String remoteAddress) {
+        check(ipBuckets, ipLimit, remoteAddress);
+    }
+
+    private void check(Cache<String, Bucket> buckets, Limit limit, String key) {
+        Bucket bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.get(key, ignored -> new Bucket());
+        }
+        long waitNanos = bucket.tryAcquire(ticker.read(), limit);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many authentication attempts. Please, try again later.",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    private static Cache<String, Bucket> buckets(Limit limit, long maximumSize, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofNanos(limit.burstNanos()))
+                .ticker(ticker)
+                .build();
+    }
+
+    record Limit(int capacity, Duration refillPeriod) {
+
+        Limit {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Rate limit capacity must be at least 1, but was " + capacity);
+            }
+            if (refillPeriod == null || refillPeriod.isNegative() || refillPeriod.isZero()) {
+                throw new IllegalArgumentException("Rate limit refill period must be positive, but was " + refillPeriod);
+            }
+        }
+
+        long burstNanos() {
+            long refillNanos = refillPeriod.toNanos();
+            return refillNanos > Long.MAX_VALUE / capacity ? Long.MAX_VALUE : capacity * refillNanos;
+        }
+    }
+
+    private static final class Bucket {
+
+        // The time at which the bucket will hold all of its tokens again; each attempt pushes it one refill period on.
+        private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+        private long tryAcquire(long now, Limit limit) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + limit.refillPeriod().toNanos();
+                long overdraft = next - now - limit.burstNanos();
+                if (overdraft > 0) {
+                    return overdraft;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -1,17 +1,16 @@
 package org.example.homeandgarden.security.service;
 
+import org.example.homeandgarden.dto.querydto.UserIdentityDto;
 import org.example.homeandgarden.dto.responsedto.UserResponseDto;
-import org.example.homeandgarden.entity.User;
 import org.example.homeandgarden.mapper.Mappers;
-import org.example.homeandgarden.repository.UserRepository;
 import org.example.homeandgarden.security.jwt.JwtProvider;
 import org.example.homeandgarden.security.jwt.JwtRequest;
 import org.example.homeandgarden.security.jwt.JwtResponse;
+import org.example.homeandgarden.service.UserIdentityCache;
 import io.jsonwebtoken.Claims;
 import jakarta.security.auth.message.AuthException;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -19,22 +18,21 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
 
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
     private final JwtProvider jwtProvider;
     private final Mappers mappers;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     public JwtResponse login(JwtRequest authRequest) throws AuthException {
-        User user = userRepository.findByEmail(authRequest.getEmail()).orElse(null);
+        UserIdentityDto user = userIdentityCache.findByEmail(authRequest.getEmail()).orElse(null);
         if (user != null) {
             final UserResponseDto userResponseDto = mappers.convertToUserResponseDto(user);
 
-            if (passwordEncoder.matches(authRequest.getPassword(), userResponseDto.getPasswordHash())) {
-                final String accessToken = jwtProvider.generateAccessToken(userResponseDto);
+            if (passwordHasher.matches(authRequest.getPassword(), userResponseDto.getPasswordHash())) {
+                final String accessToken = jwtProvider.generateAccessToken(userResponseDto, user.getCartId());
                 final String refreshToken = jwtProvider.generateRefreshToken(userResponseDto);
 
-                user.setRefreshToken(refreshToken);
-                userRepository.save(user);
+                userIdentityCache.rotateRefreshToken(user, refreshToken);
                 return new JwtResponse(accessToken, refreshToken);
 
             } else {
@@ -50,13 +48,12 @@ public class AuthService {
                     final Claims claims = jwtProvider.getRefreshClaims(refreshToken);
                     final String email = claims.getSubject();
 
-                    User user = userRepository.findByEmail(email).orElse(null);
+                    UserIdentityDto user = userIdentityCache.findByEmail(email).orElse(null);
                     if (user != null) {
-                        final String savedRefreshToken = user.getRefreshToken();
-                        if (savedRefreshToken != null && savedRefreshToken.equals(refreshToken)) {
+                        if (userIdentityCache.refreshTokenMatches(user, refreshToken)) {
                             final UserResponseDto userResponseDto = mappers.convertToUserResponseDto(user);
 
-                            final String accessToken = jwtProvider.generateAccessToken(userResponseDto);
+                            final String accessToken = jwtProvider.generateAccessToken(userResponseDto, user.getCartId());
                             return new JwtResponse(accessToken, null);
                         }
                     } else {
@@ -72,18 +69,15 @@ public class AuthService {
                     final Claims claims = jwtProvider.getRefreshClaims(refreshToken);
                     final String email = claims.getSubject();
 
-                    User user = userRepository.findByEmail(email).orElse(null);
+                    UserIdentityDto user = userIdentityCache.findByEmail(email).orElse(null);
                     if (user != null) {
-                        final String savedRefreshToken = user.getRefreshToken();
-
-                        if (savedRefreshToken != null && savedRefreshToken.equals(refreshToken)) {
+                        if (userIdentityCache.refreshTokenMatches(user, refreshToken)) {
                             final UserResponseDto userResponseDto = mappers.convertToUserResponseDto(user);
 
-                            final String newAccessToken = jwtProvider.generateAccessToken(userResponseDto);
+                            final String newAccessToken = jwtProvider.generateAccessToken(userResponseDto, user.getCartId());
                             final String newRefreshToken = jwtProvider.generateRefreshToken(userResponseDto);
 
-                            user.setRefreshToken(refreshToken);
-                            userRepository.save(user);
+                            userIdentityCache.rotateRefreshToken(user, newRefreshToken);
                             jwtResponse = new JwtResponse(newAccessToken, newRefreshToken);
                         }
                     } else {
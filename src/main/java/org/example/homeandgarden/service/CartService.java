@@ -12,113 +12,71 @@ import org.example.homeandgarden.repository.CartRepository;
 import org.example.homeandgarden.repository.ProductRepository;
 import org.example.homeandgarden.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CartService {
 
-    private final UserRepository userRepository;
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
+    private final UserRepository userRepository;
 
     private final Mappers mappers;
 
 
-    public Set<CartItemResponseDto> getCartItems(String email) {
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null) {
-            Set<CartItem> cartItemsSet = user.getCart().getCartItems();
-            return MapperUtil.convertSet(cartItemsSet, mappers::convertToCartItemResponseDto);
-        } else {
+    /**
+     * Cart of a user whose access token carries no cart id, as tokens of users without a cart do. The cart is created
+     * on first use; when a concurrent request of the same user creates it first, that cart is returned.
+     */
+    public Long findOrInsertCartId(Long userId) {
+        Optional<Long> cartId = cartRepository.findCartIdByUserId(userId);
+        if (cartId.isPresent()) {
+            return cartId.get();
+        }
+        if (!userRepository.existsById(userId)) {
             throw new DataNotFoundInDataBaseException("User not found in database.");
         }
+        Cart cart = new Cart();
+        cart.setUser(userRepository.getReferenceById(userId));
+        try {
+            return cartRepository.saveAndFlush(cart).getCartId();
+        } catch (DataIntegrityViolationException exception) {
+            return cartRepository.findCartIdByUserId(userId).orElseThrow(() -> exception);
+        }
     }
 
-    @Transactional
-    public void insertCartItem(CartItemRequestDto cartItemRequestDto, String email) {
-        CartItem cartItemToInsert = new CartItem();
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null) {
-            Product product = productRepository.findById(cartItemRequestDto.getProductId()).orElse(null);
-            if (product != null) {
-                Cart cart = cartRepository.findById(user.getCart().getCartId()).orElse(null);
-                if (cart != null) {
-                    Set<CartItem> cartItemSet = cart.getCartItems();
-                    if(cartItemSet == null) {
-                        cartItemToInsert.setCart(cart);
-                        cartItemToInsert.setCartItemId(0L);
-                        cartItemToInsert.setProduct(product);
-                        cartItemToInsert.setQuantity(cartItemRequestDto.getQuantity());
-                        cartItemRepository.save(cartItemToInsert);
-
-                        Set<CartItem> cartItemToInsertSet = new HashSet<>();
-                        cartItemToInsertSet.add(cartItemToInsert);
-                        cart.setCartItems(cartItemToInsertSet);
-                        cartRepository.save(cart);
-                    } else {
-                        for (CartItem item : cartItemSet) {
-                            if (item.getProduct().getProductId().equals(cartItemRequestDto.getProductId())) {
-                                throw new DataAlreadyExistsException("This product is already in cart.");
-                            }
-                        }
-                    }
-                    cartItemToInsert.setCart(cart);
-                    cartItemToInsert.setCartItemId(0L);
-                    cartItemToInsert.setProduct(product);
-                    cartItemToInsert.setQuantity(cartItemRequestDto.getQuantity());
-                    cartItemRepository.save(cartItemToInsert);
-                }
-                else {
-                    Cart newCart = new Cart();
-                    newCart.setUser(user);
-                    Cart savedCart = cartRepository.save(newCart);
-                    cartItemToInsert.setCart(savedCart);
-                    cartItemToInsert.setCartItemId(0L);
-                    cartItemToInsert.setProduct(product);
-                    cartItemToInsert.setQuantity(cartItemRequestDto.getQuantity());
-                    CartItem savedCartItem = cartItemRepository.save(cartItemToInsert);
-                    Set<CartItem> newCartItemSet = new HashSet<>();
-                    newCartItemSet.add(savedCartItem);
-                    savedCart.setCartItems(newCartItemSet);
-                    cartRepository.save(savedCart);
-                }
+    public Set<CartItemResponseDto> getCartItems(Long cartId) {
+        return MapperUtil.convertSet(cartItemRepository.findAllWithProductByCartId(cartId), mappers::convertToCartItemResponseDto);
+    }
 
-            } else {
-                throw new DataNotFoundInDataBaseException("Product not found in database.");
-            }
-        } else {
-            throw new DataNotFoundInDataBaseException("User not found in database.");
+    @Transactional
+    public void insertCartItem(CartItemRequestDto cartItemRequestDto, Long cartId) {
+        Product product = productRepository.findById(cartItemRequestDto.getProductId())
+                .orElseThrow(() -> new DataNotFoundInDataBaseException("Product not found in database."));
+        if (cartItemRepository.existsByCartCartIdAndProductProductId(cartId, product.getProductId())) {
+            throw new DataAlreadyExistsException("This product is already in cart.");
         }
+        CartItem cartItemToInsert = new CartItem();
+        cartItemToInsert.setCart(cartRepository.getReferenceById(cartId));
+        cartItemToInsert.setProduct(product);
+        cartItemToInsert.setQuantity(cartItemRequestDto.getQuantity());
+        cartItemRepository.save(cartItemToInsert);
     }
 
-    public void deleteCartItemByProductId(String email, Long productId) {
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null) {
-            Product product = productRepository.findById(productId).orElse(null);
-            if (product != null) {
-                Set<CartItem> cartItemSet = user.getCart().getCartItems();
-                Set<CartItem> foundProductsSet = new HashSet<>();
-                for (CartItem item : cartItemSet) {
-                    if (item.getProduct().getProductId().equals(productId)) {
-                        foundProductsSet.add(item);
-                        cartItemRepository.deleteById(item.getCartItemId());
-                    }
-                    if(foundProductsSet.isEmpty()){
-                        throw new DataNotFoundInDataBaseException("No such product found in your cart.");
-                    }
-                }
-            } else {
+    @Transactional
+    public void deleteCartItemByProductId(Long cartId, Long productId) {
+        if (cartItemRepository.deleteByCartIdAndProductId(cartId, productId) == 0) {
+            if (!productRepository.existsById(productId)) {
                 throw new DataNotFoundInDataBaseException("Product not found in database.");
             }
-
-        } else {
-            throw new DataNotFoundInDataBaseException("User not found in database.");
+            throw new DataNotFoundInDataBaseException("No such product found in your cart.");
         }
     }
 }
@@ -6,6 +6,9 @@ import org.example.homeandgarden.dto.responsedto.CategoryResponseDto;
 import org.example.homeandgarden.entity.Category;
 import org.example.homeandgarden.exception.DataAlreadyExistsException;
 import org.example.homeandgarden.exception.DataNotFoundInDataBaseException;
+import org.example.homeandgarden.index.ProductCatalogIndex;
+import org.example.homeandgarden.index.ProductDiscountLeaderboard;
+import org.example.homeandgarden.index.ProductJsonFragments;
 import org.example.homeandgarden.mapper.Mappers;
 import org.example.homeandgarden.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +22,9 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final Mappers mappers;
+    private final ProductCatalogIndex productCatalogIndex;
+    private final ProductDiscountLeaderboard productDiscountLeaderboard;
+    private final ProductJsonFragments productJsonFragments;
 
     public List<CategoryResponseDto> getCategories() {
         List<Category> categoriesList = categoryRepository.findAll();
@@ -29,6 +35,9 @@ public class CategoryService {
     public void deleteCategory(Long id) {
         if (categoryRepository.findById(id).isPresent()) {
             categoryRepository.deleteById(id);
+            productCatalogIndex.removeCategory(id);
+            productDiscountLeaderboard.removeCategory(id);
+            productJsonFragments.invalidateAll();
         } else {
             throw new DataNotFoundInDataBaseException("Category not found in database.");
         }
@@ -52,6 +61,7 @@ public class CategoryService {
         if (category != null) {
             category.setName(categoryRequestDto.getName());
             categoryRepository.save(category);
+            productJsonFragments.invalidateAll();
         } else {
             throw new DataNotFoundInDataBaseException("Category not found in database.");
         }
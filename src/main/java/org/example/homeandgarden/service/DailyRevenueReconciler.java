@@ -0,0 +1,43 @@
+package org.example.homeandgarden.service;
+
+import org.example.homeandgarden.repository.DailyRevenueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps a DailyRevenue row for every day that has orders, so that {@link OrderService} mostly only updates rows:
+ * today's and tomorrow's rows are created ahead of the orders, and the whole table is rebuilt from OrderItems nightly.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyRevenueReconciler {
+
+    private final DailyRevenueRepository dailyRevenueRepository;
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${revenue.rollup.days-cron:0 0 * * * *}")
+    public void insertUpcomingDays() {
+        LocalDate today = LocalDate.now();
+        dailyRevenueRepository.insertDayIfMissing(today);
+        dailyRevenueRepository.insertDayIfMissing(today.plusDays(1));
+    }
+
+    @Transactional
+    @Scheduled(cron = "${revenue.rollup.reconcile-cron:0 45 3 * * *}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        dailyRevenueRepository.deleteAllRevenue();
+        int rows = dailyRevenueRepository.insertAllRevenueFromOrderItems();
+        insertUpcomingDays();
+        log.info("Daily revenue rebuilt from order items: {} days in {} ms.", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+}
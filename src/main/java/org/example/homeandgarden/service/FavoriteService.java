@@ -12,6 +12,7 @@ import org.example.homeandgarden.repository.ProductRepository;
 import org.example.homeandgarden.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
 
@@ -24,62 +25,30 @@ public class FavoriteService {
     private final FavoriteRepository favoriteRepository;
     private final Mappers mappers;
 
-    public Set<FavoriteResponseDto> getFavorites(String email) {
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null) {
-            Set<Favorite> favoritesList = user.getFavorites();
-            return MapperUtil.convertSet(favoritesList, mappers::convertToFavoriteResponseDto);
-        } else {
-            throw new DataNotFoundInDataBaseException("User not found in database.");
-        }
+    public Set<FavoriteResponseDto> getFavorites(Long userId) {
+        return MapperUtil.convertSet(favoriteRepository.findAllWithProductByUserId(userId), mappers::convertToFavoriteResponseDto);
     }
 
-    public void insertFavorite(FavoriteRequestDto favoriteRequestDto, String email) {
-        Favorite favorite = new Favorite();
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null) {
-            Product product = productRepository.findById(favoriteRequestDto.getProductId()).orElse(null);
-            if (product != null) {
-                Set<Favorite> favoriteSet = user.getFavorites();
-                for (Favorite item : favoriteSet) {
-                    if (item.getProduct().getProductId().equals(favoriteRequestDto.getProductId())) {
-                        throw new DataAlreadyExistsException("This product is already in favorites.");
-                    }
-                }
-                favorite.setProduct(product);
-                favorite.setUser(user);
-                favoriteRepository.save(favorite);
-                favoriteSet.add(favorite);
-
-            } else {
-                throw new DataNotFoundInDataBaseException("Product not found in database.");
-            }
-        } else {
-            throw new DataNotFoundInDataBaseException("User not found in database.");
+    @Transactional
+    public void insertFavorite(FavoriteRequestDto favoriteRequestDto, Long userId) {
+        Product product = productRepository.findById(favoriteRequestDto.getProductId())
+                .orElseThrow(() -> new DataNotFoundInDataBaseException("Product not found in database."));
+        if (favoriteRepository.existsByUserUserIdAndProductProductId(userId, product.getProductId())) {
+            throw new DataAlreadyExistsException("This product is already in favorites.");
         }
-
+        Favorite favorite = new Favorite();
+        favorite.setProduct(product);
+        favorite.setUser(userRepository.getReferenceById(userId));
+        favoriteRepository.save(favorite);
     }
 
-
-    public void deleteFavoriteByProductId(String email, Long productId) {
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null) {
-            Product product = productRepository.findById(productId).orElse(null);
-            if (product != null) {
-                Set<Favorite> favoritesSet = user.getFavorites();
-                for (Favorite item : favoritesSet) {
-                    if (item.getProduct().getProductId().equals(productId)) {
-                        favoriteRepository.deleteById(item.getFavoriteId());
-                        return;
-                    }
-                }
-                throw new DataNotFoundInDataBaseException("Product not found in Favorites.");
-            } else {
+    @Transactional
+    public void deleteFavoriteByProductId(Long userId, Long productId) {
+        if (favoriteRepository.deleteByUserIdAndProductId(userId, productId) == 0) {
+            if (!productRepository.existsById(productId)) {
                 throw new DataNotFoundInDataBaseException("Product not found in database.");
             }
-        } else {
-            throw new DataNotFoundInDataBaseException("User not found in database.");
+            throw new DataNotFoundInDataBaseException("Product not found in Favorites.");
         }
-
     }
 }
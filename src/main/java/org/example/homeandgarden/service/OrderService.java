@@ -1,6 +1,5 @@
 package org.example.homeandgarden.service;
 
-import org.example.homeandgarden.config.*;
 import org.example.homeandgarden.dto.requestdto.*;
 import org.example.homeandgarden.dto.responsedto.*;
 import org.example.homeandgarden.entity.*;
@@ -8,121 +7,141 @@ import org.example.homeandgarden.entity.enums.*;
 import org.example.homeandgarden.exception.*;
 import org.example.homeandgarden.mapper.*;
 import org.example.homeandgarden.repository.*;
+import org.example.homeandgarden.entity.query.OrderHistoryInterface;
+import org.example.homeandgarden.index.TrendingProducts;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final Set<Status> PAID_STATUSES = EnumSet.of(Status.PAID, Status.ON_THE_WAY, Status.DELIVERED);
+
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final ProductSalesRepository productSalesRepository;
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final TrendingProducts trendingProducts;
 
     private final Mappers mappers;
-    private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
+    private final CartRepository cartRepository;
 
-    public OrderResponseDto getOrderById(Long orderId, String email) {
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user == null) {
-            throw new DataNotFoundInDataBaseException("User not found in database.");
-        }
-        Set<Order> ordersSet = user.getOrders();
-        for (Order order : ordersSet) {
-            if (order.getOrderId().equals(orderId)) {
-                OrderResponseDto orderResponseDto = mappers.convertToOrderResponseDto(order);
-                Set<OrderItemResponseDto> orderItemResponseDto = MapperUtil.convertSet(order.getOrderItems(), mappers::convertToOrderItemResponseDto);
-                orderResponseDto.setOrderItemsSet(orderItemResponseDto);
-                return orderResponseDto;
-            }
+    public OrderResponseDto getOrderById(Long orderId, Long userId) {
+        Order order = orderRepository.findWithItemsByOrderIdAndUserId(orderId, userId)
+                .orElseThrow(() -> new DataNotFoundInDataBaseException("Order not found in database or doesn't belong to user."));
+        OrderResponseDto orderResponseDto = mappers.convertToOrderResponseDto(order);
+        List<OrderItemResponseDto> orderItems = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem orderItem : order.getOrderItems()) {
+            orderItems.add(mappers.convertToOrderItemResponseDto(orderItem));
         }
-
-        throw new DataNotFoundInDataBaseException("Order not found in database or doesn't belong to user.");
+        orderResponseDto.setOrderItems(orderItems);
+        return orderResponseDto;
     }
 
-    public Set<OrderResponseDto> getOrderHistory(String email) {
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null) {
-            Set<Order> ordersSet = user.getOrders();
-            Set<OrderResponseDto> orderResponseDtoSet = new HashSet<>();
-            if (ordersSet != null) {
-                for (Order order : ordersSet) {
-                    Set<OrderItemResponseDto> orderItemResponseDto = MapperUtil.convertSet(order.getOrderItems(), mappers::convertToOrderItemResponseDto);
-                    OrderResponseDto orderResponseDto = mappers.convertToOrderResponseDto(order);
-                    orderResponseDto.setOrderItemsSet(orderItemResponseDto);
-                    orderResponseDtoSet.add(orderResponseDto);
-                }
-                return orderResponseDtoSet;
+    /**
+     * One page of the user's orders, newest first. The page of order ids is read first, then the rows of those orders
+     * are streamed in the same order and grouped into consecutive orders.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponseDto getOrderHistory(Long userId, int page, int size) {
+        Slice<Long> orderIds = orderRepository.findOrderIdsByUserId(userId,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt", "orderId")));
+        List<OrderResponseDto> orders = new ArrayList<>(orderIds.getNumberOfElements());
+        if (orderIds.hasContent()) {
+            try (Stream<OrderHistoryInterface> rows = orderRepository.streamOrderHistoryByOrderIdIn(orderIds.getContent())) {
+                rows.forEachOrdered(row -> {
+                    if (orders.isEmpty() || !orders.get(orders.size() - 1).getOrderId().equals(row.getOrderId())) {
+                        orders.add(mappers.convertToOrderResponseDto(row));
+                    }
+                    if (row.getOrderItemId() != null) {
+                        orders.get(orders.size() - 1).getOrderItems().add(mappers.convertToOrderItemResponseDto(row));
+                    }
+                });
             }
-            throw new DataNotFoundInDataBaseException("No orders were placed yet.");
-        } else {
-            throw new DataNotFoundInDataBaseException("User not found in database.");
         }
+        return OrderPageResponseDto.builder()
+                .items(orders)
+                .page(page)
+                .size(size)
+                .hasNext(orderIds.hasNext())
+                .build();
     }
 
     @Transactional
-    public void insertOrder(OrderRequestDto orderRequestDto, String email) {
-        Order orderToInsert = new Order();
-
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user != null) {
-
-            orderToInsert.setUser(user);
-            orderToInsert.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
-            orderToInsert.setContactPhone(user.getPhone());
-            orderToInsert.setDeliveryAddress(orderRequestDto.getDeliveryAddress());
-            orderToInsert.setDeliveryMethod(DeliveryMethod.valueOf(orderRequestDto.getDeliveryMethod()));
-            orderToInsert.setStatus(Status.CREATED);
-            orderToInsert = orderRepository.save(orderToInsert);
-
-        } else {
-            throw new DataNotFoundInDataBaseException("User not found in database.");
-        }
+    public void insertOrder(OrderRequestDto orderRequestDto, Long userId, Long cartId) {
+        String contactPhone = userRepository.findPhoneByUserId(userId)
+                .orElseThrow(() -> new DataNotFoundInDataBaseException("User not found in database."));
+        insertOrder(orderRequestDto, userRepository.getReferenceById(userId), contactPhone, cartId);
+    }
 
+    private void insertOrder(OrderRequestDto orderRequestDto, User user, String contactPhone, Long cartId) {
         Set<OrderItemRequestDto> orderItemsRequestDtoSet = orderRequestDto.getOrderItemsSet();
-        Set<OrderItem> orderItemToInsertSet = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (OrderItemRequestDto orderItem : orderItemsRequestDtoSet) {
+            productIds.add(orderItem.getProductId());
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllWithCategoryByIdIn(productIds)) {
+            products.put(product.getProductId(), product);
+        }
+        if (products.size() != productIds.size()) {
+            throw new DataNotFoundInDataBaseException("Product not found in database.");
+        }
 
+        Order orderToInsert = new Order();
+        orderToInsert.setUser(user);
+        orderToInsert.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
+        orderToInsert.setContactPhone(contactPhone);
+        orderToInsert.setDeliveryAddress(orderRequestDto.getDeliveryAddress());
+        orderToInsert.setDeliveryMethod(DeliveryMethod.valueOf(orderRequestDto.getDeliveryMethod()));
+        orderToInsert.setStatus(Status.CREATED);
+        orderToInsert = orderRepository.save(orderToInsert);
+
+        List<OrderItem> orderItemToInsertList = new ArrayList<>(orderItemsRequestDtoSet.size());
         for (OrderItemRequestDto orderItem : orderItemsRequestDtoSet) {
+            Product product = products.get(orderItem.getProductId());
             OrderItem orderItemToInsert = new OrderItem();
-            Product product = productRepository.findById(orderItem.getProductId()).orElse(null);
-            if (product != null) {
-                orderItemToInsert.setProduct(product);
-                if (product.getDiscountPrice() == null) {
-                    orderItemToInsert.setPriceAtPurchase(product.getPrice());
-                } else {
-                    orderItemToInsert.setPriceAtPurchase(product.getDiscountPrice());
-                }
-                orderItemToInsert.setQuantity(orderItem.getQuantity());
-                orderItemToInsert.setOrder(orderToInsert);
-                orderItemRepository.save(orderItemToInsert);
-
-                orderItemToInsertSet.add(orderItemToInsert);
+            orderItemToInsert.setProduct(product);
+            if (product.getDiscountPrice() == null) {
+                orderItemToInsert.setPriceAtPurchase(product.getPrice());
             } else {
-                throw new DataNotFoundInDataBaseException("Product not found in database.");
+                orderItemToInsert.setPriceAtPurchase(product.getDiscountPrice());
             }
+            orderItemToInsert.setQuantity(orderItem.getQuantity());
+            orderItemToInsert.setOrder(orderToInsert);
+            orderItemToInsertList.add(orderItemToInsert);
+        }
+        orderItemRepository.saveAll(orderItemToInsertList);
+        if (productSalesRepository.addOrder(orderToInsert.getOrderId(), Status.CREATED) < productIds.size()) {
+            productSalesRepository.insertMissingSales(orderToInsert.getOrderId());
         }
-        orderToInsert.setOrderItems(orderItemToInsertSet);
-        orderRepository.save(orderToInsert);
+        recordTrending(orderItemToInsertList);
 
-        Cart cart = cartRepository.findById(user.getCart().getCartId()).orElse(null);
-        if (cart != null) {
-            Set<CartItem> cartItemSet = cart.getCartItems();
-            for (CartItem item : cartItemSet) {
-                cartItemRepository.deleteById(item.getCartItemId());
-            }
+        if (cartId == null) {
+            // Tokens of users without a cart carry no cart id, though a cart may have been created since.
+            cartRepository.findCartIdByUserId(user.getUserId()).ifPresent(cartItemRepository::deleteByCartId);
         } else {
-            throw new DataNotFoundInDataBaseException("Cart not found in database.");
+            cartItemRepository.deleteByCartId(cartId);
         }
     }
 
+    @Transactional
     public void changeOrderStatus(Long orderId, String status) {
         Order order = orderRepository.findById(orderId).orElse(null);
         if (order == null) {
@@ -131,29 +150,63 @@ public class OrderService {
         if (order.getStatus().equals(Status.DELIVERED) || order.getStatus().equals(Status.CANCELED)) {
             throw new OrderStatusException("Status of this order can not be changed. Order either delivered or canceled.");
         }
+        Status previousStatus = order.getStatus();
         order.setStatus(Status.valueOf(status));
         orderRepository.save(order);
+        if (previousStatus != order.getStatus()) {
+            moveSales(order, previousStatus);
+        }
+        if (PAID_STATUSES.contains(previousStatus) != PAID_STATUSES.contains(order.getStatus())) {
+            addRevenue(order, PAID_STATUSES.contains(order.getStatus()) ? 1 : -1);
+        }
     }
 
+    @Transactional
+    public void cancelOrder(Long orderId, Long userId) {
+        Order order = orderRepository.findByOrderIdAndUserUserId(orderId, userId)
+                .orElseThrow(() -> new DataNotFoundInDataBaseException("Order not found in database or doesn't belong to user."));
+        cancelOrder(order);
+    }
 
-    public void cancelOrder(Long orderId, String email) {
-        User user = userRepository.findByEmail(email).orElse(null);
-        if (user == null) {
-            throw new DataNotFoundInDataBaseException("User not found in database.");
-        }
-        Set<Order> ordersSet = user.getOrders();
-        for (Order order : ordersSet) {
-            if (order.getOrderId().equals(orderId)) {
-                if (order.getStatus() == Status.CREATED || order.getStatus() == Status.PENDING_PAYMENT) {
-                    order.setStatus(Status.CANCELED);
-                    orderRepository.save(order);
-                    return;
-                } else {
-                    throw new OrderStatusException("Order already paid and can not be canceled.");
-                }
-            }
+    private void cancelOrder(Order order) {
+        if (order.getStatus() == Status.CREATED || order.getStatus() == Status.PENDING_PAYMENT) {
+            Status previousStatus = order.getStatus();
+            order.setStatus(Status.CANCELED);
+            orderRepository.save(order);
+            moveSales(order, previousStatus);
+        } else {
+            throw new OrderStatusException("Order already paid and can not be canceled.");
         }
-        throw new DataNotFoundInDataBaseException("Order not found in database or doesn't belong to user.");
     }
-}
 
+    // The order's item count is unknown here, so missing rows are looked for on every move.
+    private void moveSales(Order order, Status previousStatus) {
+        productSalesRepository.moveOrder(order.getOrderId(), previousStatus, order.getStatus());
+        productSalesRepository.insertMissingSales(order.getOrderId());
+    }
+
+    private void addRevenue(Order order, int sign) {
+        if (order.getCreatedAt() == null) {
+            return;
+        }
+        LocalDate revenueDate = order.getCreatedAt().toLocalDateTime().toLocalDate();
+        if (dailyRevenueRepository.addOrder(revenueDate, order.getOrderId(), sign) == 0) {
+            // The day's row is created from its orders, which already include this order in its new status.
+            dailyRevenueRepository.insertDayFromOrderItems(revenueDate, revenueDate.plusDays(1));
+        }
+    }
+
+    // Only committed orders count towards trending products.
+    private void recordTrending(List<OrderItem> orderItems) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            trendingProducts.record(orderItems);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                trendingProducts.record(orderItems);
+            }
+        });
+    }
+}
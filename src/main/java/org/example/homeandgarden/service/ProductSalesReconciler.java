@@ -0,0 +1,29 @@
+package org.example.homeandgarden.service;
+
+import org.example.homeandgarden.repository.ProductSalesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rebuilds the ProductSales aggregate from OrderItems, correcting any drift from orders written outside
+ * {@link OrderService} or from products created without their sales rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSalesReconciler {
+
+    private final ProductSalesRepository productSalesRepository;
+
+    @Transactional
+    @Scheduled(cron = "${product.sales.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        productSalesRepository.deleteAllSales();
+        int rows = productSalesRepository.insertAllSalesFromOrderItems();
+        log.info("Product sales rebuilt from order items: {} rows in {} ms.", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+}
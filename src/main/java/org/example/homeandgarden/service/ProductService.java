@@ -2,33 +2,73 @@ package org.example.homeandgarden.service;
 
 import org.example.homeandgarden.config.MapperUtil;
 import org.example.homeandgarden.dto.querydto.ProductCountDto;
+import org.example.homeandgarden.dto.querydto.ProductCursor;
+import org.example.homeandgarden.dto.querydto.ProductFilter;
 import org.example.homeandgarden.dto.querydto.ProductPendingDto;
 import org.example.homeandgarden.dto.querydto.ProductProfitDto;
+import org.example.homeandgarden.dto.querydto.ProductTrendDto;
 import org.example.homeandgarden.dto.requestdto.ProductRequestDto;
+import org.example.homeandgarden.dto.responsedto.ProductPageResponseDto;
 import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
 import org.example.homeandgarden.entity.Category;
+import org.example.homeandgarden.entity.DailyRevenue;
 import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.entity.ProductSales;
+import org.example.homeandgarden.entity.enums.Status;
+import org.example.homeandgarden.entity.query.ProductCountInterface;
+import org.example.homeandgarden.entity.query.ProductPendingInterface;
 import org.example.homeandgarden.exception.DataNotFoundInDataBaseException;
+import org.example.homeandgarden.exception.InvalidCursorException;
+import org.example.homeandgarden.index.ProductCatalogIndex;
+import org.example.homeandgarden.index.ProductDiscountLeaderboard;
+import org.example.homeandgarden.index.ProductJsonFragments;
+import org.example.homeandgarden.index.TrendingProducts;
 import org.example.homeandgarden.mapper.Mappers;
 import org.example.homeandgarden.repository.CategoryRepository;
+import org.example.homeandgarden.repository.DailyRevenueRepository;
 import org.example.homeandgarden.repository.ProductRepository;
+import org.example.homeandgarden.repository.ProductSalesRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
+
+    // Weeks start on Monday and week 1 is the first with four days in the year, as in MySQL's %u.
+    private static final WeekFields MYSQL_WEEK = WeekFields.of(DayOfWeek.MONDAY, 4);
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSalesRepository productSalesRepository;
+    private final DailyRevenueRepository dailyRevenueRepository;
     private final Mappers mappers;
+    private final ProductCatalogIndex productCatalogIndex;
+    private final ProductDiscountLeaderboard productDiscountLeaderboard;
+    private final ProductJsonFragments productJsonFragments;
+    private final TrendingProducts trendingProducts;
+    private final EntityManager entityManager;
 
 
     public ProductResponseDto getProduct(Long id) {
@@ -46,20 +86,32 @@ public class ProductService {
         Product product = productRepository.findById(id).orElse(null);
         if (product != null) {
             productRepository.deleteById(product.getProductId());
+            productCatalogIndex.remove(product.getProductId());
+            productDiscountLeaderboard.remove(product.getProductId());
+            productJsonFragments.invalidate(product.getProductId());
         } else {
             throw new DataNotFoundInDataBaseException("Product not found in database.");
         }
     }
 
 
+    @Transactional
     public void insertProduct(ProductRequestDto productRequestDto) {
         Category category = categoryRepository.findCategoryByName(productRequestDto.getCategory());
         if (category != null) {
             Product productToInsert = mappers.convertToProduct(productRequestDto);
-            productToInsert.setProductId(0L);
             productToInsert.setCategory(category);
             productToInsert.setCreatedAt(Timestamp.valueOf(LocalDateTime.now()));
-            productRepository.save(productToInsert);
+            Product savedProduct = productRepository.save(productToInsert);
+            // ProductSales has an assigned id, which save() would treat as existing and merge with a select per row.
+            for (Status status : Status.values()) {
+                entityManager.persist(new ProductSales(savedProduct.getProductId(), status, 0L));
+            }
+            afterCommit(() -> {
+                productCatalogIndex.put(savedProduct);
+                productDiscountLeaderboard.put(savedProduct);
+                productJsonFragments.invalidate(savedProduct.getProductId());
+            });
         } else {
             throw new DataNotFoundInDataBaseException("Category not found in database.");
         }
@@ -77,7 +129,10 @@ public class ProductService {
                 productToUpdate.setImageUrl(productRequestDto.getImageUrl());
                 productToUpdate.setCategory(category);
                 productToUpdate.setUpdatedAt(Timestamp.valueOf(LocalDateTime.now()));
-                productRepository.save(productToUpdate);
+                Product savedProduct = productRepository.save(productToUpdate);
+                productCatalogIndex.put(savedProduct);
+                productDiscountLeaderboard.put(savedProduct);
+                productJsonFragments.invalidate(id);
             } else {
                 throw new DataNotFoundInDataBaseException("Product not found in database.");
             }
@@ -92,54 +147,172 @@ public class ProductService {
         Product productToUpdate = productRepository.findById(id).orElse(null);
         if (productToUpdate != null) {
             productToUpdate.setDiscountPrice(discountPrice);
-            productRepository.save(productToUpdate);
+            Product savedProduct = productRepository.save(productToUpdate);
+            productCatalogIndex.put(savedProduct);
+            productDiscountLeaderboard.put(savedProduct);
+            productJsonFragments.invalidate(id);
         } else {
             throw new DataNotFoundInDataBaseException("Product not found in database.");
         }
     }
 
     public ProductResponseDto getMaxDiscountProduct() {
-        List<Product> maxDiscountProductList = productRepository.getMaxDiscountProduct();
+        List<ProductResponseDto> maxDiscountProductList;
+        if (productDiscountLeaderboard.isReady()) {
+            maxDiscountProductList = productDiscountLeaderboard.maxDiscount();
+        } else {
+            maxDiscountProductList = MapperUtil.convertList(productRepository.getMaxDiscountProduct(), mappers::convertToProductResponseDto);
+        }
         if (maxDiscountProductList.size() > 1) {
-            Random random = new Random();
-            int randomNumber = random.nextInt(maxDiscountProductList.size());
-            return mappers.convertToProductResponseDto(maxDiscountProductList.get(randomNumber));
+            int randomNumber = ThreadLocalRandom.current().nextInt(maxDiscountProductList.size());
+            return maxDiscountProductList.get(randomNumber);
         } else {
-            return mappers.convertToProductResponseDto(maxDiscountProductList.getFirst());
+            return maxDiscountProductList.getFirst();
         }
     }
+
+    public List<ProductResponseDto> getTopDiscountProducts(int limit) {
+        if (productDiscountLeaderboard.isReady()) {
+            return productDiscountLeaderboard.top(limit);
+        }
+        return MapperUtil.convertList(productRepository.findTopDiscountProducts(PageRequest.of(0, limit)), mappers::convertToProductResponseDto);
+    }
     public List<ProductCountDto> getTop10Products(String status) {
+        List<ProductCountInterface> top10Products = "CANCELED".equals(status)
+                ? productSalesRepository.findTop10CanceledProducts()
+                : productSalesRepository.findTop10PaidProducts();
+        return MapperUtil.convertList(top10Products, mappers::convertToProductCountDto);
+    }
 
-        return MapperUtil.convertList(productRepository.findTop10Products(status),mappers::convertToProductCountDto);
+    public List<ProductTrendDto> getTrendingProducts(String window, Integer limit) {
+
+        return trendingProducts.top(TrendingProducts.Window.of(window), limit);
+    }
+
+
+    public List<ProductResponseDto> getProductsByFilter(ProductFilter filter) {
+        if (productCatalogIndex.isReady()) {
+            return productCatalogIndex.query(filter.category(), filter.minPriceOrDefault(), filter.maxPriceOrDefault(),
+                    filter.hasDiscount(), filter.sortField(), filter.ascending());
+        }
+        Sort sortObject = orderBy(filter.sortField(), filter.ascending());
+        List<Product> products = filter.category() == null
+                ? productRepository.findProductsByFilter(filter.minPriceOrDefault(), filter.maxPriceOrDefault(), filter.hasDiscount(), sortObject)
+                : productRepository.findProductsByCategoryAndFilter(filter.category(), filter.minPriceOrDefault(), filter.maxPriceOrDefault(),
+                        filter.hasDiscount(), sortObject);
+        return MapperUtil.convertList(products, mappers::convertToProductResponseDto);
     }
 
 
-    public List<ProductResponseDto> getProductsByFilter(Long category, BigDecimal minPrice, BigDecimal maxPrice, Boolean hasDiscount, String sort) {
-        boolean ascending = true;
-        Sort sortObject = orderBy("name", true);
-        boolean hasCategory = false;
+    /**
+     * The product listing handed to {@code consumer} one product at a time. Without the catalog index the products
+     * are read through a cursor and each is detached once mapped, so neither the result nor the persistence context
+     * grows with the size of the catalog.
+     */
+    @Transactional(readOnly = true)
+    public void streamProductsByFilter(ProductFilter filter, Consumer<ProductResponseDto> consumer) {
+        if (productCatalogIndex.isReady()) {
+            productCatalogIndex.query(filter.category(), filter.minPriceOrDefault(), filter.maxPriceOrDefault(),
+                    filter.hasDiscount(), filter.sortField(), filter.ascending()).forEach(consumer);
+            return;
+        }
+        Sort sortObject = orderBy(filter.sortField(), filter.ascending());
+        try (Stream<Product> products = filter.category() == null
+                ? productRepository.streamProductsByFilter(filter.minPriceOrDefault(), filter.maxPriceOrDefault(), filter.hasDiscount(), sortObject)
+                : productRepository.streamProductsByCategoryAndFilter(filter.category(), filter.minPriceOrDefault(), filter.maxPriceOrDefault(),
+                        filter.hasDiscount(), sortObject)) {
+            products.forEach(product -> {
+                consumer.accept(mappers.convertToProductResponseDto(product));
+                entityManager.detach(product);
+            });
+        }
+    }
+
 
-        if (category != null) { hasCategory = true; }
-        if (minPrice == null) { minPrice =BigDecimal.valueOf( 0.00); }
-        if (maxPrice == null) { maxPrice =BigDecimal.valueOf( Double.MAX_VALUE); }
-        if (sort != null) {
-            String[] sortArray = sort.split(",");
-            if (sortArray[1].equals("desc")) {
-                ascending = false;
+    public ProductPageResponseDto getProductsPageByFilter(ProductFilter filter, String after, int limit) {
+        ProductCursor cursor = null;
+        if (after != null && !after.isEmpty()) {
+            cursor = ProductCursor.decode(after);
+            if (!cursor.sort().equals(filter.sortField()) || cursor.ascending() != filter.ascending()) {
+                throw new InvalidCursorException("Invalid cursor: The cursor belongs to a listing with a different sort order.");
             }
-            sortObject = orderBy(sortArray[0], ascending);
         }
-        return MapperUtil.convertList(productRepository.findProductsByFilter(hasCategory, category, minPrice, maxPrice, hasDiscount, sortObject), mappers::convertToProductResponseDto);
+
+        List<ProductResponseDto> items;
+        if (productCatalogIndex.isReady()) {
+            items = productCatalogIndex.queryAfter(filter.category(), filter.minPriceOrDefault(), filter.maxPriceOrDefault(),
+                    filter.hasDiscount(), filter.sortField(), filter.ascending(), cursor, limit + 1);
+        } else {
+            items = MapperUtil.convertList(productRepository.findProductsByFilterAfter(filter.category(), filter.minPriceOrDefault(), filter.maxPriceOrDefault(),
+                    filter.hasDiscount(), filter.sortField(), filter.ascending(),
+                    cursor == null ? null : cursor.typedKey(), cursor == null ? null : cursor.productId(), limit + 1), mappers::convertToProductResponseDto);
+        }
+
+        String next = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            next = ProductCursor.after(items.getLast(), filter.sortField(), filter.ascending()).encode();
+        }
+        return new ProductPageResponseDto(items, next);
     }
 
 
     public List<ProductPendingDto> findProductPending(Integer day) {
-        return MapperUtil.convertList(productRepository.findProductPending(day),mappers::convertToProductPendingDto);
+        Timestamp createdBefore = Timestamp.valueOf(LocalDateTime.now().minusDays(day));
+        return MapperUtil.convertList(productRepository.findProductPending(createdBefore),mappers::convertToProductPendingDto);
+    }
+
+
+    @Transactional(readOnly = true)
+    public void streamProductPending(Integer day, Consumer<ProductPendingDto> consumer) {
+        Timestamp createdBefore = Timestamp.valueOf(LocalDateTime.now().minusDays(day));
+        try (Stream<ProductPendingInterface> pending = productRepository.streamProductPending(createdBefore)) {
+            pending.map(mappers::convertToProductPendingDto).forEach(consumer);
+        }
     }
 
 
+    /**
+     * Revenue of the last {@code value} days, weeks or months, summed from the daily rollup into periods formatted
+     * as MySQL's {@code %Y-%m-%d}, {@code %Y-%u} and {@code %Y-%m}.
+     */
     public List<ProductProfitDto> findProductProfit(String period, Integer value) {
-        return MapperUtil.convertList(productRepository.findProfitByPeriod(period, value),mappers::convertToProductProfitDto);
+        LocalDate today = LocalDate.now();
+        LocalDate from = switch (period) {
+            case "MONTH" -> today.minusMonths(value);
+            case "WEEK" -> today.minusWeeks(value);
+            default -> today.minusDays(value);
+        };
+        Map<String, BigDecimal> revenueByPeriod = new LinkedHashMap<>();
+        for (DailyRevenue dailyRevenue : dailyRevenueRepository.findAllByRevenueDateGreaterThanEqualOrderByRevenueDate(from)) {
+            if (dailyRevenue.getRevenue().signum() != 0) {
+                revenueByPeriod.merge(periodOf(period, dailyRevenue.getRevenueDate()), dailyRevenue.getRevenue(), BigDecimal::add);
+            }
+        }
+        List<ProductProfitDto> profit = new ArrayList<>(revenueByPeriod.size());
+        revenueByPeriod.forEach((key, sum) -> profit.add(ProductProfitDto.builder().period(key).sum(sum).build()));
+        return profit;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String periodOf(String period, LocalDate date) {
+        return switch (period) {
+            case "MONTH" -> String.format("%d-%02d", date.getYear(), date.getMonthValue());
+            case "WEEK" -> String.format("%d-%02d", date.getYear(), date.get(MYSQL_WEEK.weekOfYear()));
+            default -> date.toString();
+        };
     }
 
 
@@ -0,0 +1,113 @@
+package org.example.homeandgarden.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.homeandgarden.dto.querydto.UserIdentityDto;
+import org.example.homeandgarden.entity.query.UserIdentityInterface;
+import org.example.homeandgarden.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link UserIdentityDto} by email for login, token refresh and registration, keyed by the
+ * lower-cased email like the case-insensitive lookups behind it. Users are invalidated when they are updated or deleted and their refresh token is replaced when it is rotated; the write
+ * expiry bounds how long another instance's changes can go unnoticed.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentityDto> identities;
+
+    public UserIdentityCache(
+            UserRepository userRepository,
+            @Value("${users.cache.maximum-size:10000}") long maximumSize,
+            @Value("${users.cache.expire-after-write:10m}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.identities = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, identities, "users.identities");
+    }
+
+    public Optional<UserIdentityDto> findByEmail(String email) {
+        return Optional.ofNullable(identities.get(key(email), key -> userRepository.findIdentityByEmail(email)
+                .map(UserIdentityCache::convertToUserIdentityDto)
+                .orElse(null)));
+    }
+
+    public boolean existsByEmail(String email) {
+        return identities.getIfPresent(key(email)) != null || Boolean.TRUE.equals(userRepository.existsByEmail(email));
+    }
+
+    public boolean refreshTokenMatches(UserIdentityDto userIdentityDto, String refreshToken) {
+        return userIdentityDto.getRefreshTokenFingerprint() != null
+                && MessageDigest.isEqual(userIdentityDto.getRefreshTokenFingerprint(), fingerprint(refreshToken));
+    }
+
+    /**
+     * Stores the user's new refresh token and keeps the cached identity in step with it.
+     */
+    public void rotateRefreshToken(UserIdentityDto userIdentityDto, String refreshToken) {
+        userRepository.updateRefreshToken(userIdentityDto.getUserId(), refreshToken);
+        identities.put(key(userIdentityDto.getEmail()), userIdentityDto.toBuilder()
+                .refreshTokenFingerprint(fingerprint(refreshToken))
+                .build());
+    }
+
+    /**
+     * Drops the user now and, when called inside a transaction, again once it completes, so that a concurrent login
+     * cannot keep the state the transaction is replacing in the cache.
+     */
+    public void invalidate(String email) {
+        String key = key(email);
+        identities.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    identities.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static UserIdentityDto convertToUserIdentityDto(UserIdentityInterface userIdentityInterface) {
+        return UserIdentityDto.builder()
+                .userId(userIdentityInterface.getUserId())
+                .email(userIdentityInterface.getEmail())
+                .name(userIdentityInterface.getName())
+                .role(userIdentityInterface.getRole())
+                .cartId(userIdentityInterface.getCartId())
+                .passwordHash(userIdentityInterface.getPasswordHash())
+                .refreshTokenFingerprint(userIdentityInterface.getRefreshToken() == null ? null : fingerprint(userIdentityInterface.getRefreshToken()))
+                .build();
+    }
+
+    private static byte[] fingerprint(String refreshToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
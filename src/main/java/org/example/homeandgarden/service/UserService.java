@@ -7,8 +7,8 @@ import org.example.homeandgarden.entity.enums.*;
 import org.example.homeandgarden.exception.*;
 import org.example.homeandgarden.mapper.*;
 import org.example.homeandgarden.repository.*;
+import org.example.homeandgarden.security.service.PasswordHasher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,38 +18,34 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final Mappers mappers;
     private final CartRepository cartRepository;
+    private final UserIdentityCache userIdentityCache;
 
-    @Transactional
     public void registerUser(UserRequestDto userRequestDto) {
-        if (userRepository.existsByEmail(userRequestDto.getEmail())) {
-            throw new DataAlreadyExistsException("User already exists.");
-        }
-        User user = mappers.convertToUser(userRequestDto);
-        user.setRole(Role.CLIENT);
-        user.setPasswordHash(passwordEncoder.encode(userRequestDto.getPassword()));
-        Cart cart = new Cart();
-        cart.setUser(user);
-        user.setCart(cart);
-        userRepository.save(user);
-        cartRepository.save(cart);
+        register(userRequestDto, Role.CLIENT);
     }
 
-    @Transactional
     public void registerAdmin(UserRequestDto userRequestDto) {
-        if (userRepository.existsByEmail(userRequestDto.getEmail())) {
+        register(userRequestDto, Role.ADMINISTRATOR);
+    }
+
+    /**
+     * Hashes the password before anything is written, so that no connection is held while it waits for a hashing
+     * thread. The user and its cart, which it cascades to, are then saved in a transaction of their own.
+     */
+    private void register(UserRequestDto userRequestDto, Role role) {
+        if (userIdentityCache.existsByEmail(userRequestDto.getEmail())) {
             throw new DataAlreadyExistsException("User already exists.");
         }
         User user = mappers.convertToUser(userRequestDto);
-        user.setRole(Role.ADMINISTRATOR);
-        user.setPasswordHash(passwordEncoder.encode(userRequestDto.getPassword()));
+        user.setRole(role);
+        user.setPasswordHash(passwordHasher.encode(userRequestDto.getPassword()));
         Cart cart = new Cart();
         cart.setUser(user);
         user.setCart(cart);
         userRepository.save(user);
-        cartRepository.save(cart);
     }
 
 
@@ -59,6 +55,7 @@ public class UserService {
         user.setName(userUpdateDto.getName());
         user.setPhone(userUpdateDto.getPhone());
         userRepository.save(user);
+        userIdentityCache.invalidate(user.getEmail());
     }
 
     @Transactional
@@ -69,6 +66,7 @@ public class UserService {
             cartRepository.delete(user.getCart());
         }
         userRepository.deleteById(id);
+        userIdentityCache.invalidate(user.getEmail());
     }
 
     public UserResponseDto getUserByEmail(String email) {
@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset yulia:create_table_idgenerators
+CREATE TABLE IdGenerators (GeneratorName VARCHAR(50) NOT NULL, NextValue BIGINT NOT NULL, CONSTRAINT PK_IDGENERATORS PRIMARY KEY (GeneratorName));
+
+-- changeset yulia:insert_idgenerators
+INSERT INTO IdGenerators (GeneratorName, NextValue) SELECT 'Users', COALESCE(MAX(UserID), 0) + 1 FROM Users;
+INSERT INTO IdGenerators (GeneratorName, NextValue) SELECT 'Products', COALESCE(MAX(ProductID), 0) + 1 FROM Products;
+INSERT INTO IdGenerators (GeneratorName, NextValue) SELECT 'Favorites', COALESCE(MAX(FavoriteID), 0) + 1 FROM Favorites;
+INSERT INTO IdGenerators (GeneratorName, NextValue) SELECT 'Cart', COALESCE(MAX(CartID), 0) + 1 FROM Cart;
+INSERT INTO IdGenerators (GeneratorName, NextValue) SELECT 'CartItems', COALESCE(MAX(CartItemID), 0) + 1 FROM CartItems;
+INSERT INTO IdGenerators (GeneratorName, NextValue) SELECT 'Orders', COALESCE(MAX(OrderID), 0) + 1 FROM Orders;
+INSERT INTO IdGenerators (GeneratorName, NextValue) SELECT 'OrderItems', COALESCE(MAX(OrderItemID), 0) + 1 FROM OrderItems;
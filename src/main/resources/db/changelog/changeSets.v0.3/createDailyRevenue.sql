@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+
+-- changeset yulia:create_table_dailyrevenue
+CREATE TABLE DailyRevenue (RevenueDate DATE NOT NULL, Revenue DECIMAL(14, 2) NOT NULL, CONSTRAINT PK_DAILYREVENUE PRIMARY KEY (RevenueDate));
+
+-- changeset yulia:insert_dailyrevenue
+INSERT INTO DailyRevenue (RevenueDate, Revenue) SELECT CAST(o.CreatedAt AS DATE), COALESCE(SUM(CASE WHEN o.Status IN ('PAID','ON_THE_WAY','DELIVERED') THEN oi.Quantity * oi.PriceAtPurchase END), 0) FROM Orders o LEFT JOIN OrderItems oi ON oi.OrderID = o.OrderID WHERE o.CreatedAt IS NOT NULL GROUP BY CAST(o.CreatedAt AS DATE);
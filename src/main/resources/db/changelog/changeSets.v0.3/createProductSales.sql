@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset yulia:create_table_productsales
+CREATE TABLE ProductSales (ProductID BIGINT NOT NULL, Status ENUM('CREATED','PENDING_PAYMENT', 'PAID', 'ON_THE_WAY', 'DELIVERED', 'CANCELED') NOT NULL, Quantity BIGINT NOT NULL, CONSTRAINT PK_PRODUCTSALES PRIMARY KEY (ProductID, Status));
+
+-- changeset yulia:create_foreign_key_productsales_products
+ALTER TABLE ProductSales ADD CONSTRAINT foreign_key_productsales_products FOREIGN KEY (ProductID) REFERENCES Products (ProductID) ON UPDATE CASCADE ON DELETE CASCADE;
+
+-- changeset yulia:create_index_productsales_status_quantity
+CREATE INDEX index_productsales_status_quantity ON ProductSales(Status, Quantity);
+
+-- changeset yulia:insert_productsales
+INSERT INTO ProductSales (ProductID, Status, Quantity) SELECT p.ProductID, st.Status, COALESCE(sales.Quantity, 0) FROM Products p CROSS JOIN (SELECT 'CREATED' AS Status UNION ALL SELECT 'PENDING_PAYMENT' UNION ALL SELECT 'PAID' UNION ALL SELECT 'ON_THE_WAY' UNION ALL SELECT 'DELIVERED' UNION ALL SELECT 'CANCELED') st LEFT JOIN (SELECT oi.ProductID, o.Status, SUM(oi.Quantity) AS Quantity FROM OrderItems oi JOIN Orders o ON oi.OrderID = o.OrderID GROUP BY oi.ProductID, o.Status) sales ON sales.ProductID = p.ProductID AND sales.Status = st.Status;
@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+
+-- changeset yulia:create_index_orders_status_createdat
+CREATE INDEX index_orders_status_createdat ON Orders(Status, CreatedAt);
+
+-- changeset yulia:create_index_products_categoryid_price
+CREATE INDEX index_products_categoryid_price ON Products(CategoryID, Price);
+
+-- changeset yulia:create_index_orderitems_productid_orderid_quantity
+CREATE INDEX index_orderitems_productid_orderid_quantity ON OrderItems(ProductID, OrderID, Quantity);
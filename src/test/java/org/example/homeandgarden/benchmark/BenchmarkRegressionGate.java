@@ -0,0 +1,99 @@
+package org.example.homeandgarden.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Compares a JMH JSON result with a baseline recorded on the same machine and fails the build when a benchmark got
+ * slower than the baseline by more than the tolerance, or when there is no baseline to compare with. A change only
+ * counts as far as it lies outside the score errors JMH reports for both runs. A benchmark without a baseline entry
+ * fails too, as does a baseline entry the run included but has no score for, such as a renamed, removed or crashed
+ * benchmark.
+ * <p>
+ * Record a baseline with {@code ./mvnw -P benchmark verify -Djmh.gate.skip=true} and copy {@code target/jmh-result.json}
+ * to {@code benchmarks/jmh-baseline.json}, or point {@code -Djmh.baseline=<file>} at an earlier result.
+ */
+public final class BenchmarkRegressionGate {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkRegressionGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+        Pattern includes = Pattern.compile(args.length > 3 ? args[3] : ".*");
+        List<String> regressions = check(result, baseline, tolerance, includes);
+        if (!regressions.isEmpty()) {
+            regressions.forEach(System.err::println);
+            System.exit(1);
+        }
+        System.out.println("No benchmark regressed by more than " + Math.round(tolerance * 100) + "% against " + baseline);
+    }
+
+    static List<String> check(Path result, Path baseline, double tolerance, Pattern includes) throws IOException {
+        if (!Files.exists(baseline)) {
+            return List.of("No benchmark baseline at " + baseline + ". Record one with -Djmh.gate.skip=true and copy "
+                    + result + " there, or set -Djmh.baseline to an earlier result.");
+        }
+        return compare(read(baseline), read(result), tolerance, includes);
+    }
+
+    static List<String> compare(Map<String, Score> baseline, Map<String, Score> current, double tolerance,
+                                Pattern includes) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                regressions.add(entry.getKey() + " has no baseline, record a new one.");
+                continue;
+            }
+            // Throughput regresses downwards, every other JMH mode measures time and regresses upwards.
+            double sign = after.higherIsBetter() ? -1 : 1;
+            double change = sign * (after.score() - before.score()) / before.score();
+            double changeBeyondErrors = (sign * (after.score() - before.score()) - after.error() - before.error()) / before.score();
+            if (changeBeyondErrors > tolerance) {
+                regressions.add(String.format("%s regressed by %.1f%%: %.3f ± %.3f -> %.3f ± %.3f %s",
+                        entry.getKey(), change * 100, before.score(), before.error(), after.score(), after.error(), after.unit()));
+            }
+        }
+        for (String benchmark : baseline.keySet()) {
+            // Runs limited with jmh.includes only miss the benchmarks they did not include.
+            if (!current.containsKey(benchmark) && includes.matcher(benchmark.replaceFirst("\\{.*", "")).find()) {
+                regressions.add(benchmark + " is in the baseline but has no result.");
+            }
+        }
+        return regressions;
+    }
+
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : OBJECT_MAPPER.readTree(file.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            JsonNode primaryMetric = run.get("primaryMetric");
+            // JMH writes "NaN" as the error of a run too short to estimate one.
+            double error = primaryMetric.path("scoreError").asDouble(0);
+            scores.put(run.get("benchmark").asText() + params,
+                    new Score(primaryMetric.get("score").asDouble(), Double.isNaN(error) ? 0 : error,
+                            primaryMetric.get("scoreUnit").asText(), "thrpt".equals(run.get("mode").asText())));
+        }
+        return scores;
+    }
+
+    record Score(double score, double error, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.homeandgarden.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkRegressionGateTest {
+
+    private static final Pattern ALL = Pattern.compile(".*");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void readsOneScorePerBenchmarkAndParams() throws IOException {
+        Path result = write("""
+                [
+                  {"benchmark": "a.MapperUtilBenchmark.convertList", "mode": "avgt", "params": {"size": "10"},
+                   "primaryMetric": {"score": 1.5, "scoreUnit": "us/op"}},
+                  {"benchmark": "a.MapperUtilBenchmark.convertList", "mode": "avgt", "params": {"size": "100"},
+                   "primaryMetric": {"score": 15.0, "scoreError": 0.4, "scoreUnit": "us/op"}},
+                  {"benchmark": "a.JwtProviderBenchmark.generateAccessToken", "mode": "thrpt",
+                   "primaryMetric": {"score": 200.0, "scoreError": "NaN", "scoreUnit": "ops/ms"}}
+                ]
+                """);
+
+        Map<String, BenchmarkRegressionGate.Score> scores = BenchmarkRegressionGate.read(result);
+
+        assertEquals(3, scores.size());
+        assertEquals(15.0, scores.get("a.MapperUtilBenchmark.convertList{size=100}").score());
+        assertEquals(0.4, scores.get("a.MapperUtilBenchmark.convertList{size=100}").error());
+        assertEquals(0.0, scores.get("a.JwtProviderBenchmark.generateAccessToken{}").error());
+        assertTrue(scores.get("a.JwtProviderBenchmark.generateAccessToken{}").higherIsBetter());
+    }
+
+    @Test
+    void flagsOnlyChangesBeyondTheTolerance() {
+        Map<String, BenchmarkRegressionGate.Score> baseline = Map.of(
+                "slower", new BenchmarkRegressionGate.Score(10.0, 0, "us/op", false),
+                "noisy", new BenchmarkRegressionGate.Score(10.0, 0, "us/op", false),
+                "fewerOps", new BenchmarkRegressionGate.Score(100.0, 0, "ops/ms", true),
+                "moreOps", new BenchmarkRegressionGate.Score(100.0, 0, "ops/ms", true));
+        Map<String, BenchmarkRegressionGate.Score> current = Map.of(
+                "slower", new BenchmarkRegressionGate.Score(12.0, 0, "us/op", false),
+                "noisy", new BenchmarkRegressionGate.Score(10.5, 0, "us/op", false),
+                "fewerOps", new BenchmarkRegressionGate.Score(80.0, 0, "ops/ms", true),
+                "moreOps", new BenchmarkRegressionGate.Score(150.0, 0, "ops/ms", true));
+
+        List<String> regressions = BenchmarkRegressionGate.compare(baseline, current, 0.10, ALL);
+
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.stream().anyMatch(regression -> regression.startsWith("slower regressed by 20.0%")));
+        assertTrue(regressions.stream().anyMatch(regression -> regression.startsWith("fewerOps regressed by 20.0%")));
+    }
+
+    @Test
+    void discountsTheScoreErrors() {
+        Map<String, BenchmarkRegressionGate.Score> baseline = Map.of(
+                "withinErrors", new BenchmarkRegressionGate.Score(10.0, 0.5, "us/op", false),
+                "beyondErrors", new BenchmarkRegressionGate.Score(100.0, 5.0, "ops/ms", true));
+        Map<String, BenchmarkRegressionGate.Score> current = Map.of(
+                "withinErrors", new BenchmarkRegressionGate.Score(12.0, 0.6, "us/op", false),
+                "beyondErrors", new BenchmarkRegressionGate.Score(70.0, 5.0, "ops/ms", true));
+
+        List<String> regressions = BenchmarkRegressionGate.compare(baseline, current, 0.10, ALL);
+
+        assertEquals(List.of("beyondErrors regressed by 30.0%: 100.000 ± 5.000 -> 70.000 ± 5.000 ops/ms"), regressions);
+    }
+
+    @Test
+    void failsOnBenchmarksMissingFromEitherSide() {
+        Map<String, BenchmarkRegressionGate.Score> baseline = Map.of(
+                "a.MapperUtilBenchmark.convertList{size=10}", new BenchmarkRegressionGate.Score(1.5, 0, "us/op", false),
+                "a.JwtProviderBenchmark.generateAccessToken{}", new BenchmarkRegressionGate.Score(200.0, 0, "ops/ms", true));
+        Map<String, BenchmarkRegressionGate.Score> current = Map.of(
+                "a.MapperUtilBenchmark.convertListRenamed{size=10}", new BenchmarkRegressionGate.Score(1.5, 0, "us/op", false));
+
+        assertEquals(3, BenchmarkRegressionGate.compare(baseline, current, 0.10, ALL).size());
+        assertEquals(List.of("a.MapperUtilBenchmark.convertListRenamed{size=10} has no baseline, record a new one.",
+                        "a.MapperUtilBenchmark.convertList{size=10} is in the baseline but has no result."),
+                BenchmarkRegressionGate.compare(baseline, current, 0.10, Pattern.compile("MapperUtil")));
+    }
+
+    @Test
+    void failsWithoutABaseline() throws IOException {
+        Path result = write("[]");
+
+        List<String> problems = BenchmarkRegressionGate.check(result, directory.resolve("jmh-baseline.json"), 0.10, ALL);
+
+        assertEquals(1, problems.size());
+        assertTrue(problems.get(0).startsWith("No benchmark baseline at "));
+    }
+
+    private Path write(String json) throws IOException {
+        Path file = directory.resolve("jmh-result.json");
+        Files.writeString(file, json);
+        return file;
+    }
+}
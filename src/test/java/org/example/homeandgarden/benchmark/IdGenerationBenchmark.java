@@ -0,0 +1,113 @@
+package org.example.homeandgarden.benchmark;
+
+import jakarta.persistence.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts per second of order item rows through Hibernate with {@code IDENTITY} ids, which disable insert batching,
+ * against pooled-lo table generated ids with {@code hibernate.jdbc.batch_size} as the entities now use.
+ * An embedded database has no network round trips, so the gain against MySQL is larger than measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"identity", "pooled"})
+    private String idGeneration;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityOrderItem.class)
+                .addAnnotatedClass(PooledOrderItem.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:ids" + idGeneration + ";MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertOrderItems() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int row = 0; row < ROWS; row++) {
+                session.persist(idGeneration.equals("identity")
+                        ? new IdentityOrderItem(null, 1L, 1L + row % 25, 2, new BigDecimal("24.99"))
+                        : new PooledOrderItem(null, 1L, 1L + row % 25, 2, new BigDecimal("24.99")));
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    @Entity
+    @Table(name = "IdentityOrderItems")
+    static class IdentityOrderItem {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long orderItemId;
+        private Long orderId;
+        private Long productId;
+        private Integer quantity;
+        private BigDecimal priceAtPurchase;
+
+        protected IdentityOrderItem() {
+        }
+
+        IdentityOrderItem(Long orderItemId, Long orderId, Long productId, Integer quantity, BigDecimal priceAtPurchase) {
+            this.orderItemId = orderItemId;
+            this.orderId = orderId;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.priceAtPurchase = priceAtPurchase;
+        }
+    }
+
+    @Entity
+    @Table(name = "PooledOrderItems")
+    static class PooledOrderItem {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "PooledOrderItemIdGenerator")
+        @TableGenerator(name = "PooledOrderItemIdGenerator", table = "IdGenerators", pkColumnName = "GeneratorName",
+                valueColumnName = "NextValue", pkColumnValue = "OrderItems", allocationSize = 50)
+        private Long orderItemId;
+        private Long orderId;
+        private Long productId;
+        private Integer quantity;
+        private BigDecimal priceAtPurchase;
+
+        protected PooledOrderItem() {
+        }
+
+        PooledOrderItem(Long orderItemId, Long orderId, Long productId, Integer quantity, BigDecimal priceAtPurchase) {
+            this.orderItemId = orderItemId;
+            this.orderId = orderId;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.priceAtPurchase = priceAtPurchase;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.homeandgarden.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.example.homeandgarden.dto.responsedto.UserResponseDto;
+import org.example.homeandgarden.entity.enums.Role;
+import org.example.homeandgarden.security.jwt.JwtAuthentication;
+import org.example.homeandgarden.security.jwt.JwtFilter;
+import org.example.homeandgarden.security.jwt.JwtProvider;
+import org.example.homeandgarden.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link JwtFilter} for a request carrying a valid access token: with the verified-token cache, with the
+ * cache disabled (one parse per request), and the previous path that verified the token and then parsed it again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String ACCESS_SECRET = "qBTmv4oXFFR2GwjexDJ4t6fsIUIUhhXqlktXjXdkcyygs8nPVEwMfo29VDRRepYDVV5IkIxBMzr7OEHXEHd37w==";
+    private static final String REFRESH_SECRET = "zL1HB3Pch05Avfynovxrf/kpF9O2m4NCWKJUjEp27s9J2jEG3ifiKCGylaZ8fDeoONSTJP/wAzKawB8F9rOMNg==";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtFilter cachedFilter;
+    private JwtFilter uncachedFilter;
+    private SecretKey accessKey;
+    private String accessToken;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtProvider cachedProvider = new JwtProvider(ACCESS_SECRET, REFRESH_SECRET, 10_000, new SimpleMeterRegistry());
+        cachedFilter = new JwtFilter(cachedProvider);
+        uncachedFilter = new JwtFilter(new JwtProvider(ACCESS_SECRET, REFRESH_SECRET, 0, new SimpleMeterRegistry()));
+        accessKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(ACCESS_SECRET));
+        accessToken = cachedProvider.generateAccessToken(UserResponseDto.builder()
+                .userId(1L).name("Name").email("name@example.com").role(Role.CLIENT).build());
+        request = new MockHttpServletRequest("GET", "/orders/history");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object cached() throws Exception {
+        cachedFilter.doFilter(request, response, NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object uncached() throws Exception {
+        uncachedFilter.doFilter(request, response, NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object previous() {
+        String header = request.getHeader("Authorization");
+        String token = header.substring(7);
+        Jwts.parser().verifyWith(accessKey).build().parseSignedClaims(token);
+        Claims claims = Jwts.parser().verifyWith(accessKey).build().parseSignedClaims(token).getPayload();
+        JwtAuthentication jwtAuthentication = JwtUtils.generate(claims);
+        jwtAuthentication.setAuthenticated(true);
+        SecurityContextHolder.getContext().setAuthentication(jwtAuthentication);
+        return jwtAuthentication;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.homeandgarden.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.homeandgarden.dto.responsedto.UserResponseDto;
+import org.example.homeandgarden.entity.enums.Role;
+import org.example.homeandgarden.security.jwt.JwtAuthentication;
+import org.example.homeandgarden.security.jwt.JwtProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of issuing tokens at login and of verifying them on {@code /auth/token}, {@code /auth/refresh} and, without
+ * the verified-token cache, on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtProviderBenchmark {
+
+    private static final String ACCESS_SECRET = "qBTmv4oXFFR2GwjexDJ4t6fsIUIUhhXqlktXjXdkcyygs8nPVEwMfo29VDRRepYDVV5IkIxBMzr7OEHXEHd37w==";
+    private static final String REFRESH_SECRET = "zL1HB3Pch05Avfynovxrf/kpF9O2m4NCWKJUjEp27s9J2jEG3ifiKCGylaZ8fDeoONSTJP/wAzKawB8F9rOMNg==";
+
+    private JwtProvider jwtProvider;
+    private UserResponseDto userResponseDto;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtProvider = new JwtProvider(ACCESS_SECRET, REFRESH_SECRET, 0, new SimpleMeterRegistry());
+        userResponseDto = UserResponseDto.builder()
+                .userId(1L).name("Name").email("name@example.com").role(Role.CLIENT).build();
+        accessToken = jwtProvider.generateAccessToken(userResponseDto, 1L);
+        refreshToken = jwtProvider.generateRefreshToken(userResponseDto);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtProvider.generateAccessToken(userResponseDto, 1L);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtProvider.generateRefreshToken(userResponseDto);
+    }
+
+    @Benchmark
+    public boolean validateAccessToken() {
+        return jwtProvider.validateAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean validateRefreshToken() {
+        return jwtProvider.validateRefreshToken(refreshToken);
+    }
+
+    @Benchmark
+    public JwtAuthentication authenticateAccessToken() {
+        return jwtProvider.authenticateAccessToken(accessToken);
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.homeandgarden.benchmark;
+
+import org.example.homeandgarden.config.MapperUtil;
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.mapper.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link MapperUtil#convertList} and {@link MapperUtil#convertSet} for a response of {@code size} products,
+ * the shape of a catalog listing and of a cart or favorites response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperUtilBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private Mappers mappers;
+    private List<Product> productList;
+    private Set<Product> productSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mappers = new Mappers();
+        productList = ProductCatalogIndexBenchmark.generateCatalog(size);
+        productSet = new HashSet<>(productList);
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> convertList() {
+        return MapperUtil.convertList(productList, mappers::convertToProductResponseDto);
+    }
+
+    @Benchmark
+    public Set<ProductResponseDto> convertSet() {
+        return MapperUtil.convertSet(productSet, mappers::convertToProductResponseDto);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.homeandgarden.benchmark;
+
+import org.example.homeandgarden.dto.responsedto.OrderItemResponseDto;
+import org.example.homeandgarden.dto.responsedto.OrderResponseDto;
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.example.homeandgarden.entity.*;
+import org.example.homeandgarden.entity.enums.DeliveryMethod;
+import org.example.homeandgarden.entity.enums.Role;
+import org.example.homeandgarden.entity.enums.Status;
+import org.example.homeandgarden.mapper.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency per mapped object of {@link Mappers} against the ModelMapper based implementation it replaced.
+ * The benchmark profile runs it with the GC profiler, whose {@code gc.alloc.rate.norm} is the bytes allocated per mapped object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappersBenchmark {
+
+    private Mappers mappers;
+    private ModelMapperMappers modelMapperMappers;
+    private Product product;
+    private OrderItem orderItem;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mappers = new Mappers();
+        modelMapperMappers = new ModelMapperMappers(new ModelMapper());
+
+        Category category = new Category(3L, "Garden tools", new HashSet<>());
+        User user = new User(5L, "Name", "name@example.com", "+4915112345678", "hash", Role.CLIENT, null, null, new HashSet<>(), new HashSet<>());
+        product = new Product(1L, "Garden hose", "Flexible garden hose, 20 m", new BigDecimal("24.99"), new BigDecimal("19.99"),
+                "https://example.com/images/1.jpg", new Timestamp(1_700_000_000_000L), new Timestamp(1_700_000_360_000L),
+                category, new HashSet<>(), new HashSet<>(), new HashSet<>());
+        order = new Order(7L, new Timestamp(1_700_000_000_000L), "Main street 1", "+4915112345678", DeliveryMethod.COURIER_DELIVERY,
+                Status.PAID, new Timestamp(1_700_000_360_000L), new HashSet<>(), user);
+        for (long orderItemId = 1; orderItemId <= 5; orderItemId++) {
+            order.getOrderItems().add(new OrderItem(orderItemId, 2, new BigDecimal("24.99"), order, product));
+        }
+        orderItem = order.getOrderItems().iterator().next();
+    }
+
+    @Benchmark
+    public ProductResponseDto product() {
+        return mappers.convertToProductResponseDto(product);
+    }
+
+    @Benchmark
+    public ProductResponseDto productModelMapper() {
+        return modelMapperMappers.convertToProductResponseDto(product);
+    }
+
+    @Benchmark
+    public OrderItemResponseDto orderItem() {
+        return mappers.convertToOrderItemResponseDto(orderItem);
+    }
+
+    @Benchmark
+    public OrderItemResponseDto orderItemModelMapper() {
+        return modelMapperMappers.convertToOrderItemResponseDto(orderItem);
+    }
+
+    @Benchmark
+    public OrderResponseDto order() {
+        return mappers.convertToOrderResponseDto(order);
+    }
+
+    @Benchmark
+    public OrderResponseDto orderModelMapper() {
+        return modelMapperMappers.convertToOrderResponseDto(order);
+    }
+
+    // The previous Mappers implementation, kept verbatim as the baseline.
+    private static final class ModelMapperMappers {
+
+        private final ModelMapper modelMapper;
+
+        private ModelMapperMappers(ModelMapper modelMapper) {
+            this.modelMapper = modelMapper;
+        }
+
+        private OrderResponseDto convertToOrderResponseDto(Order order) {
+            modelMapper.typeMap(Order.class, OrderResponseDto.class)
+                    .addMappings(mapper -> mapper.skip(OrderResponseDto::setUserResponseDto));
+            return modelMapper.map(order, OrderResponseDto.class);
+        }
+
+        private OrderItemResponseDto convertToOrderItemResponseDto(OrderItem orderItem) {
+            modelMapper.typeMap(OrderItem.class, OrderItemResponseDto.class)
+                    .addMappings(mapper -> mapper.skip(OrderItemResponseDto::setOrderResponseDto));
+            OrderItemResponseDto orderItemResponseDto = modelMapper.map(orderItem, OrderItemResponseDto.class);
+            orderItemResponseDto.setProductResponseDto(convertToProductResponseDto(orderItem.getProduct()));
+            return orderItemResponseDto;
+        }
+
+        private ProductResponseDto convertToProductResponseDto(Product product) {
+            modelMapper.typeMap(Product.class, ProductResponseDto.class)
+                    .addMappings(mapper -> mapper.skip(ProductResponseDto::setCategoryResponseDto));
+            return modelMapper.map(product, ProductResponseDto.class);
+        }
+    }
+}
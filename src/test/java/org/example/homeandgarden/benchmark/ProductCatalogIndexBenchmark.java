@@ -0,0 +1,143 @@
+package org.example.homeandgarden.benchmark;
+
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.example.homeandgarden.entity.Category;
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.index.ProductCatalogIndex;
+import org.example.homeandgarden.mapper.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a {@code GET /products} catalog browse served by {@link ProductCatalogIndex} with the same
+ * filter executed as SQL against an embedded database and mapped row by row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ProductCatalogIndexBenchmark {
+
+    private static final int CATEGORIES = 20;
+    private static final Long CATEGORY = 3L;
+    private static final BigDecimal MIN_PRICE = BigDecimal.valueOf(10);
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(50);
+
+    private static final String FILTER_QUERY =
+            "SELECT p.ProductID, p.Name, p.Description, p.Price, p.DiscountPrice, p.ImageURL, p.CreatedAt, p.UpdatedAt, c.CategoryID, c.Name " +
+            "FROM Products p JOIN Categories c ON p.CategoryID = c.CategoryID " +
+            "WHERE p.CategoryID = ? AND p.Price BETWEEN ? AND ? " +
+            "ORDER BY p.Name ASC";
+
+    @Param({"10000", "100000", "1000000"})
+    private int products;
+
+    private ProductCatalogIndex productCatalogIndex;
+    private Mappers mappers;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        mappers = new Mappers();
+        List<Product> catalog = generateCatalog(products);
+
+        productCatalogIndex = new ProductCatalogIndex(null, mappers, true);
+        productCatalogIndex.rebuild(catalog);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:catalog" + products + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE Categories (CategoryID BIGINT PRIMARY KEY, Name VARCHAR(50))");
+            statement.execute("CREATE TABLE Products (ProductID BIGINT PRIMARY KEY, CategoryID BIGINT, Price DECIMAL(6, 2), DiscountPrice DECIMAL(6, 2), " +
+                    "CreatedAt DATETIME, UpdatedAt DATETIME, Name VARCHAR(50), Description VARCHAR(255), ImageURL VARCHAR(255))");
+            statement.execute("CREATE INDEX foreign_key_products_categories ON Products(CategoryID)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO Categories VALUES (?, ?)")) {
+            for (long categoryId = 1; categoryId <= CATEGORIES; categoryId++) {
+                insert.setLong(1, categoryId);
+                insert.setString(2, "Category " + categoryId);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO Products VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int batched = 0;
+            for (Product product : catalog) {
+                insert.setLong(1, product.getProductId());
+                insert.setLong(2, product.getCategory().getCategoryId());
+                insert.setBigDecimal(3, product.getPrice());
+                insert.setBigDecimal(4, product.getDiscountPrice());
+                insert.setTimestamp(5, product.getCreatedAt());
+                insert.setTimestamp(6, product.getUpdatedAt());
+                insert.setString(7, product.getName());
+                insert.setString(8, product.getDescription());
+                insert.setString(9, product.getImageUrl());
+                insert.addBatch();
+                if (++batched % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> catalogIndex() {
+        return productCatalogIndex.query(CATEGORY, MIN_PRICE, MAX_PRICE, false, "name", true);
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> database() throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(FILTER_QUERY)) {
+            query.setLong(1, CATEGORY);
+            query.setBigDecimal(2, MIN_PRICE);
+            query.setBigDecimal(3, MAX_PRICE);
+            List<ProductResponseDto> result = new ArrayList<>();
+            try (ResultSet resultSet = query.executeQuery()) {
+                while (resultSet.next()) {
+                    Category category = new Category(resultSet.getLong(9), resultSet.getString(10), null);
+                    Product product = new Product(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                            resultSet.getBigDecimal(4), resultSet.getBigDecimal(5), resultSet.getString(6),
+                            resultSet.getTimestamp(7), resultSet.getTimestamp(8), category, null, null, null);
+                    result.add(mappers.convertToProductResponseDto(product));
+                }
+            }
+            return result;
+        }
+    }
+
+    static List<Product> generateCatalog(int size) {
+        Random random = new Random(42);
+        List<Category> categories = new ArrayList<>();
+        for (long categoryId = 1; categoryId <= CATEGORIES; categoryId++) {
+            categories.add(new Category(categoryId, "Category " + categoryId, null));
+        }
+        List<Product> catalog = new ArrayList<>(size);
+        long now = System.currentTimeMillis();
+        for (long productId = 1; productId <= size; productId++) {
+            BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(9900), 2);
+            BigDecimal discountPrice = random.nextInt(5) == 0 ? price.multiply(BigDecimal.valueOf(0.8)).setScale(2, java.math.RoundingMode.HALF_UP) : null;
+            Timestamp createdAt = new Timestamp(now - random.nextInt(365 * 24) * 3_600_000L);
+            catalog.add(new Product(productId, "Product " + Long.toString(random.nextLong() & Long.MAX_VALUE, 36),
+                    "Description of product " + productId, price, discountPrice,
+                    "https://example.com/images/" + productId + ".jpg", createdAt, createdAt,
+                    categories.get(random.nextInt(CATEGORIES)), null, null, null));
+        }
+        return catalog;
+    }
+}
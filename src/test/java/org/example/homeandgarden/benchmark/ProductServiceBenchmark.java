@@ -0,0 +1,91 @@
+package org.example.homeandgarden.benchmark;
+
+import org.example.homeandgarden.HomeAndGardenApplication;
+import org.example.homeandgarden.dto.querydto.ProductFilter;
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.index.ProductCatalogIndex;
+import org.example.homeandgarden.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService#getProductsByFilter} as {@code GET /products} calls it, inside the application context on an
+ * embedded H2 database seeded by the changelog plus {@code products} generated products. With {@code catalogIndex}
+ * off every call runs the repository query through Hibernate and maps the entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProductServiceBenchmark {
+
+    private static final long FIRST_GENERATED_ID = 1_000_000L;
+    private static final BigDecimal MIN_PRICE = BigDecimal.valueOf(10);
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(50);
+
+    @Param({"10000", "100000"})
+    private int products;
+
+    @Param({"true", "false"})
+    private boolean catalogIndex;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Long category;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HomeAndGardenApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:products" + products + catalogIndex,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.showSql=false",
+                "--management.endpoints.web.exposure.include=health",
+                "--catalog.index.enabled=" + catalogIndex,
+                "--logging.level.root=WARN");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Long> categories = jdbcTemplate.queryForList("SELECT CategoryID FROM Categories ORDER BY CategoryID", Long.class);
+        category = categories.getFirst();
+
+        List<Product> catalog = ProductCatalogIndexBenchmark.generateCatalog(products);
+        jdbcTemplate.batchUpdate("INSERT INTO Products (ProductID, CategoryID, Price, DiscountPrice, CreatedAt, UpdatedAt, Name, Description, ImageURL) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", catalog, 1000, (insert, product) -> {
+                    insert.setLong(1, FIRST_GENERATED_ID + product.getProductId());
+                    insert.setLong(2, categories.get((int) (product.getCategory().getCategoryId() % categories.size())));
+                    insert.setBigDecimal(3, product.getPrice());
+                    insert.setBigDecimal(4, product.getDiscountPrice());
+                    insert.setTimestamp(5, product.getCreatedAt());
+                    insert.setTimestamp(6, product.getUpdatedAt());
+                    insert.setString(7, product.getName());
+                    insert.setString(8, product.getDescription());
+                    insert.setString(9, product.getImageUrl());
+                });
+        context.getBean(ProductCatalogIndex.class).load();
+        productService = context.getBean(ProductService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> categoryAndPriceRange() {
+        return productService.getProductsByFilter(new ProductFilter(category, MIN_PRICE, MAX_PRICE, false, "price,asc"));
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> discountedByName() {
+        return productService.getProductsByFilter(new ProductFilter(category, null, null, true, null));
+    }
+}
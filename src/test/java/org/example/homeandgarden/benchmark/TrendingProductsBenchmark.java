@@ -0,0 +1,80 @@
+package org.example.homeandgarden.benchmark;
+
+import org.example.homeandgarden.dto.querydto.ProductTrendDto;
+import org.example.homeandgarden.entity.OrderItem;
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.index.TrendingProducts;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording a checkout in {@link TrendingProducts} and of answering {@code /products/trending} while orders
+ * keep arriving, over a catalog with a skewed popularity so that most products are rarely ordered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrendingProductsBenchmark {
+
+    private static final int ORDERS = 1024;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Param({"10000", "1000000"})
+    private int products;
+
+    private TrendingProducts trendingProducts;
+    private List<List<OrderItem>> orders;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trendingProducts = new TrendingProducts(100);
+        Random random = new Random(42);
+        orders = new ArrayList<>(ORDERS);
+        for (int order = 0; order < ORDERS; order++) {
+            List<OrderItem> orderItems = new ArrayList<>(ITEMS_PER_ORDER);
+            for (int item = 0; item < ITEMS_PER_ORDER; item++) {
+                // Squaring a uniform value makes low product ids far more popular than high ones.
+                double popularity = random.nextDouble();
+                orderItems.add(orderItem(1L + (long) (popularity * popularity * products), 1 + random.nextInt(3)));
+            }
+            orders.add(orderItems);
+        }
+        for (List<OrderItem> orderItems : orders) {
+            trendingProducts.record(orderItems);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        trendingProducts.record(orders.get(next++ & (ORDERS - 1)));
+    }
+
+    @Benchmark
+    public List<ProductTrendDto> top() {
+        return trendingProducts.top(TrendingProducts.Window.DAY, 10);
+    }
+
+    @Benchmark
+    public List<ProductTrendDto> recordThenTop() {
+        trendingProducts.record(orders.get(next++ & (ORDERS - 1)));
+        return trendingProducts.top(TrendingProducts.Window.WEEK, 10);
+    }
+
+    private static OrderItem orderItem(Long productId, int quantity) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setName("Product " + productId);
+        OrderItem orderItem = new OrderItem();
+        orderItem.setProduct(product);
+        orderItem.setQuantity(quantity);
+        return orderItem;
+    }
+}
@@ -3,6 +3,7 @@ package org.example.homeandgarden.controller;
 import org.example.homeandgarden.security.config.SecurityConfig;
 import org.example.homeandgarden.security.controller.AuthController;
 import org.example.homeandgarden.security.jwt.*;
+import org.example.homeandgarden.security.service.AuthRateLimiter;
 import org.example.homeandgarden.security.service.AuthService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,9 +20,10 @@ import org.springframework.web.context.WebApplicationContext;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, AuthRateLimiter.class})
 @WebMvcTest(AuthController.class)
 class AuthControllerTest {
 
@@ -84,6 +86,30 @@ class AuthControllerTest {
         verify(authServiceMock, times(1)).login(jwtRequest);
     }
 
+    @Test
+    void loginIsRateLimitedPerEmail() throws Exception {
+        JwtRequest limitedRequest = JwtRequest.builder()
+                .email("arneoswald@example.com")
+                .password("ClientPass1$trong")
+                .build();
+        when(authServiceMock.login(limitedRequest)).thenReturn(jwtResponse);
+
+        for (int attempt = 0; attempt < 5; attempt++) {
+            this.mockMvc.perform(post("/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(limitedRequest)))
+                    .andExpect(status().isOk());
+        }
+        this.mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(limitedRequest)))
+                .andDo(print())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        verify(authServiceMock, times(5)).login(limitedRequest);
+    }
+
     @Test
     void getNewAccessToken() throws Exception {
         when(authServiceMock.getAccessToken(requestRefresh.refreshToken)).thenReturn(jwtResponse);
@@ -25,7 +25,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -107,9 +107,9 @@ class CartControllerTest {
     @Test
     @WithMockUser(username = "Test User", roles = {"CLIENT","ADMINISTRATOR"})
     void getCartItems() throws Exception {
-        when(cartServiceMock.getCartItems(anyString())).thenReturn(cartItemResponseDtoSet);
+        when(cartServiceMock.getCartItems(anyLong())).thenReturn(cartItemResponseDtoSet);
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
         this.mockMvc.perform(get("/cart")
@@ -119,7 +119,26 @@ class CartControllerTest {
                 .andExpect(jsonPath("$..cartItemId").value(1))
                 .andExpect(jsonPath("$..product.productId").value(1));
 
-        verify(cartServiceMock, times(1)).getCartItems(jwtAuthentication.getEmail());
+        verify(cartServiceMock, times(1)).getCartItems(jwtAuthentication.getCartId());
+        verify(cartServiceMock, never()).findOrInsertCartId(anyLong());
+    }
+
+    @Test
+    void getCartItemsWithoutCartId() throws Exception {
+        when(cartServiceMock.findOrInsertCartId(1L)).thenReturn(7L);
+        when(cartServiceMock.getCartItems(7L)).thenReturn(cartItemResponseDtoSet);
+
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, null, List.of("CLIENT"));
+        jwtAuthentication.setAuthenticated(true);
+
+        this.mockMvc.perform(get("/cart")
+                .with(authentication(jwtAuthentication)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$..cartItemId").value(1));
+
+        verify(cartServiceMock, times(1)).findOrInsertCartId(1L);
+        verify(cartServiceMock, times(1)).getCartItems(7L);
     }
 
     @Test
@@ -129,14 +148,14 @@ class CartControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(cartServiceMock, never()).getCartItems(null);
+        verify(cartServiceMock, never()).getCartItems((Long) null);
     }
 
     @Test
     @WithMockUser(username = "Test User", roles = {"CLIENT","ADMINISTRATOR"})
     void insertCartItem() throws Exception  {
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
         mockMvc.perform(post("/cart")
@@ -146,7 +165,7 @@ class CartControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(cartServiceMock, times(1)).insertCartItem(cartItemRequestDto, jwtAuthentication.getEmail());
+        verify(cartServiceMock, times(1)).insertCartItem(cartItemRequestDto, jwtAuthentication.getCartId());
     }
 
     @Test
@@ -158,7 +177,7 @@ class CartControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(cartServiceMock, never()).insertCartItem(cartItemRequestDto, null);
+        verify(cartServiceMock, never()).insertCartItem(cartItemRequestDto, (Long) null);
     }
 
     @Test
@@ -167,7 +186,7 @@ class CartControllerTest {
 
         Long productId = 1L;
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
         mockMvc.perform(delete("/cart/{productId}", productId)
@@ -175,7 +194,7 @@ class CartControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(cartServiceMock, times(1)).deleteCartItemByProductId(jwtAuthentication.getEmail(), productId);
+        verify(cartServiceMock, times(1)).deleteCartItemByProductId(jwtAuthentication.getCartId(), productId);
     }
 
     @Test
@@ -186,6 +205,6 @@ class CartControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(cartServiceMock, never()).deleteCartItemByProductId(null, productId);
+        verify(cartServiceMock, never()).deleteCartItemByProductId((Long) null, productId);
     }
 }
\ No newline at end of file
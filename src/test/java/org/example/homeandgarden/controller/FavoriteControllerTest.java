@@ -27,7 +27,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -106,9 +106,9 @@ class FavoriteControllerTest {
     @WithMockUser(username = "Test User", roles = {"CLIENT", "ADMINISTRATOR"})
     void getFavorites() throws Exception {
 
-        when(favoriteServiceMock.getFavorites(any(String.class))).thenReturn(favoriteResponseDtoSet);
+        when(favoriteServiceMock.getFavorites(anyLong())).thenReturn(favoriteResponseDtoSet);
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
         this.mockMvc.perform(get("/favorites")
@@ -117,7 +117,21 @@ class FavoriteControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$..favoriteId").value(1));
 
-        verify(favoriteServiceMock, times(1)).getFavorites(jwtAuthentication.getEmail());
+        verify(favoriteServiceMock, times(1)).getFavorites(jwtAuthentication.getUserId());
+    }
+
+    @Test
+    void shouldNotGetFavoritesWithoutUserId() throws Exception {
+
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        jwtAuthentication.setAuthenticated(true);
+
+        this.mockMvc.perform(get("/favorites")
+                        .with(authentication(jwtAuthentication)))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(favoriteServiceMock);
     }
 
     @Test
@@ -127,14 +141,14 @@ class FavoriteControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(favoriteServiceMock, never()).getFavorites(null);
+        verify(favoriteServiceMock, never()).getFavorites((Long) null);
     }
 
     @Test
     @WithMockUser(username = "Test User", roles = {"CLIENT", "ADMINISTRATOR"})
     void insertFavorite() throws Exception {
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
         mockMvc.perform(post("/favorites")
@@ -144,7 +158,7 @@ class FavoriteControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(favoriteServiceMock, times(1)).insertFavorite(favoriteRequestDto, jwtAuthentication.getEmail());
+        verify(favoriteServiceMock, times(1)).insertFavorite(favoriteRequestDto, jwtAuthentication.getUserId());
     }
 
     @Test
@@ -156,7 +170,7 @@ class FavoriteControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(favoriteServiceMock, never()).insertFavorite(favoriteRequestDto, null);
+        verify(favoriteServiceMock, never()).insertFavorite(favoriteRequestDto, (Long) null);
     }
 
     @Test
@@ -165,7 +179,7 @@ class FavoriteControllerTest {
 
         Long productId = 1L;
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
         mockMvc.perform(MockMvcRequestBuilders.delete("/favorites/{productId}", productId)
@@ -173,7 +187,7 @@ class FavoriteControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(favoriteServiceMock, times(1)).deleteFavoriteByProductId( jwtAuthentication.getEmail(), productId);
+        verify(favoriteServiceMock, times(1)).deleteFavoriteByProductId( jwtAuthentication.getUserId(), productId);
     }
 
     @Test
@@ -185,6 +199,6 @@ class FavoriteControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(favoriteServiceMock, never()).deleteFavoriteByProductId( null, productId);
+        verify(favoriteServiceMock, never()).deleteFavoriteByProductId((Long) null, productId);
     }
 }
\ No newline at end of file
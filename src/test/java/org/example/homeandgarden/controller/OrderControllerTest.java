@@ -85,7 +85,7 @@ class OrderControllerTest {
                 .deliveryMethod(DeliveryMethod.COURIER_DELIVERY)
                 .status(Status.PAID)
                 .updatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .orderItemsSet(null)
+                .orderItems(null)
                 .userResponseDto(userResponseDto)
                 .build();
 
@@ -107,7 +107,7 @@ class OrderControllerTest {
                 .build();
 
         orderItemResponseDtoSet.add(orderItemResponseDto);
-        orderResponseDto.setOrderItemsSet(orderItemResponseDtoSet);
+        orderResponseDto.setOrderItems(List.copyOf(orderItemResponseDtoSet));
 
 //RequestDto
 
@@ -129,10 +129,10 @@ class OrderControllerTest {
     void getOrderById() throws Exception {
         Long orderId = 1L;
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
-        when(orderServiceMock.getOrderById(orderId, "arneoswald@example.com")).thenReturn(orderResponseDto);
+        when(orderServiceMock.getOrderById(orderId, 1L)).thenReturn(orderResponseDto);
         this.mockMvc.perform(get("/orders/{orderId}", orderId)
                         .with(authentication(jwtAuthentication)))
                 .andDo(print())
@@ -140,39 +140,75 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.orderId").value(1))
                 .andExpect(jsonPath("$.contactPhone").value("+496921441"));
 
-        verify(orderServiceMock, times(1)).getOrderById(orderId, "arneoswald@example.com");
+        verify(orderServiceMock, times(1)).getOrderById(orderId, 1L);
     }
 
     @Test
     void shouldNotGetOrderById() throws Exception {
         Long orderId = 1L;
-        when(orderServiceMock.getOrderById(orderId, null)).thenReturn(orderResponseDto);
+        when(orderServiceMock.getOrderById(orderId, (Long) null)).thenReturn(orderResponseDto);
         this.mockMvc.perform(get("/orders/{orderId}", orderId))
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(orderServiceMock, never()).getOrderById(orderId, null);
+        verify(orderServiceMock, never()).getOrderById(orderId, (Long) null);
     }
 
     @Test
     @WithMockUser(username = "Test User", roles = {"CLIENT", "ADMINISTRATOR"})
     void getOrderHistory() throws Exception {
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
-        Set<OrderResponseDto> orderResponseDtoSet = new HashSet<>();
-        orderResponseDtoSet.add(orderResponseDto);
+        OrderPageResponseDto orderPageResponseDto = new OrderPageResponseDto(List.of(orderResponseDto), 0, 20, false);
 
-        when(orderServiceMock.getOrderHistory("arneoswald@example.com")).thenReturn(orderResponseDtoSet);
+        when(orderServiceMock.getOrderHistory(1L, 0, 20)).thenReturn(orderPageResponseDto);
 
         this.mockMvc.perform(get("/orders/history")
                         .with(authentication(jwtAuthentication)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$..orderId").value(1))
-                .andExpect(jsonPath("$..contactPhone").value("+496921441"));
+                .andExpect(jsonPath("$.items[0].orderId").value(1))
+                .andExpect(jsonPath("$.items[0].contactPhone").value("+496921441"))
+                .andExpect(jsonPath("$.hasNext").value(false));
 
-        verify(orderServiceMock, times(1)).getOrderHistory(jwtAuthentication.getEmail());
+        verify(orderServiceMock, times(1)).getOrderHistory(1L, 0, 20);
+    }
+
+    @Test
+    @WithMockUser(username = "Test User", roles = {"CLIENT", "ADMINISTRATOR"})
+    void getOrderHistoryPageByUserId() throws Exception {
+
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
+        jwtAuthentication.setAuthenticated(true);
+
+        when(orderServiceMock.getOrderHistory(1L, 2, 5)).thenReturn(new OrderPageResponseDto(List.of(orderResponseDto), 2, 5, true));
+
+        this.mockMvc.perform(get("/orders/history")
+                        .param("page", "2")
+                        .param("size", "5")
+                        .with(authentication(jwtAuthentication)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].orderId").value(1))
+                .andExpect(jsonPath("$.page").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(orderServiceMock, times(1)).getOrderHistory(1L, 2, 5);
+    }
+
+    @Test
+    @WithMockUser(username = "Test User", roles = {"CLIENT", "ADMINISTRATOR"})
+    void shouldNotGetOrderHistoryWithInvalidSize() throws Exception {
+
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
+        jwtAuthentication.setAuthenticated(true);
+
+        this.mockMvc.perform(get("/orders/history")
+                        .param("size", "101")
+                        .with(authentication(jwtAuthentication)))
+                .andExpect(status().isBadRequest());
+
+        verify(orderServiceMock, never()).getOrderHistory(anyLong(), anyInt(), anyInt());
     }
 
     @Test
@@ -181,14 +217,31 @@ class OrderControllerTest {
         this.mockMvc.perform(get("/orders/history"))
                 .andExpect(status().isForbidden());
 
-        verify(orderServiceMock, never()).getOrderHistory(null);
+        verify(orderServiceMock, never()).getOrderHistory((Long) null, 0, 20);
     }
 
     @Test
     @WithMockUser(username = "Test User", roles = {"CLIENT", "ADMINISTRATOR"})
     void insertOrder() throws Exception {
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
+        jwtAuthentication.setAuthenticated(true);
+
+        mockMvc.perform(post("/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequestDto))
+                        .with(authentication(jwtAuthentication)))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        verify(orderServiceMock, times(1)).insertOrder(orderRequestDto, 1L, 1L);
+    }
+
+    @Test
+    @WithMockUser(username = "Test User", roles = {"CLIENT", "ADMINISTRATOR"})
+    void insertOrderWithoutCartId() throws Exception {
+
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, null, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
         mockMvc.perform(post("/orders")
@@ -198,7 +251,7 @@ class OrderControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(orderServiceMock, times(1)).insertOrder(orderRequestDto, jwtAuthentication.getEmail());
+        verify(orderServiceMock, times(1)).insertOrder(orderRequestDto, 1L, null);
     }
 
     @Test
@@ -210,7 +263,7 @@ class OrderControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(orderServiceMock, never()).insertOrder(orderRequestDto, null);
+        verify(orderServiceMock, never()).insertOrder(orderRequestDto, null, null);
     }
 
     @Test
@@ -238,7 +291,7 @@ class OrderControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(orderServiceMock, never()).cancelOrder(orderId, null);
+        verify(orderServiceMock, never()).cancelOrder(orderId, (Long) null);
     }
 
     @Test
@@ -246,7 +299,7 @@ class OrderControllerTest {
     void cancelOrder() throws Exception {
         Long orderId = 1L;
 
-        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", List.of("CLIENT"));
+        JwtAuthentication jwtAuthentication = new JwtAuthentication("arneoswald@example.com", 1L, 1L, List.of("CLIENT"));
         jwtAuthentication.setAuthenticated(true);
 
         mockMvc.perform(put("/orders/cancel/{orderId}", orderId)
@@ -254,7 +307,7 @@ class OrderControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(orderServiceMock, times(1)).cancelOrder(orderId, "arneoswald@example.com");
+        verify(orderServiceMock, times(1)).cancelOrder(orderId, 1L);
     }
 
     @Test
@@ -265,6 +318,6 @@ class OrderControllerTest {
                 .andDo(print())
                 .andExpect(status().isForbidden());
 
-        verify(orderServiceMock, never()).cancelOrder(orderId, null);
+        verify(orderServiceMock, never()).cancelOrder(orderId, (Long) null);
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package org.example.homeandgarden.controller;
 
 import org.example.homeandgarden.dto.querydto.ProductCountDto;
+import org.example.homeandgarden.dto.querydto.ProductFilter;
 import org.example.homeandgarden.dto.querydto.ProductPendingDto;
 import org.example.homeandgarden.dto.querydto.ProductProfitDto;
+import org.example.homeandgarden.dto.querydto.ProductTrendDto;
 import org.example.homeandgarden.dto.requestdto.ProductRequestDto;
 import org.example.homeandgarden.dto.responsedto.CategoryResponseDto;
+import org.example.homeandgarden.dto.responsedto.ProductPageResponseDto;
 import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
 import org.example.homeandgarden.security.config.SecurityConfig;
 import org.example.homeandgarden.security.jwt.JwtProvider;
@@ -19,17 +22,20 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @Import(SecurityConfig.class)
 @WebMvcTest(ProductController.class)
@@ -195,6 +201,17 @@ class ProductControllerTest {
         verify(productServiceMock, times(1)).getMaxDiscountProduct();
     }
 
+    @Test
+    void getTopDiscountProducts() throws Exception {
+        when(productServiceMock.getTopDiscountProducts(3)).thenReturn(List.of(productResponseDto));
+        mockMvc.perform(get("/products/topDiscounts?limit=3"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$..productId").value(1));
+
+        verify(productServiceMock, times(1)).getTopDiscountProducts(3);
+    }
+
 
 
     @Test
@@ -205,7 +222,9 @@ class ProductControllerTest {
         Boolean hasDiscount = true;
         String sortValues = "name,asc";
 
-        when(productServiceMock.getProductsByFilter(categoryId, minPrice, maxPrice, hasDiscount, sortValues))
+        ProductFilter filter = new ProductFilter(categoryId, minPrice, maxPrice, hasDiscount, sortValues);
+
+        when(productServiceMock.getProductsByFilter(filter))
                 .thenReturn((List.of(productResponseDto)));
         this.mockMvc.perform(get("/products?category=1&minPrice=0.0&maxPrice=100.0&discount=true&sort=name,asc"))
                 .andDo(print())
@@ -213,7 +232,62 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$..productId").value(1))
                 .andExpect(jsonPath("$..price").value(100.0));
 
-        verify(productServiceMock, times(1)).getProductsByFilter(categoryId, minPrice, maxPrice, hasDiscount, sortValues);
+        verify(productServiceMock, times(1)).getProductsByFilter(filter);
+    }
+
+    @Test
+    void getProductsWithInvalidSort() throws Exception {
+        this.mockMvc.perform(get("/products?sort=weight,asc"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productServiceMock);
+    }
+
+    @Test
+    void streamProducts() throws Exception {
+        CountDownLatch dispatched = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            dispatched.await();
+            Consumer<ProductResponseDto> consumer = invocation.getArgument(1);
+            consumer.accept(productResponseDto);
+            consumer.accept(productResponseDto);
+            return null;
+        }).when(productServiceMock).streamProductsByFilter(eq(new ProductFilter(1L, null, null, false, "price,asc")), any());
+        MvcResult mvcResult = this.mockMvc.perform(get("/products/stream?category=1&sort=price,asc"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        dispatched.countDown();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].productId").value(1))
+                .andExpect(jsonPath("$[1].price").value(100.0));
+    }
+
+    @Test
+    void getProductsPage() throws Exception {
+        when(productServiceMock.getProductsPageByFilter(new ProductFilter(1L, null, null, false, "price,asc"), "cHJpY2UsYXNjOjE6PTEwMDAw", 10))
+                .thenReturn(new ProductPageResponseDto(List.of(productResponseDto), "cHJpY2UsYXNjOjI6PTEwMDAw"));
+        this.mockMvc.perform(get("/products/page?category=1&sort=price,asc&after=cHJpY2UsYXNjOjE6PTEwMDAw&limit=10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items..productId").value(1))
+                .andExpect(jsonPath("$.next").value("cHJpY2UsYXNjOjI6PTEwMDAw"));
+
+        verify(productServiceMock, times(1)).getProductsPageByFilter(new ProductFilter(1L, null, null, false, "price,asc"), "cHJpY2UsYXNjOjE6PTEwMDAw", 10);
+    }
+
+    @Test
+    void getProductsPageWithInvalidLimit() throws Exception {
+        this.mockMvc.perform(get("/products/page?limit=500"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productServiceMock);
     }
 
     @Test
@@ -258,6 +332,35 @@ class ProductControllerTest {
         verify(productServiceMock, never()).getTop10Products(status);
     }
 
+    @Test
+    @WithMockUser(username = "Test User", roles = {"ADMINISTRATOR"})
+    void getTrendingProducts() throws Exception {
+        ProductTrendDto productTrendDto = ProductTrendDto.builder()
+                .productId(1L)
+                .name("Test Name")
+                .count(12L)
+                .error(0L)
+                .build();
+
+        when(productServiceMock.getTrendingProducts("1h", 5)).thenReturn(List.of(productTrendDto));
+        this.mockMvc.perform(get("/products/trending?window=1h&limit=5"))
+                .andDo(print())
+                .andExpect(status().isOk()).andExpect(jsonPath("$..productId").value(1))
+                .andExpect(jsonPath("$..count").value(12));
+
+        verify(productServiceMock, times(1)).getTrendingProducts("1h", 5);
+    }
+
+    @Test
+    @WithMockUser(username = "Test User", roles = {"ADMINISTRATOR"})
+    void shouldNotGetTrendingProductsForUnknownWindow() throws Exception {
+        this.mockMvc.perform(get("/products/trending?window=1y"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+
+        verify(productServiceMock, never()).getTrendingProducts(anyString(), anyInt());
+    }
+
     @Test
     @WithMockUser(username = "Test User", roles = {"ADMINISTRATOR"})
     void getProductPending() throws Exception {
@@ -279,6 +382,44 @@ class ProductControllerTest {
         verify(productServiceMock, times(1)).findProductPending(day);
     }
 
+    @Test
+    @WithMockUser(username = "Test User", roles = {"ADMINISTRATOR"})
+    void streamProductPending() throws Exception {
+        ProductPendingDto productPendingDto = ProductPendingDto.builder()
+                .productId(1L)
+                .name("Test name")
+                .count(23)
+                .build();
+
+        CountDownLatch dispatched = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            dispatched.await();
+            Consumer<ProductPendingDto> consumer = invocation.getArgument(1);
+            consumer.accept(productPendingDto);
+            return null;
+        }).when(productServiceMock).streamProductPending(eq(55), any());
+        MvcResult mvcResult = this.mockMvc.perform(get("/products/pending/stream?day=55"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        dispatched.countDown();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId").value(1))
+                .andExpect(jsonPath("$[0].count").value(23));
+    }
+
+    @Test
+    @WithMockUser(username = "Test User", roles = {"CLIENT"})
+    void shouldNotStreamProductPending() throws Exception {
+        this.mockMvc.perform(get("/products/pending/stream?day=55"))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+
+        verify(productServiceMock, never()).streamProductPending(any(), any());
+    }
+
     @Test
     @WithMockUser(username = "Test User", roles = {"CLIENT"})
     void shouldNotGetProductPending() throws Exception {
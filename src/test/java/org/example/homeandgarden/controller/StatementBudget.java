@@ -0,0 +1,25 @@
+package org.example.homeandgarden.controller;
+
+import org.example.homeandgarden.config.RequestStatementsFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the number of SQL statements a MockMvc request executed, as counted by {@link RequestStatementsFilter}:
+ * {@code mockMvc.perform(get("/cart")).andExpect(StatementBudget.atMost(2))}.
+ */
+final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    static ResultMatcher atMost(int statements) {
+        return result -> {
+            Integer executed = (Integer) result.getRequest().getAttribute(RequestStatementsFilter.STATEMENTS_ATTRIBUTE);
+            assertNotNull(executed, "The request did not pass through RequestStatementsFilter.");
+            assertTrue(executed <= statements, result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                    + " executed " + executed + " statements, over its budget of " + statements + ".");
+        };
+    }
+}
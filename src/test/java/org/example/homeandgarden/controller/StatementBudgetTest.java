@@ -0,0 +1,128 @@
+package org.example.homeandgarden.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.homeandgarden.dto.responsedto.UserResponseDto;
+import org.example.homeandgarden.entity.enums.Role;
+import org.example.homeandgarden.security.jwt.JwtProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the read endpoints, run against the whole application on the embedded database seeded by the
+ * changelog, so that an N+1 load introduced anywhere between the controller and the repositories fails the build.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class StatementBudgetTest {
+
+    private static final String CLIENT_EMAIL = "sophiaphilipp@example.com";
+    private static final String ADMINISTRATOR_EMAIL = "irmgardriemer@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String client;
+    private String administrator;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        client = bearer(CLIENT_EMAIL, Role.CLIENT);
+        administrator = bearer(ADMINISTRATOR_EMAIL, Role.ADMINISTRATOR);
+        orderId = jdbcTemplate.queryForObject("SELECT MIN(o.OrderID) FROM Orders o JOIN Users u ON u.UserID = o.UserID WHERE u.Email = ?",
+                Long.class, CLIENT_EMAIL);
+    }
+
+    @Test
+    void catalog() throws Exception {
+        mockMvc.perform(get("/categories")).andExpect(status().isOk()).andExpect(StatementBudget.atMost(1));
+        mockMvc.perform(get("/products/{id}", 1)).andExpect(status().isOk()).andExpect(StatementBudget.atMost(1));
+        mockMvc.perform(get("/products").param("category", "1").param("sort", "price,asc"))
+                .andExpect(status().isOk()).andExpect(StatementBudget.atMost(0));
+        mockMvc.perform(get("/products/page").param("limit", "5")).andExpect(status().isOk()).andExpect(StatementBudget.atMost(0));
+        mockMvc.perform(get("/products/topDiscounts")).andExpect(status().isOk()).andExpect(StatementBudget.atMost(0));
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/products/stream").param("category", "1")).andReturn()))
+                .andExpect(status().isOk()).andExpect(StatementBudget.atMost(0));
+    }
+
+    @Test
+    void clientEndpoints() throws Exception {
+        mockMvc.perform(get("/cart").header("Authorization", client)).andExpect(status().isOk()).andExpect(StatementBudget.atMost(1));
+        mockMvc.perform(get("/favorites").header("Authorization", client)).andExpect(status().isOk()).andExpect(StatementBudget.atMost(1));
+        mockMvc.perform(get("/orders/history").header("Authorization", client))
+                .andExpect(status().isOk()).andExpect(StatementBudget.atMost(2));
+        mockMvc.perform(get("/orders/{orderId}", orderId).header("Authorization", client))
+                .andExpect(status().isOk()).andExpect(StatementBudget.atMost(1));
+    }
+
+    @Test
+    void administratorEndpoints() throws Exception {
+        mockMvc.perform(get("/products/top10").param("status", "PAID").header("Authorization", administrator))
+                .andExpect(status().isOk()).andExpect(StatementBudget.atMost(1));
+        mockMvc.perform(get("/products/pending").param("day", "10").header("Authorization", administrator))
+                .andExpect(status().isOk()).andExpect(StatementBudget.atMost(1));
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/products/pending/stream").param("day", "10")
+                        .header("Authorization", administrator)).andReturn()))
+                .andExpect(status().isOk()).andExpect(StatementBudget.atMost(1));
+        mockMvc.perform(get("/users").param("email", CLIENT_EMAIL).header("Authorization", administrator))
+                .andExpect(status().isOk()).andExpect(StatementBudget.atMost(2));
+    }
+
+    @Test
+    void recordsStatementsPerEndpoint() throws Exception {
+        mockMvc.perform(get("/cart").header("Authorization", client)).andExpect(status().isOk());
+
+        assertTrue(meterRegistry.get("http.server.requests.statements").tags("method", "GET", "uri", "/cart", "status", "200")
+                .summary().count() > 0);
+    }
+
+    @Test
+    void recordsStatementsOfStreamedResponses() throws Exception {
+        DistributionSummary summary = DistributionSummary.builder("http.server.requests.statements").baseUnit("statements")
+                .tags("method", "GET", "uri", "/products/pending/stream", "status", "200").register(meterRegistry);
+        long count = summary.count();
+        double statements = summary.totalAmount();
+
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/products/pending/stream").param("day", "10")
+                        .header("Authorization", administrator)).andReturn()))
+                .andExpect(status().isOk());
+
+        assertEquals(count + 1, summary.count());
+        assertEquals(statements + 1, summary.totalAmount());
+    }
+
+    private String bearer(String email, Role role) {
+        Map<String, Object> user = jdbcTemplate.queryForMap(
+                "SELECT u.UserID, u.Name, c.CartID FROM Users u LEFT JOIN Cart c ON c.UserID = u.UserID WHERE u.Email = ?", email);
+        return "Bearer " + jwtProvider.generateAccessToken(UserResponseDto.builder()
+                .userId(((Number) user.get("UserID")).longValue())
+                .email(email)
+                .name((String) user.get("Name"))
+                .role(role)
+                .build(), user.get("CartID") == null ? null : ((Number) user.get("CartID")).longValue());
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.homeandgarden.datagen;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class DatasetGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void generate() {
+        long usersBefore = count("SELECT COUNT(*) FROM Users");
+        long ordersBefore = count("SELECT COUNT(*) FROM Orders");
+        long orderItemsBefore = count("SELECT COUNT(*) FROM OrderItems");
+
+        DatasetGenerator.Result result = new DatasetGenerator(jdbcTemplate, new TransactionTemplate(transactionManager)).generate(
+                DatasetGenerator.Spec.builder()
+                        .users(250)
+                        .products(100)
+                        .ordersPerUser(2)
+                        .itemsPerOrder(2.5)
+                        .cartItemsPerUser(1.5)
+                        .favoritesPerUser(2)
+                        .days(60)
+                        .passwordHash("hash")
+                        .batchSize(100)
+                        .seed(7)
+                        .build(), written -> { });
+
+        assertEquals(usersBefore + 250, count("SELECT COUNT(*) FROM Users"));
+        assertEquals(ordersBefore + result.orders(), count("SELECT COUNT(*) FROM Orders"));
+        assertEquals(orderItemsBefore + result.orderItems(), count("SELECT COUNT(*) FROM OrderItems"));
+        assertTrue(result.orders() > 250 && result.orderItems() > result.orders());
+        assertEquals(DatasetGenerator.email(result.userId(249)),
+                jdbcTemplate.queryForObject("SELECT u.Email FROM Users u JOIN Cart c ON c.UserID = u.UserID WHERE c.CartID = ?",
+                        String.class, result.cartId(249)));
+
+        for (String table : new String[]{"Users:UserID", "Products:ProductID", "Cart:CartID", "CartItems:CartItemID",
+                "Favorites:FavoriteID", "Orders:OrderID", "OrderItems:OrderItemID"}) {
+            String[] tableAndId = table.split(":");
+            assertTrue(count("SELECT MAX(" + tableAndId[1] + ") FROM " + tableAndId[0])
+                    < count("SELECT NextValue FROM IdGenerators WHERE GeneratorName = '" + tableAndId[0] + "'"), tableAndId[0]);
+        }
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT UserID, ProductID FROM Favorites WHERE UserID >= " + result.firstUserId() +
+                " GROUP BY UserID, ProductID HAVING COUNT(*) > 1) duplicates"));
+        assertEquals(0, count("SELECT COUNT(*) FROM Orders WHERE UserID >= " + result.firstUserId() +
+                " AND CreatedAt < DATEADD('DAY', -15, CURRENT_TIMESTAMP) AND Status NOT IN ('DELIVERED', 'CANCELED')"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
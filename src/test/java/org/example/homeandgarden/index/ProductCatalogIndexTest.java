@@ -0,0 +1,155 @@
+package org.example.homeandgarden.index;
+
+import org.example.homeandgarden.dto.querydto.ProductCursor;
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.example.homeandgarden.entity.Category;
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.mapper.Mappers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCatalogIndexTest {
+
+    private static final List<String> SORT_FIELDS = List.of("name", "price", "discountPrice", "createdAt", "updatedAt");
+
+    private ProductCatalogIndex productCatalogIndex;
+    private Map<Long, Product> catalog;
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        productCatalogIndex = new ProductCatalogIndex(null, new Mappers(), true);
+        catalog = new TreeMap<>();
+        random = new Random(42);
+        for (long id = 1; id <= 300; id++) {
+            catalog.put(id, randomProduct(id));
+        }
+        productCatalogIndex.rebuild(catalog.values());
+    }
+
+    @Test
+    void queryMatchesDatabaseSemantics() {
+        assertTrue(productCatalogIndex.isReady());
+        assertEquals(300, productCatalogIndex.size());
+        assertQueriesMatchCatalog();
+    }
+
+    @Test
+    void incrementalUpdatesMatchFullRebuild() {
+        for (int i = 0; i < 100; i++) {
+            long id = 1 + random.nextInt(350);
+            if (random.nextInt(4) == 0) {
+                catalog.remove(id);
+                productCatalogIndex.remove(id);
+            } else {
+                Product product = randomProduct(id);
+                catalog.put(id, product);
+                productCatalogIndex.put(product);
+            }
+        }
+        assertEquals(catalog.size(), productCatalogIndex.size());
+        assertQueriesMatchCatalog();
+    }
+
+    @Test
+    void removeCategory() {
+        productCatalogIndex.removeCategory(2L);
+        catalog.values().removeIf(product -> product.getCategory().getCategoryId() == 2L);
+
+        assertTrue(productCatalogIndex.query(2L, BigDecimal.ZERO, BigDecimal.valueOf(1000), false, "name", true).isEmpty());
+        assertQueriesMatchCatalog();
+    }
+
+    @Test
+    void queryIsInclusiveOnPriceBounds() {
+        Product product = catalog.get(1L);
+        List<ProductResponseDto> result = productCatalogIndex.query(null, product.getPrice(), product.getPrice(), false, "price", true);
+
+        assertFalse(result.isEmpty());
+        assertTrue(result.stream().allMatch(dto -> dto.getPrice().compareTo(product.getPrice()) == 0));
+        assertTrue(result.stream().anyMatch(dto -> dto.getProductId().equals(product.getProductId())));
+    }
+
+    @Test
+    void queryAfterPagesThroughFullResult() {
+        BigDecimal minPrice = BigDecimal.valueOf(5);
+        BigDecimal maxPrice = BigDecimal.valueOf(50);
+        for (Long category : Arrays.asList(null, 2L)) {
+            for (String sortField : SORT_FIELDS) {
+                for (boolean ascending : new boolean[]{true, false}) {
+                    List<Long> actual = new ArrayList<>();
+                    ProductCursor cursor = null;
+                    List<ProductResponseDto> page;
+                    do {
+                        page = productCatalogIndex.queryAfter(category, minPrice, maxPrice, false, sortField, ascending, cursor, 7);
+                        page.forEach(dto -> actual.add(dto.getProductId()));
+                        if (!page.isEmpty()) {
+                            cursor = ProductCursor.decode(ProductCursor.after(page.getLast(), sortField, ascending).encode());
+                        }
+                    } while (page.size() == 7);
+                    assertEquals(expected(category, minPrice, maxPrice, false, sortField, ascending), actual, "Pages " + category + "/" + sortField + "," + ascending);
+                }
+            }
+        }
+    }
+
+    private void assertQueriesMatchCatalog() {
+        for (Long category : Arrays.asList(null, 1L, 2L, 3L, 99L)) {
+            for (boolean hasDiscount : new boolean[]{false, true}) {
+                for (String sortField : SORT_FIELDS) {
+                    for (boolean ascending : new boolean[]{true, false}) {
+                        BigDecimal minPrice = BigDecimal.valueOf(random.nextInt(200), 1);
+                        BigDecimal maxPrice = minPrice.add(BigDecimal.valueOf(random.nextInt(600), 1));
+                        List<Long> expected = expected(category, minPrice, maxPrice, hasDiscount, sortField, ascending);
+                        List<Long> actual = productCatalogIndex.query(category, minPrice, maxPrice, hasDiscount, sortField, ascending)
+                                .stream().map(ProductResponseDto::getProductId).toList();
+                        assertEquals(expected, actual, "Query " + category + "/" + minPrice + "-" + maxPrice + "/" + hasDiscount + "/" + sortField + "," + ascending);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Long> expected(Long category, BigDecimal minPrice, BigDecimal maxPrice, boolean hasDiscount, String sortField, boolean ascending) {
+        Comparator<Product> order = switch (sortField) {
+            case "name" -> Comparator.comparing(Product::getName, String.CASE_INSENSITIVE_ORDER);
+            case "price" -> Comparator.comparing(Product::getPrice);
+            case "discountPrice" -> nullsFirst(Product::getDiscountPrice);
+            case "createdAt" -> nullsFirst(Product::getCreatedAt);
+            default -> nullsFirst(Product::getUpdatedAt);
+        };
+        order = order.thenComparing(Product::getProductId);
+        if (!ascending) {
+            order = order.reversed();
+        }
+        return catalog.values().stream()
+                .filter(product -> category == null || product.getCategory().getCategoryId() == category)
+                .filter(product -> product.getPrice().compareTo(minPrice) >= 0 && product.getPrice().compareTo(maxPrice) <= 0)
+                .filter(product -> !hasDiscount || product.getDiscountPrice() != null)
+                .sorted(order)
+                .map(Product::getProductId)
+                .toList();
+    }
+
+    private static <T extends Comparable<T>> Comparator<Product> nullsFirst(Function<Product, T> key) {
+        return Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private Product randomProduct(long id) {
+        BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(6000), 2);
+        BigDecimal discountPrice = random.nextBoolean() ? null : price.subtract(BigDecimal.valueOf(random.nextInt(100), 2));
+        long categoryId = 1 + random.nextInt(4);
+        Timestamp createdAt = new Timestamp(1_700_000_000_000L + random.nextInt(50) * 60_000L);
+        Timestamp updatedAt = random.nextInt(5) == 0 ? null : new Timestamp(1_700_000_000_000L + random.nextInt(50) * 60_000L);
+        String name = (random.nextBoolean() ? "garden " : "Garden ") + (char) ('a' + random.nextInt(26));
+        return new Product(id, name, "Description", price, discountPrice, "http://localhost/img/" + id + ".jpg",
+                createdAt, updatedAt, new Category(categoryId, "Category " + categoryId, null), null, null, null);
+    }
+}
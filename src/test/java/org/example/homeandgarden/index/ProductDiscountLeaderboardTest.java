@@ -0,0 +1,71 @@
+package org.example.homeandgarden.index;
+
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.example.homeandgarden.entity.Category;
+import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.mapper.Mappers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductDiscountLeaderboardTest {
+
+    private ProductDiscountLeaderboard productDiscountLeaderboard;
+
+    @BeforeEach
+    void setUp() {
+        productDiscountLeaderboard = new ProductDiscountLeaderboard(null, new Mappers(), true);
+        productDiscountLeaderboard.rebuild(List.of(
+                product(1L, "10.00", "8.00", 1L),
+                product(2L, "20.00", "10.00", 1L),
+                product(3L, "9.00", "4.50", 2L),
+                product(4L, "30.00", null, 2L),
+                product(5L, "12.00", "11.00", 2L)));
+    }
+
+    @Test
+    void maxDiscountReturnsAllTies() {
+        assertTrue(productDiscountLeaderboard.isReady());
+        assertEquals(List.of(2L, 3L), ids(productDiscountLeaderboard.maxDiscount()));
+    }
+
+    @Test
+    void topIsOrderedByDiscount() {
+        assertEquals(List.of(2L, 3L, 1L, 5L), ids(productDiscountLeaderboard.top(10)));
+        assertEquals(List.of(2L, 3L), ids(productDiscountLeaderboard.top(2)));
+    }
+
+    @Test
+    void updatesFollowProductChanges() {
+        productDiscountLeaderboard.put(product(4L, "30.00", "10.00", 2L));
+        assertEquals(List.of(4L), ids(productDiscountLeaderboard.maxDiscount()));
+
+        productDiscountLeaderboard.put(product(4L, "30.00", null, 2L));
+        productDiscountLeaderboard.remove(2L);
+        assertEquals(List.of(3L), ids(productDiscountLeaderboard.maxDiscount()));
+
+        productDiscountLeaderboard.removeCategory(2L);
+        assertEquals(List.of(1L), ids(productDiscountLeaderboard.top(10)));
+
+        productDiscountLeaderboard.remove(1L);
+        assertTrue(productDiscountLeaderboard.maxDiscount().isEmpty());
+    }
+
+    private static List<Long> ids(List<ProductResponseDto> products) {
+        return products.stream().map(ProductResponseDto::getProductId).toList();
+    }
+
+    private static Product product(Long id, String price, String discountPrice, long categoryId) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setName("Product " + id);
+        product.setPrice(new BigDecimal(price));
+        product.setDiscountPrice(discountPrice == null ? null : new BigDecimal(discountPrice));
+        product.setCategory(new Category(categoryId, "Category " + categoryId, null));
+        return product;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.homeandgarden.index;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.homeandgarden.dto.responsedto.CartItemResponseDto;
+import org.example.homeandgarden.dto.responsedto.CategoryResponseDto;
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductJsonFragmentsTest {
+
+    private ProductJsonFragments productJsonFragments;
+    private ObjectMapper objectMapper;
+    private ObjectMapper plainObjectMapper;
+
+    @BeforeEach
+    void setUp() {
+        productJsonFragments = new ProductJsonFragments(1000, new SimpleMeterRegistry());
+        objectMapper = new ObjectMapper().registerModule(productJsonFragments.module());
+        plainObjectMapper = new ObjectMapper();
+    }
+
+    @Test
+    void writesTheSameJsonAsTheBeanSerializer() throws Exception {
+        List<ProductResponseDto> products = List.of(product(1L, "10.00", null), product(2L, "20.00", "15.50"), product(3L, "5.00", null));
+        CartItemResponseDto cartItem = CartItemResponseDto.builder().cartItemId(7L).productResponseDto(products.get(1)).quantity(2).build();
+
+        for (int round = 0; round < 2; round++) {
+            assertEquals(plainObjectMapper.writeValueAsString(products), objectMapper.writeValueAsString(products));
+            assertEquals(plainObjectMapper.writeValueAsString(cartItem), objectMapper.writeValueAsString(cartItem));
+            assertArrayEquals(plainObjectMapper.writeValueAsBytes(products), objectMapper.writeValueAsBytes(products));
+        }
+        assertEquals(plainObjectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(products),
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(products));
+        assertEquals(plainObjectMapper.convertValue(cartItem, Map.class), objectMapper.convertValue(cartItem, Map.class));
+    }
+
+    @Test
+    void encodesEachProductVersionOnce() {
+        AtomicInteger encoded = new AtomicInteger();
+        Function<ProductResponseDto, String> encoder = product -> {
+            encoded.incrementAndGet();
+            return "{\"productId\":" + product.getProductId() + ",\"price\":" + product.getPrice() + "}";
+        };
+        ProductResponseDto product = product(1L, "10.00", null);
+
+        productJsonFragments.fragmentOf(product, encoder);
+        productJsonFragments.fragmentOf(product, encoder);
+        productJsonFragments.fragmentOf(product(1L, "10.00", null), encoder);
+        assertEquals(1, encoded.get());
+
+        assertEquals("{\"productId\":1,\"price\":12.00}", productJsonFragments.fragmentOf(product(1L, "12.00", null), encoder).getValue());
+        assertEquals(2, encoded.get());
+
+        productJsonFragments.invalidate(1L);
+        productJsonFragments.fragmentOf(product(1L, "12.00", null), encoder);
+        productJsonFragments.invalidateAll();
+        productJsonFragments.fragmentOf(product(1L, "12.00", null), encoder);
+        assertEquals(4, encoded.get());
+    }
+
+    @Test
+    void writesTheCurrentVersionOfAChangedProduct() throws Exception {
+        objectMapper.writeValueAsString(List.of(product(1L, "10.00", null)));
+
+        ProductResponseDto changed = product(1L, "10.00", "8.00");
+
+        assertEquals(plainObjectMapper.writeValueAsString(List.of(changed)), objectMapper.writeValueAsString(List.of(changed)));
+    }
+
+    private static ProductResponseDto product(Long id, String price, String discountPrice) {
+        return ProductResponseDto.builder()
+                .productId(id)
+                .name("Product " + id + " äöü \"quoted\"")
+                .description("Description " + id)
+                .price(new BigDecimal(price))
+                .discountPrice(discountPrice == null ? null : new BigDecimal(discountPrice))
+                .createdAt(Timestamp.valueOf("2024-03-01 10:15:30"))
+                .imageUrl("https://example.com/" + id + ".jpg")
+                .categoryResponseDto(new CategoryResponseDto(2L, "Garden"))
+                .build();
+    }
+}
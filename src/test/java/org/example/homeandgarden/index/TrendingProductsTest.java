@@ -0,0 +1,154 @@
+package org.example.homeandgarden.index;
+
+import org.example.homeandgarden.dto.querydto.ProductTrendDto;
+import org.example.homeandgarden.entity.OrderItem;
+import org.example.homeandgarden.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingProductsTest {
+
+    private MutableClock clock;
+    private TrendingProducts trendingProducts;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-06T10:00:00Z"));
+        trendingProducts = new TrendingProducts(3, clock);
+    }
+
+    @Test
+    void topIsOrderedByUnits() {
+        trendingProducts.record(List.of(orderItem(1L, 2), orderItem(2L, 5)));
+        trendingProducts.record(List.of(orderItem(1L, 4), orderItem(3L, 1)));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(trendingProducts.top(TrendingProducts.Window.HOUR, 10)));
+        assertEquals(List.of(1L, 2L), ids(trendingProducts.top(TrendingProducts.Window.WEEK, 2)));
+        ProductTrendDto first = trendingProducts.top(TrendingProducts.Window.DAY, 1).getFirst();
+        assertEquals(6L, first.getCount());
+        assertEquals(0L, first.getError());
+        assertEquals("Product 1", first.getName());
+    }
+
+    @Test
+    void ordersLeaveTheWindowOnceItHasPassed() {
+        trendingProducts.record(List.of(orderItem(1L, 3)));
+        clock.advance(Duration.ofMinutes(30));
+        trendingProducts.record(List.of(orderItem(2L, 1)));
+
+        assertEquals(List.of(1L, 2L), ids(trendingProducts.top(TrendingProducts.Window.HOUR, 10)));
+
+        clock.advance(Duration.ofMinutes(45));
+        assertEquals(List.of(2L), ids(trendingProducts.top(TrendingProducts.Window.HOUR, 10)));
+        assertEquals(List.of(1L, 2L), ids(trendingProducts.top(TrendingProducts.Window.DAY, 10)));
+
+        clock.advance(Duration.ofDays(1));
+        assertTrue(trendingProducts.top(TrendingProducts.Window.DAY, 10).isEmpty());
+        assertEquals(List.of(1L, 2L), ids(trendingProducts.top(TrendingProducts.Window.WEEK, 10)));
+
+        clock.advance(Duration.ofDays(7));
+        assertTrue(trendingProducts.top(TrendingProducts.Window.WEEK, 10).isEmpty());
+    }
+
+    @Test
+    void heavyHittersSurviveManyRareProducts() {
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (long productId = 100; productId < 200; productId++) {
+            orderItems.add(orderItem(1L, 10));
+            orderItems.add(orderItem(productId, 1));
+        }
+        trendingProducts.record(orderItems);
+
+        List<ProductTrendDto> top = trendingProducts.top(TrendingProducts.Window.HOUR, 10);
+        assertEquals(3, top.size());
+        assertEquals(1L, top.getFirst().getProductId());
+        assertEquals(1000L, top.getFirst().getCount());
+        for (ProductTrendDto product : top.subList(1, top.size())) {
+            assertTrue(product.getCount() - product.getError() <= 1, product.toString());
+        }
+    }
+
+    @Test
+    void mergedCountsBoundTheTrueCount() {
+        Random random = new Random(42);
+        Map<Long, Long> units = new HashMap<>();
+        for (int bucket = 0; bucket < 8; bucket++) {
+            List<OrderItem> orderItems = new ArrayList<>();
+            for (int item = 0; item < 20; item++) {
+                long productId = 1 + random.nextInt(8);
+                int quantity = 1 + random.nextInt(5);
+                orderItems.add(orderItem(productId, quantity));
+                units.merge(productId, (long) quantity, Long::sum);
+            }
+            trendingProducts.record(orderItems);
+            clock.advance(Duration.ofMinutes(5));
+        }
+
+        for (ProductTrendDto product : trendingProducts.top(TrendingProducts.Window.HOUR, 10)) {
+            long trueCount = units.getOrDefault(product.getProductId(), 0L);
+            assertTrue(product.getCount() >= trueCount, product + " undercounts " + trueCount);
+            assertTrue(product.getCount() - product.getError() <= trueCount, product + " overstates its lower bound " + trueCount);
+        }
+    }
+
+    @Test
+    void unknownWindow() {
+        assertEquals(TrendingProducts.Window.WEEK, TrendingProducts.Window.of("7d"));
+        assertThrows(IllegalArgumentException.class, () -> TrendingProducts.Window.of("30d"));
+    }
+
+    private static OrderItem orderItem(Long productId, int quantity) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setName("Product " + productId);
+        OrderItem orderItem = new OrderItem();
+        orderItem.setProduct(product);
+        orderItem.setQuantity(quantity);
+        return orderItem;
+    }
+
+    private static List<Long> ids(List<ProductTrendDto> products) {
+        return products.stream().map(ProductTrendDto::getProductId).toList();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
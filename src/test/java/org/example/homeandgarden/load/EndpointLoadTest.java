@@ -0,0 +1,241 @@
+package org.example.homeandgarden.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.homeandgarden.HomeAndGardenApplication;
+import org.example.homeandgarden.datagen.DatasetGenerator;
+import org.example.homeandgarden.dto.responsedto.UserResponseDto;
+import org.example.homeandgarden.entity.enums.Role;
+import org.example.homeandgarden.index.ProductCatalogIndex;
+import org.example.homeandgarden.security.jwt.JwtProvider;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the REST endpoints of a running application on H2 in MySQL mode, seeded by a {@link DatasetGenerator},
+ * one endpoint at a time with {@code load.concurrency} clients for {@code load.duration-seconds}. Writes requests per
+ * second and p50/p90/p99 latency per endpoint to {@code load.report}.
+ * <p>
+ * {@code ./mvnw -P load test -Dtest=EndpointLoadTest -Dload.concurrency=64 -Dload.users=5000}
+ */
+@Tag("load")
+class EndpointLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 3));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration-seconds", 10));
+    private static final int USERS = Integer.getInteger("load.users", 1000);
+    private static final int PRODUCTS = Integer.getInteger("load.products", 10000);
+    private static final int ORDERS_PER_USER = Integer.getInteger("load.orders-per-user", 5);
+    private static final int BATCH_SIZE = 1000;
+    private static final Path REPORT = Path.of(System.getProperty("load.report", "target/load-test-report.json"));
+    private static final String PASSWORD = "LoadPass1$trong";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private record Endpoint(String name, BiFunction<Session, Random, HttpRequest> request) {
+    }
+
+    private record Session(String email, String accessToken) {
+    }
+
+    private URI baseUri;
+    private List<Long> categories;
+    private DatasetGenerator.Result dataset;
+    private List<Session> sessions;
+
+    @Test
+    void endpointThroughputAndLatency() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HomeAndGardenApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:endpoints;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.showSql=false",
+                "--auth.rate-limit.ip.capacity=1000000",
+                "--auth.rate-limit.email.capacity=1000000",
+                "--logging.level.root=WARN")) {
+            baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            categories = jdbcTemplate.queryForList("SELECT CategoryID FROM Categories ORDER BY CategoryID", Long.class);
+            dataset = new DatasetGenerator(jdbcTemplate, new TransactionTemplate(context.getBean(PlatformTransactionManager.class)))
+                    .generate(DatasetGenerator.Spec.builder()
+                            .users(USERS)
+                            .products(PRODUCTS)
+                            .ordersPerUser(ORDERS_PER_USER)
+                            .itemsPerOrder(3)
+                            .cartItemsPerUser(3)
+                            .favoritesPerUser(5)
+                            .days(90)
+                            .passwordHash(context.getBean(PasswordEncoder.class).encode(PASSWORD))
+                            .batchSize(BATCH_SIZE)
+                            .seed(42)
+                            .build(), written -> { });
+            context.getBean(ProductCatalogIndex.class).load();
+            JwtProvider jwtProvider = context.getBean(JwtProvider.class);
+            sessions = new ArrayList<>(USERS);
+            for (int user = 0; user < USERS; user++) {
+                String email = DatasetGenerator.email(dataset.userId(user));
+                sessions.add(new Session(email, jwtProvider.generateAccessToken(UserResponseDto.builder()
+                        .userId(dataset.userId(user)).email(email).name("User " + dataset.userId(user)).role(Role.CLIENT).build(),
+                        dataset.cartId(user))));
+            }
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (Endpoint endpoint : endpoints()) {
+                run(endpoint, WARMUP);
+                Result result = run(endpoint, DURATION);
+                results.add(result.toReport(endpoint.name()));
+                assertTrue(result.succeeded() > 0, endpoint.name() + " answered no request successfully: " + result.statuses());
+                assertTrue(result.statuses().keySet().stream().allMatch(status -> status == 200 || status == 503),
+                        endpoint.name() + " answered " + result.statuses());
+            }
+            writeReport(results);
+        }
+    }
+
+    private List<Endpoint> endpoints() {
+        return List.of(
+                new Endpoint("GET /products", (session, random) -> get("/products?category="
+                        + categories.get(random.nextInt(categories.size())) + "&minPrice=10&maxPrice=50&sort=price,asc", null)),
+                new Endpoint("GET /cart", (session, random) -> get("/cart", session)),
+                new Endpoint("GET /favorites", (session, random) -> get("/favorites", session)),
+                new Endpoint("GET /orders/history", (session, random) -> get("/orders/history?page=0&size=20", session)),
+                new Endpoint("POST /auth/login", (session, random) -> HttpRequest.newBuilder(baseUri.resolve("/auth/login"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + session.email() + "\",\"password\":\"" + PASSWORD + "\"}"))
+                        .build()));
+    }
+
+    private HttpRequest get(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT).GET();
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.accessToken());
+        }
+        return builder.build();
+    }
+
+    private Result run(Endpoint endpoint, Duration duration) throws Exception {
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        List<Future<Result>> clients = new ArrayList<>(CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            for (int client = 0; client < CONCURRENCY; client++) {
+                clients.add(executor.submit(() -> {
+                    Random random = ThreadLocalRandom.current();
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = endpoint.request().apply(sessions.get(random.nextInt(sessions.size())), random);
+                        long sent = System.nanoTime();
+                        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        result.record(status, System.nanoTime() - sent);
+                    }
+                    return result;
+                }));
+            }
+            Result merged = new Result();
+            for (Future<Result> client : clients) {
+                merged.merge(client.get());
+            }
+            merged.elapsedNanos = System.nanoTime() - started;
+            return merged;
+        }
+    }
+
+    private void writeReport(List<Map<String, Object>> endpoints) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("concurrency", CONCURRENCY);
+        report.put("durationSeconds", DURATION.toSeconds());
+        report.put("dataset", Map.of("users", dataset.users(), "products", dataset.products(), "orders", dataset.orders()));
+        report.put("endpoints", endpoints);
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+        System.out.println("Load test report written to " + REPORT.toAbsolutePath());
+    }
+
+    private static final class Result {
+
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+        private long[] latencies = new long[1024];
+        private int count;
+        private long elapsedNanos;
+
+        private void record(int status, long latencyNanos) {
+            statuses.merge(status, 1L, Long::sum);
+            if (status == 200) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = latencyNanos;
+            }
+        }
+
+        private void merge(Result other) {
+            other.statuses.forEach((status, requests) -> statuses.merge(status, requests, Long::sum));
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length, count + other.count));
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+        }
+
+        private Map<Integer, Long> statuses() {
+            return statuses;
+        }
+
+        private long succeeded() {
+            return count;
+        }
+
+        private Map<String, Object> toReport(String name) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            Map<String, Object> latencyMillis = new LinkedHashMap<>();
+            latencyMillis.put("p50", percentile(sorted, 0.50));
+            latencyMillis.put("p90", percentile(sorted, 0.90));
+            latencyMillis.put("p99", percentile(sorted, 0.99));
+            latencyMillis.put("max", count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("endpoint", name);
+            endpoint.put("requests", statuses.values().stream().mapToLong(Long::longValue).sum());
+            endpoint.put("succeeded", count);
+            endpoint.put("statuses", statuses);
+            endpoint.put("requestsPerSecond", Math.round(count / (elapsedNanos / 1e9) * 10) / 10.0);
+            endpoint.put("latencyMillis", latencyMillis);
+            return endpoint;
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000_000.0;
+        }
+    }
+}
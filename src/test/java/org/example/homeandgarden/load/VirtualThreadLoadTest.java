@@ -0,0 +1,121 @@
+package org.example.homeandgarden.load;
+
+import org.example.homeandgarden.HomeAndGardenApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application twice on an in-memory database whose every statement takes {@link #DB_LATENCY}, once on the
+ * Tomcat platform thread pool and once on virtual threads, and compares how many {@code GET /categories} requests
+ * {@link #CLIENTS} concurrent clients get answered. The platform pool is capped at {@link #PLATFORM_THREADS} so that
+ * the cap is reached without thousands of clients.
+ * <p>
+ * Tagged {@code load} and left out of the default build: {@code ./mvnw -P load test}.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final Duration DB_LATENCY = Duration.ofMillis(200);
+    private static final int PLATFORM_THREADS = 10;
+    private static final int CLIENTS = 100;
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(5);
+
+    @Test
+    void virtualThreadsKeepServingWhileTheDatabaseIsSlow() throws Exception {
+        double platform = throughput(false);
+        double virtual = throughput(true);
+
+        System.out.printf("GET /categories with %d ms per statement and %d clients: platform threads %.0f req/s, virtual threads %.0f req/s%n",
+                DB_LATENCY.toMillis(), CLIENTS, platform, virtual);
+        assertTrue(virtual > platform * 1.5, "virtual " + virtual + " req/s, platform " + platform + " req/s");
+    }
+
+    private static double throughput(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HomeAndGardenApplication.class)
+                .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(new SlowDataSource()))
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=" + (CLIENTS + 10),
+                        "--spring.jpa.showSql=false",
+                        "--logging.level.root=WARN")) {
+            URI uri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/categories");
+            run(uri, WARMUP);
+            return run(uri, MEASUREMENT) / (MEASUREMENT.toMillis() / 1000.0);
+        }
+    }
+
+    private static long run(URI uri, Duration duration) throws InterruptedException {
+        AtomicLong answered = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+            for (int client = 0; client < CLIENTS; client++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                            answered.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS));
+        }
+        return answered.get();
+    }
+
+    /**
+     * Makes each statement prepared on a pooled connection wait as long as a round trip to a remote database would.
+     */
+    private static class SlowDataSource implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (type == Connection.class && method.getName().startsWith("prepare")) {
+                    Thread.sleep(DB_LATENCY);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getCause();
+                }
+                return result instanceof Connection connection && type == DataSource.class ? proxy(Connection.class, connection) : result;
+            });
+        }
+    }
+}
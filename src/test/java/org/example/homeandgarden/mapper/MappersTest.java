@@ -0,0 +1,123 @@
+package org.example.homeandgarden.mapper;
+
+import org.example.homeandgarden.dto.requestdto.ProductRequestDto;
+import org.example.homeandgarden.dto.requestdto.UserRequestDto;
+import org.example.homeandgarden.dto.responsedto.*;
+import org.example.homeandgarden.entity.*;
+import org.example.homeandgarden.entity.enums.DeliveryMethod;
+import org.example.homeandgarden.entity.enums.Role;
+import org.example.homeandgarden.entity.enums.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappersTest {
+
+    private final Mappers mappers = new Mappers();
+
+    private User user;
+    private Product product;
+    private Order order;
+    private OrderItem orderItem;
+
+    @BeforeEach
+    void setUp() {
+        user = new User(1L, "Name", "email@gmail.com", "+491745567442", "Password<12>", Role.CLIENT, "refresh", null, new HashSet<>(), new HashSet<>());
+        product = new Product(1L, "Name", "Description", new BigDecimal("100.00"), new BigDecimal("80.00"), "http://localhost/img/1.jpg",
+                Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now()),
+                new Category(1L, "Category", new HashSet<>()), new HashSet<>(), new HashSet<>(), new HashSet<>());
+        order = new Order(1L, Timestamp.valueOf(LocalDateTime.now()), "Address", "+491745567442", DeliveryMethod.COURIER_DELIVERY,
+                Status.PAID, Timestamp.valueOf(LocalDateTime.now()), new HashSet<>(), user);
+        orderItem = new OrderItem(1L, 2, new BigDecimal("80.00"), order, product);
+        order.getOrderItems().add(orderItem);
+    }
+
+    @Test
+    void convertToProductResponseDto() {
+        ProductResponseDto productResponseDto = mappers.convertToProductResponseDto(product);
+
+        assertEquals(product.getProductId(), productResponseDto.getProductId());
+        assertEquals(product.getName(), productResponseDto.getName());
+        assertEquals(product.getDescription(), productResponseDto.getDescription());
+        assertEquals(product.getPrice(), productResponseDto.getPrice());
+        assertEquals(product.getDiscountPrice(), productResponseDto.getDiscountPrice());
+        assertEquals(product.getCreatedAt(), productResponseDto.getCreatedAt());
+        assertEquals(product.getUpdatedAt(), productResponseDto.getUpdatedAt());
+        assertEquals(product.getImageUrl(), productResponseDto.getImageUrl());
+        assertNull(productResponseDto.getCategoryResponseDto());
+    }
+
+    @Test
+    void convertToOrderResponseDto() {
+        OrderResponseDto orderResponseDto = mappers.convertToOrderResponseDto(order);
+
+        assertEquals(order.getOrderId(), orderResponseDto.getOrderId());
+        assertEquals(order.getDeliveryMethod(), orderResponseDto.getDeliveryMethod());
+        assertEquals(order.getStatus(), orderResponseDto.getStatus());
+        assertNull(orderResponseDto.getUserResponseDto());
+        assertEquals(1, orderResponseDto.getOrderItems().size());
+        OrderItemResponseDto orderItemResponseDto = orderResponseDto.getOrderItems().get(0);
+        assertEquals(orderItem.getOrderItemID(), orderItemResponseDto.getOrderItemId());
+        assertEquals(orderItem.getPriceAtPurchase(), orderItemResponseDto.getPriceAtPurchase());
+        assertNull(orderItemResponseDto.getProductResponseDto());
+        assertNull(orderItemResponseDto.getOrderResponseDto());
+    }
+
+    @Test
+    void convertToOrderResponseDtoListsItemsById() {
+        order.getOrderItems().add(new OrderItem(3L, 1, new BigDecimal("10.00"), order, product));
+        order.getOrderItems().add(new OrderItem(2L, 1, new BigDecimal("20.00"), order, product));
+
+        OrderResponseDto orderResponseDto = mappers.convertToOrderResponseDto(order);
+
+        assertEquals(List.of(1L, 2L, 3L), orderResponseDto.getOrderItems().stream().map(OrderItemResponseDto::getOrderItemId).toList());
+    }
+
+    @Test
+    void convertToOrderItemResponseDto() {
+        OrderItemResponseDto orderItemResponseDto = mappers.convertToOrderItemResponseDto(orderItem);
+
+        assertEquals(orderItem.getOrderItemID(), orderItemResponseDto.getOrderItemId());
+        assertEquals(orderItem.getQuantity(), orderItemResponseDto.getQuantity());
+        assertEquals(product.getProductId(), orderItemResponseDto.getProductResponseDto().getProductId());
+        assertNull(orderItemResponseDto.getOrderResponseDto());
+    }
+
+    @Test
+    void convertToUserResponseDto() {
+        UserResponseDto userResponseDto = mappers.convertToUserResponseDto(user);
+
+        assertEquals(user.getUserId(), userResponseDto.getUserId());
+        assertEquals(user.getEmail(), userResponseDto.getEmail());
+        assertEquals(user.getRole(), userResponseDto.getRole());
+    }
+
+    @Test
+    void convertToUser() {
+        User convertedUser = mappers.convertToUser(new UserRequestDto("Name", "email@gmail.com", "+491745567442", "Password<12>"));
+
+        assertEquals("Name", convertedUser.getName());
+        assertEquals("email@gmail.com", convertedUser.getEmail());
+        assertEquals("+491745567442", convertedUser.getPhone());
+        assertNull(convertedUser.getPasswordHash());
+        assertNull(convertedUser.getRole());
+    }
+
+    @Test
+    void convertToProduct() {
+        Product convertedProduct = mappers.convertToProduct(new ProductRequestDto("Name", "Description", new BigDecimal("100.00"), "http://localhost/img/1.jpg", "Category"));
+
+        assertNull(convertedProduct.getProductId());
+        assertEquals("Name", convertedProduct.getName());
+        assertEquals(new BigDecimal("100.00"), convertedProduct.getPrice());
+        assertEquals("http://localhost/img/1.jpg", convertedProduct.getImageUrl());
+        assertNull(convertedProduct.getCategory());
+    }
+}
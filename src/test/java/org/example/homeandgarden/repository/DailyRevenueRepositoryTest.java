@@ -0,0 +1,103 @@
+package org.example.homeandgarden.repository;
+
+import org.example.homeandgarden.entity.DailyRevenue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class DailyRevenueRepositoryTest {
+
+    private static final String REVENUE_FROM_ORDER_ITEMS =
+            "SELECT CAST(o.CreatedAt AS DATE) AS RevenueDate, SUM(oi.Quantity * oi.PriceAtPurchase) AS Revenue " +
+                    "FROM Orders o JOIN OrderItems oi ON oi.OrderID = o.OrderID " +
+                    "WHERE o.Status IN ('PAID','ON_THE_WAY','DELIVERED') " +
+                    "GROUP BY CAST(o.CreatedAt AS DATE) ORDER BY RevenueDate";
+
+    @Autowired
+    private DailyRevenueRepository dailyRevenueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void changeSetMatchesOrderItems() {
+        assertEquals(jdbcTemplate.queryForList(REVENUE_FROM_ORDER_ITEMS), revenue());
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT CAST(CreatedAt AS DATE)) FROM Orders", Long.class),
+                dailyRevenueRepository.count());
+    }
+
+    @Test
+    void addOrder() {
+        Long orderId = 2L;
+        LocalDate revenueDate = jdbcTemplate.queryForObject("SELECT CAST(CreatedAt AS DATE) FROM Orders WHERE OrderID = ?", LocalDate.class, orderId);
+        BigDecimal orderRevenue = jdbcTemplate.queryForObject("SELECT SUM(Quantity * PriceAtPurchase) FROM OrderItems WHERE OrderID = ?", BigDecimal.class, orderId);
+        BigDecimal before = dailyRevenueRepository.findById(revenueDate).orElseThrow().getRevenue();
+
+        assertEquals(1, dailyRevenueRepository.addOrder(revenueDate, orderId, -1));
+        assertEquals(0, before.subtract(orderRevenue).compareTo(revenue(revenueDate)));
+        assertEquals(1, dailyRevenueRepository.addOrder(revenueDate, orderId, 1));
+        assertEquals(0, before.compareTo(revenue(revenueDate)));
+        assertEquals(0, dailyRevenueRepository.addOrder(LocalDate.of(1999, 1, 1), orderId, 1));
+    }
+
+    @Test
+    void insertDayIfMissing() {
+        LocalDate revenueDate = LocalDate.of(2099, 1, 1);
+
+        assertEquals(1, dailyRevenueRepository.insertDayIfMissing(revenueDate));
+        assertEquals(0, dailyRevenueRepository.insertDayIfMissing(revenueDate));
+        assertEquals(0, BigDecimal.ZERO.compareTo(revenue(revenueDate)));
+    }
+
+    @Test
+    void insertDayFromOrderItems() {
+        LocalDate revenueDate = jdbcTemplate.queryForObject("SELECT MIN(CAST(CreatedAt AS DATE)) FROM Orders WHERE Status = 'DELIVERED'", LocalDate.class);
+        List<Map<String, Object>> expected = revenue();
+        jdbcTemplate.update("DELETE FROM DailyRevenue WHERE RevenueDate = ?", revenueDate);
+
+        assertEquals(1, dailyRevenueRepository.insertDayFromOrderItems(revenueDate, revenueDate.plusDays(1)));
+        assertEquals(0, dailyRevenueRepository.insertDayFromOrderItems(revenueDate, revenueDate.plusDays(1)));
+        assertEquals(expected, revenue());
+
+        LocalDate emptyDate = LocalDate.of(2099, 1, 1);
+        assertEquals(1, dailyRevenueRepository.insertDayFromOrderItems(emptyDate, emptyDate.plusDays(1)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(revenue(emptyDate)));
+    }
+
+    @Test
+    void rebuild() {
+        jdbcTemplate.update("UPDATE DailyRevenue SET Revenue = Revenue + 7");
+
+        dailyRevenueRepository.deleteAllRevenue();
+        dailyRevenueRepository.insertAllRevenueFromOrderItems();
+
+        assertEquals(jdbcTemplate.queryForList(REVENUE_FROM_ORDER_ITEMS), revenue());
+    }
+
+    @Test
+    void findAllByRevenueDateGreaterThanEqualOrderByRevenueDate() {
+        List<DailyRevenue> dailyRevenue = dailyRevenueRepository.findAllByRevenueDateGreaterThanEqualOrderByRevenueDate(LocalDate.of(2000, 1, 1));
+
+        assertEquals(dailyRevenueRepository.count(), dailyRevenue.size());
+        for (int index = 1; index < dailyRevenue.size(); index++) {
+            assertTrue(dailyRevenue.get(index - 1).getRevenueDate().isBefore(dailyRevenue.get(index).getRevenueDate()));
+        }
+    }
+
+    private BigDecimal revenue(LocalDate revenueDate) {
+        return jdbcTemplate.queryForObject("SELECT Revenue FROM DailyRevenue WHERE RevenueDate = ?", BigDecimal.class, revenueDate);
+    }
+
+    private List<Map<String, Object>> revenue() {
+        return jdbcTemplate.queryForList("SELECT RevenueDate, Revenue FROM DailyRevenue WHERE Revenue <> 0 ORDER BY RevenueDate");
+    }
+}
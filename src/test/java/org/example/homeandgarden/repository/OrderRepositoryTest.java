@@ -0,0 +1,77 @@
+package org.example.homeandgarden.repository;
+
+import org.example.homeandgarden.entity.Order;
+import org.example.homeandgarden.entity.OrderItem;
+import org.example.homeandgarden.entity.query.OrderHistoryInterface;
+import org.hibernate.Hibernate;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findWithItemsByOrderIdAndUserId() {
+        Long orderId = 2L;
+        Long userId = 3L;
+        entityManager.clear();
+
+        Order order = orderRepository.findWithItemsByOrderIdAndUserId(orderId, userId).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(order.getOrderItems()));
+        assertEquals(2, order.getOrderItems().size());
+        for (OrderItem orderItem : order.getOrderItems()) {
+            assertTrue(Hibernate.isInitialized(orderItem.getProduct()));
+        }
+        assertTrue(orderRepository.findWithItemsByOrderIdAndUserId(orderId, 1L).isEmpty());
+    }
+
+    @Test
+    void findOrderIdsByUserId() {
+        Long userId = 3L;
+        PageRequest firstPage = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createdAt", "orderId"));
+
+        Slice<Long> orderIds = orderRepository.findOrderIdsByUserId(userId, firstPage);
+
+        assertEquals(1, orderIds.getContent().size());
+        List<Order> orders = orderRepository.findAllById(orderRepository.findOrderIdsByUserId(userId, PageRequest.of(0, 100, firstPage.getSort())).getContent());
+        assertEquals(orders.size() > 1, orderIds.hasNext());
+        for (Order order : orders) {
+            assertEquals(userId, order.getUser().getUserId());
+        }
+    }
+
+    @Test
+    void streamOrderHistoryByOrderIdIn() {
+        Long userId = 3L;
+        List<Long> orderIds = orderRepository.findOrderIdsByUserId(userId, PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "createdAt", "orderId"))).getContent();
+
+        List<OrderHistoryInterface> rows;
+        try (Stream<OrderHistoryInterface> stream = orderRepository.streamOrderHistoryByOrderIdIn(orderIds)) {
+            rows = stream.toList();
+        }
+
+        assertEquals(orderIds, rows.stream().map(OrderHistoryInterface::getOrderId).distinct().toList());
+        assertEquals(2, rows.stream().filter(row -> row.getOrderId().equals(2L)).count());
+        for (OrderHistoryInterface row : rows) {
+            assertNotNull(row.getProductId());
+            assertNotNull(row.getName());
+        }
+    }
+}
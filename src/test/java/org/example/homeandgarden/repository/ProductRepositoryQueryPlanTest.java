@@ -0,0 +1,189 @@
+package org.example.homeandgarden.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every {@code @Query} of {@link ProductRepository} and the queries of {@link ProductRepositoryImpl}, asks the
+ * database for the plan of each statement they issued and fails when a table is read by a full scan that is not listed
+ * in {@link #EXPECTED_SCANS}. A new {@code @Query} has to be added to {@link #QUERIES} before this suite passes again.
+ * <p>
+ * The plans are those of the embedded H2 test database with the Liquibase indexes, not of MySQL: this guards the
+ * indexes and query shapes, while the MySQL optimizer may still choose differently and has to be checked with
+ * {@code EXPLAIN} against a production-sized schema.
+ */
+@DataJpaTest
+@Import(ProductRepositoryQueryPlanTest.StatementCapturingConfiguration.class)
+class ProductRepositoryQueryPlanTest {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("PUBLIC\\.(\\w+)\\.tableScan");
+
+    private static final Map<String, Consumer<ProductRepository>> QUERIES = Map.ofEntries(
+            Map.entry("deleteById", repository -> repository.deleteById(5L)),
+            Map.entry("getMaxDiscountProduct", ProductRepository::getMaxDiscountProduct),
+            Map.entry("findTopDiscountProducts", repository -> repository.findTopDiscountProducts(PageRequest.of(0, 10))),
+            Map.entry("findAllWithCategoryByIdIn", repository -> repository.findAllWithCategoryByIdIn(List.of(1L, 2L, 3L))),
+            Map.entry("findProductsByFilter", repository -> repository.findProductsByFilter(BigDecimal.ZERO, BigDecimal.valueOf(50), false, Sort.by("name"))),
+            Map.entry("findProductsByCategoryAndFilter", repository -> repository.findProductsByCategoryAndFilter(2L, BigDecimal.ZERO, BigDecimal.valueOf(50), false, Sort.by("name"))),
+            Map.entry("findProductPending", repository -> repository.findProductPending(Timestamp.valueOf(LocalDateTime.now().minusDays(3)))),
+            Map.entry("findProductsByFilterAfter", repository -> repository.findProductsByFilterAfter(2L, BigDecimal.ZERO, BigDecimal.valueOf(50), false, "price", true, BigDecimal.ONE, 1L, 20)),
+            Map.entry("streamProductsByFilter", repository -> consume(repository.streamProductsByFilter(BigDecimal.ZERO, BigDecimal.valueOf(50), false, Sort.by("name")))),
+            Map.entry("streamProductsByCategoryAndFilter", repository -> consume(repository.streamProductsByCategoryAndFilter(2L, BigDecimal.ZERO, BigDecimal.valueOf(50), false, Sort.by("name")))),
+            Map.entry("streamProductPending", repository -> consume(repository.streamProductPending(Timestamp.valueOf(LocalDateTime.now().minusDays(3))))));
+
+    // Ranking by discount compares every discounted product, and a filter without a category matches a price range
+    // of the whole catalog. The first two are served from ProductDiscountLeaderboard and the filters from
+    // ProductCatalogIndex whenever those are loaded.
+    private static final Map<String, Set<String>> EXPECTED_SCANS = Map.of(
+            "getMaxDiscountProduct", Set.of("PRODUCTS"),
+            "findTopDiscountProducts", Set.of("PRODUCTS"),
+            "findProductsByFilter", Set.of("PRODUCTS"),
+            "streamProductsByFilter", Set.of("PRODUCTS"));
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    static Set<String> queries() {
+        return QUERIES.keySet();
+    }
+
+    @Test
+    void everyQueryHasAPlanCheck() {
+        Set<String> annotated = Arrays.stream(ProductRepository.class.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(Query.class))
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+
+        annotated.removeAll(QUERIES.keySet());
+        assertTrue(annotated.isEmpty(), "No plan check for " + annotated);
+    }
+
+    @ParameterizedTest
+    @MethodSource("queries")
+    void planHasNoUnexpectedTableScan(String query) throws SQLException {
+        StatementCapturingConfiguration.STATEMENTS.clear();
+        QUERIES.get(query).accept(productRepository);
+        List<CapturedStatement> statements = List.copyOf(StatementCapturingConfiguration.STATEMENTS);
+        assertFalse(statements.isEmpty(), query + " issued no statement");
+
+        Set<String> scanned = new TreeSet<>();
+        StringBuilder plans = new StringBuilder();
+        for (CapturedStatement statement : statements) {
+            String plan = explain(statement);
+            plans.append(plan).append('\n');
+            Matcher matcher = TABLE_SCAN.matcher(plan);
+            while (matcher.find()) {
+                scanned.add(matcher.group(1));
+            }
+        }
+        assertEquals(EXPECTED_SCANS.getOrDefault(query, Set.of()), scanned, query + " plan:\n" + plans);
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> { });
+        }
+    }
+
+    private String explain(CapturedStatement statement) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = explain.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    record CapturedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Records the SQL and bound parameters of every prepared statement executed through the test data source.
+     */
+    @TestConfiguration
+    static class StatementCapturingConfiguration {
+
+        static final List<CapturedStatement> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource, null) : bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (sql != null && method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, args[1]);
+                }
+                if (sql != null && method.getName().startsWith("execute")) {
+                    STATEMENTS.add(new CapturedStatement(sql, new TreeMap<>(parameters)));
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getCause();
+                }
+                if (result instanceof Connection connection) {
+                    return proxy(Connection.class, connection, null);
+                }
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return proxy(PreparedStatement.class, statement, (String) args[0]);
+                }
+                if (result instanceof Statement statement && method.getReturnType().isInterface()
+                        && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return proxy((Class<Statement>) method.getReturnType(), statement, null);
+                }
+                return result;
+            });
+        }
+    }
+}
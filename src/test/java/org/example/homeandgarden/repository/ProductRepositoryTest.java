@@ -1,14 +1,21 @@
 package org.example.homeandgarden.repository;
 
+import org.example.homeandgarden.dto.querydto.ProductCursor;
+import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
 import org.example.homeandgarden.entity.Product;
-import org.example.homeandgarden.entity.query.ProductCountInterface;
+import org.example.homeandgarden.entity.query.ProductPendingInterface;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,24 +48,110 @@ class ProductRepositoryTest {
     }
 
     @Test
-    void findTop10Products(){
+    void findTopDiscountProducts() {
 
-        String status = "PAID";
-        List<ProductCountInterface> top10Products =  productRepository.findTop10Products(status);
-        assertNotNull(top10Products);
-        assertEquals(10, top10Products.size());
+        List<Product> topDiscountProducts = productRepository.findTopDiscountProducts(PageRequest.of(0, 3));
+
+        assertEquals(3, topDiscountProducts.size());
+        assertTrue(productRepository.getMaxDiscountProduct().stream().anyMatch(product -> product.getProductId().equals(topDiscountProducts.getFirst().getProductId())));
+        for (int i = 1; i < topDiscountProducts.size(); i++) {
+            Product previous = topDiscountProducts.get(i - 1);
+            Product current = topDiscountProducts.get(i);
+            assertTrue(previous.getPrice().multiply(current.getDiscountPrice()).compareTo(current.getPrice().multiply(previous.getDiscountPrice())) >= 0);
+        }
     }
 
     @Test
     void findProductsByFilter() {
-        Boolean hasCategory = true;
-        Long categoryId = 1L;
         BigDecimal minPrice = BigDecimal.valueOf(0.00);
         BigDecimal maxPrice = BigDecimal.valueOf(100.00);
         Boolean hasDiscount = true;
         Sort sortObject = orderBy("name", true);
-        List<Product> sortedProduct = productRepository.findProductsByFilter(hasCategory,categoryId,minPrice,maxPrice,hasDiscount,sortObject);
+        List<Product> sortedProduct = productRepository.findProductsByFilter(minPrice,maxPrice,hasDiscount,sortObject);
         assertNotNull(sortedProduct);
+        for (Product product : sortedProduct) {
+            assertNotNull(product.getDiscountPrice());
+        }
+    }
+
+    @Test
+    void findProductsByCategoryAndFilter() {
+        Long categoryId = 1L;
+        BigDecimal minPrice = BigDecimal.valueOf(0.00);
+        BigDecimal maxPrice = BigDecimal.valueOf(100.00);
+        Sort sortObject = orderBy("name", true);
+        List<Product> sortedProduct = productRepository.findProductsByCategoryAndFilter(categoryId,minPrice,maxPrice,false,sortObject);
+        assertFalse(sortedProduct.isEmpty());
+        for (Product product : sortedProduct) {
+            assertEquals(categoryId, product.getCategory().getCategoryId());
+        }
+    }
+
+    @Test
+    void findProductPending() {
+        Timestamp createdBefore = Timestamp.valueOf(LocalDateTime.now());
+        List<ProductPendingInterface> pendingProducts = productRepository.findProductPending(createdBefore);
+        assertNotNull(pendingProducts);
+        assertTrue(productRepository.findProductPending(Timestamp.valueOf("2000-01-01 00:00:00")).isEmpty());
+    }
+
+    @Test
+    void streamProductsByFilter() {
+        BigDecimal minPrice = BigDecimal.valueOf(5.00);
+        BigDecimal maxPrice = BigDecimal.valueOf(100.00);
+        Sort sort = orderBy("price", false);
+        List<Product> products = productRepository.findProductsByFilter(minPrice, maxPrice, true, sort);
+
+        try (Stream<Product> streamed = productRepository.streamProductsByFilter(minPrice, maxPrice, true, sort)) {
+            assertEquals(products.stream().map(Product::getProductId).toList(), streamed.map(Product::getProductId).toList());
+        }
+        try (Stream<Product> streamed = productRepository.streamProductsByCategoryAndFilter(1L, minPrice, maxPrice, false, sort)) {
+            assertEquals(productRepository.findProductsByCategoryAndFilter(1L, minPrice, maxPrice, false, sort).stream().map(Product::getProductId).toList(),
+                    streamed.map(Product::getProductId).toList());
+        }
+    }
+
+    @Test
+    void streamProductPending() {
+        Timestamp createdBefore = Timestamp.valueOf(LocalDateTime.now());
+        try (Stream<ProductPendingInterface> streamed = productRepository.streamProductPending(createdBefore)) {
+            assertEquals(productRepository.findProductPending(createdBefore).stream().map(ProductPendingInterface::getProductId).toList(),
+                    streamed.map(ProductPendingInterface::getProductId).toList());
+        }
+    }
+
+    @Test
+    void findProductsByFilterAfter() {
+        BigDecimal minPrice = BigDecimal.valueOf(0.00);
+        BigDecimal maxPrice = BigDecimal.valueOf(1000.00);
+        for (String sortField : List.of("name", "price", "discountPrice", "createdAt", "updatedAt")) {
+            for (boolean ascending : new boolean[]{true, false}) {
+                List<Long> expected = productRepository.findProductsByFilterAfter(null, minPrice, maxPrice, false, sortField, ascending, null, null, 1000)
+                        .stream().map(Product::getProductId).toList();
+                List<Long> actual = new ArrayList<>();
+                ProductCursor cursor = null;
+                List<Product> page;
+                do {
+                    page = productRepository.findProductsByFilterAfter(null, minPrice, maxPrice, false, sortField, ascending,
+                            cursor == null ? null : cursor.typedKey(), cursor == null ? null : cursor.productId(), 4);
+                    page.forEach(product -> actual.add(product.getProductId()));
+                    if (!page.isEmpty()) {
+                        Product last = page.getLast();
+                        cursor = ProductCursor.after(ProductResponseDto.builder()
+                                .productId(last.getProductId())
+                                .name(last.getName())
+                                .price(last.getPrice())
+                                .discountPrice(last.getDiscountPrice())
+                                .createdAt(last.getCreatedAt())
+                                .updatedAt(last.getUpdatedAt())
+                                .build(), sortField, ascending);
+                    }
+                } while (page.size() == 4);
+
+                assertFalse(expected.isEmpty());
+                assertEquals(expected, actual, sortField + "," + ascending);
+            }
+        }
     }
 
     private Sort orderBy(String sort, Boolean ascending) {
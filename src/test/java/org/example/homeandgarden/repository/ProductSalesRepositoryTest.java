@@ -0,0 +1,126 @@
+package org.example.homeandgarden.repository;
+
+import org.example.homeandgarden.entity.ProductSales;
+import org.example.homeandgarden.entity.enums.Status;
+import org.example.homeandgarden.entity.query.ProductCountInterface;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProductSalesRepositoryTest {
+
+    private static final String SALES_FROM_ORDER_ITEMS =
+            "SELECT oi.ProductID, o.Status, SUM(oi.Quantity) AS Quantity FROM OrderItems oi JOIN Orders o ON oi.OrderID = o.OrderID " +
+                    "GROUP BY oi.ProductID, o.Status ORDER BY oi.ProductID, o.Status";
+
+    @Autowired
+    private ProductSalesRepository productSalesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findTop10Products() {
+        List<ProductCountInterface> top10Products = productSalesRepository.findTop10PaidProducts();
+        assertNotNull(top10Products);
+        assertEquals(10, top10Products.size());
+        for (int index = 1; index < top10Products.size(); index++) {
+            assertTrue(top10Products.get(index - 1).getCount() >= top10Products.get(index).getCount());
+        }
+        assertTrue(top10Products.stream().allMatch(product -> List.of("PAID", "ON_THE_WAY", "DELIVERED").contains(product.getStatus())));
+
+        List<ProductCountInterface> canceledProducts = productSalesRepository.findTop10CanceledProducts();
+        assertFalse(canceledProducts.isEmpty());
+        assertTrue(canceledProducts.stream().allMatch(product -> product.getStatus().equals("CANCELED") && product.getCount() > 0));
+    }
+
+    @Test
+    void changeSetMatchesOrderItems() {
+        assertEquals(jdbcTemplate.queryForList(SALES_FROM_ORDER_ITEMS), sales());
+    }
+
+    @Test
+    void moveOrder() {
+        Long orderId = 2L;
+        List<Map<String, Object>> before = sales();
+
+        assertEquals(2, productSalesRepository.moveOrder(orderId, statusOf(orderId), Status.CANCELED) / 2);
+        jdbcTemplate.update("UPDATE Orders SET Status = 'CANCELED' WHERE OrderID = ?", orderId);
+
+        assertNotEquals(before, sales());
+        assertEquals(jdbcTemplate.queryForList(SALES_FROM_ORDER_ITEMS), sales());
+    }
+
+    @Test
+    void addOrder() {
+        Long orderId = 2L;
+        Status status = statusOf(orderId);
+        Map<Long, Long> quantitiesBefore = quantities(status);
+
+        assertEquals(2, productSalesRepository.addOrder(orderId, status));
+        productSalesRepository.addOrder(orderId, Status.CANCELED);
+        productSalesRepository.moveOrder(orderId, Status.CANCELED, Status.PAID);
+        productSalesRepository.moveOrder(orderId, Status.PAID, status);
+
+        Map<Long, Long> quantitiesAfter = quantities(status);
+        jdbcTemplate.query("SELECT ProductID, SUM(Quantity) FROM OrderItems WHERE OrderID = ? GROUP BY ProductID", row -> {
+            Long productId = row.getLong(1);
+            assertEquals(quantitiesBefore.get(productId) + 2 * row.getLong(2), quantitiesAfter.get(productId));
+        }, orderId);
+    }
+
+    @Test
+    void insertMissingSales() {
+        Long orderId = 2L;
+        jdbcTemplate.update("DELETE FROM ProductSales WHERE Status <> 'CREATED' AND ProductID IN (SELECT ProductID FROM OrderItems WHERE OrderID = ?)", orderId);
+        Long products = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT ProductID) FROM OrderItems WHERE OrderID = ?", Long.class, orderId);
+
+        assertEquals(5 * products, productSalesRepository.insertMissingSales(orderId));
+        assertEquals(0, productSalesRepository.insertMissingSales(orderId));
+        assertEquals(jdbcTemplate.queryForList(SALES_FROM_ORDER_ITEMS), sales());
+    }
+
+    @Test
+    void rebuild() {
+        jdbcTemplate.update("UPDATE ProductSales SET Quantity = Quantity + 7");
+        jdbcTemplate.update("DELETE FROM ProductSales WHERE Status = 'CANCELED'");
+
+        productSalesRepository.deleteAllSales();
+        productSalesRepository.insertAllSalesFromOrderItems();
+
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) * 6 FROM Products", Long.class),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ProductSales", Long.class));
+        assertEquals(jdbcTemplate.queryForList(SALES_FROM_ORDER_ITEMS), sales());
+    }
+
+    private Status statusOf(Long orderId) {
+        return Status.valueOf(jdbcTemplate.queryForObject("SELECT Status FROM Orders WHERE OrderID = ?", String.class, orderId));
+    }
+
+    private Map<Long, Long> quantities(Status status) {
+        entityManager.flush();
+        Map<Long, Long> quantities = new HashMap<>();
+        jdbcTemplate.query("SELECT ProductID, Quantity FROM ProductSales WHERE Status = ?",
+                row -> {
+                    quantities.put(row.getLong(1), row.getLong(2));
+                }, status.name());
+        return quantities;
+    }
+
+    private List<Map<String, Object>> sales() {
+        entityManager.flush();
+        return jdbcTemplate.queryForList("SELECT ProductID, Status, Quantity FROM ProductSales WHERE Quantity > 0 ORDER BY ProductID, Status");
+    }
+}
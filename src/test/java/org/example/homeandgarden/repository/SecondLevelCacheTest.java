@@ -0,0 +1,105 @@
+package org.example.homeandgarden.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.homeandgarden.config.CacheRegionStatisticsEndpoint;
+import org.example.homeandgarden.dto.responsedto.CacheRegionStatisticsDto;
+import org.example.homeandgarden.entity.Category;
+import org.example.homeandgarden.entity.Product;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cached entries only become readable to transactions started after they were put, so every repository call here
+ * runs in its own transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(CacheRegionStatisticsEndpoint.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheRegionStatisticsEndpoint cacheRegionStatisticsEndpoint;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void productIsLoadedOnce() {
+        productRepository.findById(3L).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        Product product = productRepository.findById(3L).orElseThrow();
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertNotNull(product.getCategory().getName());
+        assertEquals(1, statistics.getCacheRegionStatistics("product").getHitCount());
+    }
+
+    @Test
+    void deleteByIdInvalidatesTheProduct() {
+        productRepository.findById(5L).orElseThrow();
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, 5L));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productRepository.deleteById(5L);
+
+            assertFalse(entityManagerFactory.getCache().contains(Product.class, 5L));
+            assertTrue(productRepository.findById(5L).isEmpty());
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void categoryByNameIsServedFromTheQueryCache() {
+        Category category = categoryRepository.findAll().getFirst();
+        categoryRepository.findCategoryByName(category.getName());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(category.getCategoryId(), categoryRepository.findCategoryByName(category.getName()).getCategoryId());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void regionsReportHitRatio() {
+        productRepository.findById(3L).orElseThrow();
+        productRepository.findById(3L).orElseThrow();
+
+        CacheRegionStatisticsDto product = cacheRegionStatisticsEndpoint.regions().stream()
+                .filter(region -> region.getRegion().equals("product"))
+                .findFirst().orElseThrow();
+        assertEquals(1, product.getHitCount());
+        assertEquals(1, product.getMissCount());
+        assertEquals(0.5, product.getHitRatio());
+    }
+}
@@ -1,6 +1,9 @@
 package org.example.homeandgarden.repository;
 
+import org.example.homeandgarden.entity.Cart;
 import org.example.homeandgarden.entity.User;
+import org.example.homeandgarden.entity.enums.Role;
+import org.example.homeandgarden.entity.query.UserIdentityInterface;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -38,4 +41,46 @@ class UserRepositoryTest {
         User notFoundByEmail = userRepository.findByEmail(notExistingEmail).orElse(null);
         assertNull(notFoundByEmail);
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveCascadesToCart() {
+        User user = new User();
+        user.setName("New user");
+        user.setEmail("newuser@example.com");
+        user.setRole(Role.CLIENT);
+        user.setPasswordHash("$2a$10$yovX4MDz2oZKpqq6DiWfrOkpJ3.xzCmj8cko5vNWN8kfZamm3AdTa");
+        Cart cart = new Cart();
+        cart.setUser(user);
+        user.setCart(cart);
+
+        userRepository.save(user);
+
+        UserIdentityInterface identity = userRepository.findIdentityByEmail("newuser@example.com").orElseThrow();
+        assertNotNull(identity.getCartId());
+        assertEquals(cart.getCartId(), identity.getCartId());
+    }
+
+    @Test
+    void findIdentityByEmail() {
+        String email = "benjamindietrich@example.com";
+        User user = userRepository.findByEmail(email).orElseThrow();
+
+        UserIdentityInterface identity = userRepository.findIdentityByEmail(email).orElseThrow();
+
+        assertEquals(user.getUserId(), identity.getUserId());
+        assertEquals(user.getRole(), identity.getRole());
+        assertEquals(user.getPasswordHash(), identity.getPasswordHash());
+        assertEquals(user.getCart().getCartId(), identity.getCartId());
+        assertTrue(userRepository.findIdentityByEmail("wrongemail@example.com").isEmpty());
+    }
+
+    @Test
+    void updateRefreshToken() {
+        String email = "benjamindietrich@example.com";
+        Long userId = userRepository.findByEmail(email).orElseThrow().getUserId();
+
+        assertEquals(1, userRepository.updateRefreshToken(userId, "refresh-token"));
+
+        assertEquals("refresh-token", userRepository.findIdentityByEmail(email).orElseThrow().getRefreshToken());
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.homeandgarden.security.controller;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Starts Tomcat with the {@code server.*} settings of application.properties and checks which address
+ * {@link AuthController} hands to the rate limiter for a request carrying {@code X-Forwarded-For}.
+ */
+class ClientAddressTest {
+
+    private static final String SPOOFED_ADDRESS = "203.0.113.7";
+
+    @Test
+    void forwardedForFromAnUntrustedPeerDoesNotChangeTheAddress() throws Exception {
+        assertEquals("127.0.0.1", remoteAddressOf(Map.of()));
+    }
+
+    @Test
+    void forwardedForFromAConfiguredProxyIsTrusted() throws Exception {
+        assertEquals(SPOOFED_ADDRESS, remoteAddressOf(Map.of(
+                "server.forward-headers-strategy", "native",
+                "server.tomcat.remoteip.internal-proxies", "127\\.0\\.0\\.1")));
+    }
+
+    private String remoteAddressOf(Map<String, String> overrides) throws Exception {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        properties.putAll(overrides);
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new PropertiesPropertySource("application", properties));
+        ServerProperties serverProperties = Binder.get(environment).bindOrCreate("server", ServerProperties.class);
+
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        new TomcatWebServerFactoryCustomizer(environment, serverProperties).customize(factory);
+        WebServer webServer = factory.getWebServer(servletContext -> servletContext
+                .addServlet("remoteAddress", new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                        response.getWriter().write(request.getRemoteAddr());
+                    }
+                })
+                .addMapping("/"));
+        webServer.start();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + webServer.getPort() + "/"))
+                    .header("X-Forwarded-For", SPOOFED_ADDRESS)
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        } finally {
+            webServer.stop();
+        }
+    }
+}
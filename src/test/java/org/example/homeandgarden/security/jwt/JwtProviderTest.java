@@ -0,0 +1,93 @@
+package org.example.homeandgarden.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.homeandgarden.dto.responsedto.UserResponseDto;
+import org.example.homeandgarden.entity.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtProviderTest {
+
+    private static final String ACCESS_SECRET = "qBTmv4oXFFR2GwjexDJ4t6fsIUIUhhXqlktXjXdkcyygs8nPVEwMfo29VDRRepYDVV5IkIxBMzr7OEHXEHd37w==";
+    private static final String REFRESH_SECRET = "zL1HB3Pch05Avfynovxrf/kpF9O2m4NCWKJUjEp27s9J2jEG3ifiKCGylaZ8fDeoONSTJP/wAzKawB8F9rOMNg==";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtProvider jwtProvider;
+    private UserResponseDto userResponseDto;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtProvider = new JwtProvider(ACCESS_SECRET, REFRESH_SECRET, 100, meterRegistry);
+        userResponseDto = UserResponseDto.builder()
+                .userId(1L)
+                .name("Name")
+                .email("email@gmail.com")
+                .role(Role.CLIENT)
+                .build();
+    }
+
+    @Test
+    void authenticateAccessTokenCachesVerifiedToken() {
+        String accessToken = jwtProvider.generateAccessToken(userResponseDto);
+
+        JwtAuthentication first = jwtProvider.authenticateAccessToken(accessToken);
+        JwtAuthentication second = jwtProvider.authenticateAccessToken(accessToken);
+
+        assertNotNull(first);
+        assertTrue(first.isAuthenticated());
+        assertEquals("email@gmail.com", first.getEmail());
+        assertEquals("ROLE_CLIENT", first.getAuthorities().iterator().next().getAuthority());
+        assertNotSame(first, second);
+        assertEquals(first.getEmail(), second.getEmail());
+        assertEquals(first.getUserId(), second.getUserId());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.access-tokens").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.access-tokens").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void cachedTokenYieldsIndependentAuthentications() {
+        String accessToken = jwtProvider.generateAccessToken(userResponseDto, 7L);
+
+        JwtAuthentication first = jwtProvider.authenticateAccessToken(accessToken);
+        first.setAuthenticated(false);
+        first.setCartId(null);
+        JwtAuthentication second = jwtProvider.authenticateAccessToken(accessToken);
+
+        assertTrue(second.isAuthenticated());
+        assertEquals(7L, second.getCartId());
+        assertSame(first.getRoles(), second.getRoles());
+        assertThrows(UnsupportedOperationException.class, () -> first.getRoles().clear());
+    }
+
+    @Test
+    void accessTokenCarriesUserAndCartIds() {
+        JwtAuthentication authentication = jwtProvider.authenticateAccessToken(jwtProvider.generateAccessToken(userResponseDto, 7L));
+
+        assertEquals(1L, authentication.getUserId());
+        assertEquals(7L, authentication.getCartId());
+        assertNull(jwtProvider.authenticateAccessToken(jwtProvider.generateAccessToken(userResponseDto)).getCartId());
+    }
+
+    @Test
+    void authenticateAccessTokenRejectsInvalidToken() {
+        String refreshToken = jwtProvider.generateRefreshToken(userResponseDto);
+
+        assertNull(jwtProvider.authenticateAccessToken(refreshToken));
+        assertNull(jwtProvider.authenticateAccessToken("not.a.token"));
+        assertNull(jwtProvider.authenticateAccessToken(refreshToken));
+    }
+
+    @Test
+    void validateTokens() {
+        String accessToken = jwtProvider.generateAccessToken(userResponseDto);
+        String refreshToken = jwtProvider.generateRefreshToken(userResponseDto);
+
+        assertTrue(jwtProvider.validateAccessToken(accessToken));
+        assertFalse(jwtProvider.validateAccessToken(refreshToken));
+        assertTrue(jwtProvider.validateRefreshToken(refreshToken));
+        assertEquals("email@gmail.com", jwtProvider.getRefreshClaims(refreshToken).getSubject());
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.homeandgarden.security.service;
+
+import org.example.homeandgarden.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private AuthRateLimiter authRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        authRateLimiter = new AuthRateLimiter(
+                new AuthRateLimiter.Limit(4, Duration.ofSeconds(1)),
+                new AuthRateLimiter.Limit(2, Duration.ofSeconds(10)),
+                1000, nanos::get);
+    }
+
+    @Test
+    void emailIsLimitedAcrossAddresses() {
+        authRateLimiter.checkLogin("10.0.0.1", "torstenbormann@example.com");
+        authRateLimiter.checkLogin("10.0.0.2", " TorstenBormann@example.com");
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> authRateLimiter.checkLogin("10.0.0.3", "torstenbormann@example.com"));
+        assertEquals(10, exception.getRetryAfterSeconds());
+
+        authRateLimiter.checkLogin("10.0.0.3", "arneoswald@example.com");
+
+        advance(Duration.ofSeconds(10));
+        authRateLimiter.checkLogin("10.0.0.3", "torstenbormann@example.com");
+    }
+
+    @Test
+    void addressIsLimitedAcrossEmailsAndTokens() {
+        authRateLimiter.checkLogin("10.0.0.1", "first@example.com");
+        authRateLimiter.checkLogin("10.0.0.1", "second@example.com");
+        authRateLimiter.checkToken("10.0.0.1");
+        authRateLimiter.checkToken("10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> authRateLimiter.checkToken("10.0.0.1"));
+        assertThrows(TooManyRequestsException.class, () -> authRateLimiter.checkLogin("10.0.0.1", "third@example.com"));
+        authRateLimiter.checkToken("10.0.0.2");
+
+        advance(Duration.ofMillis(1500));
+        authRateLimiter.checkToken("10.0.0.1");
+        assertThrows(TooManyRequestsException.class, () -> authRateLimiter.checkToken("10.0.0.1"));
+    }
+
+    @Test
+    void concurrentAttemptsNeverExceedTheCapacity() throws Exception {
+        int threads = 8;
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int thread = 0; thread < threads; thread++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < 100; attempt++) {
+                        try {
+                            authRateLimiter.checkToken("10.0.0.1");
+                            allowed.incrementAndGet();
+                        } catch (TooManyRequestsException ignored) {
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(4, allowed.get());
+    }
+
+    @Test
+    void limitRejectsEmptyBucketsAndNonPositivePeriods() {
+        assertThrows(IllegalArgumentException.class, () -> new AuthRateLimiter.Limit(0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new AuthRateLimiter.Limit(1, Duration.ZERO));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
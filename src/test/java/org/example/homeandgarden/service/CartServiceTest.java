@@ -14,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
@@ -33,10 +34,10 @@ class CartServiceTest {
     private ProductRepository productRepositoryMock;
 
     @Mock
-    private UserRepository userRepositoryMock;
+    private CartRepository cartRepositoryMock;
 
     @Mock
-    private CartRepository cartRepositoryMock;
+    private UserRepository userRepositoryMock;
 
     @Mock
     public CartItemRepository cartItemRepositoryMock;
@@ -162,141 +163,110 @@ class CartServiceTest {
     }
 
     @Test
-    void getCartItems() {
-        String email = "arneoswald@example.com";
-        String wrongEmail = "julia.vladimirov@example.com";
+    void findOrInsertCartId() {
+        when(cartRepositoryMock.findCartIdByUserId(1L)).thenReturn(Optional.of(1L));
+
+        assertEquals(1L, cartServiceMock.findOrInsertCartId(1L));
+        verify(cartRepositoryMock, never()).saveAndFlush(any(Cart.class));
+
+
+        when(cartRepositoryMock.findCartIdByUserId(2L)).thenReturn(Optional.empty());
+        when(userRepositoryMock.existsById(2L)).thenReturn(true);
+        when(userRepositoryMock.getReferenceById(2L)).thenReturn(user);
+        when(cartRepositoryMock.saveAndFlush(any(Cart.class))).thenReturn(new Cart(7L, null, user));
+
+        assertEquals(7L, cartServiceMock.findOrInsertCartId(2L));
+        verify(cartRepositoryMock, times(1)).saveAndFlush(argThat(saved -> saved.getUser() == user));
+
+
+        when(cartRepositoryMock.findCartIdByUserId(66L)).thenReturn(Optional.empty());
+        when(userRepositoryMock.existsById(66L)).thenReturn(false);
+
+        dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
+                () -> cartServiceMock.findOrInsertCartId(66L));
+        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
+    }
+
+    @Test
+    void findOrInsertCartIdCreatedConcurrently() {
+        when(cartRepositoryMock.findCartIdByUserId(1L)).thenReturn(Optional.empty(), Optional.of(8L));
+        when(userRepositoryMock.existsById(1L)).thenReturn(true);
+        when(userRepositoryMock.getReferenceById(1L)).thenReturn(user);
+        when(cartRepositoryMock.saveAndFlush(any(Cart.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
 
+        assertEquals(8L, cartServiceMock.findOrInsertCartId(1L));
+    }
+
+    @Test
+    void getCartItems() {
+        Long cartId = cart.getCartId();
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
+        when(cartItemRepositoryMock.findAllWithProductByCartId(cartId)).thenReturn(Set.of(cartItem));
         when(mappersMock.convertToCartItemResponseDto(any(CartItem.class))).thenReturn(cartItemResponseDto);
         Set<CartItemResponseDto> cartItemResponseDtoSet = new HashSet<>();
         cartItemResponseDtoSet.add(cartItemResponseDto);
-        Set<CartItemResponseDto> actualCartItemSet = cartServiceMock.getCartItems(email);
+        Set<CartItemResponseDto> actualCartItemSet = cartServiceMock.getCartItems(cartId);
 
-        verify(userRepositoryMock, times(1)).findByEmail(email);
+        verify(cartItemRepositoryMock, times(1)).findAllWithProductByCartId(cartId);
         verify(mappersMock, times(1)).convertToCartItemResponseDto(any(CartItem.class));
 
         assertFalse(actualCartItemSet.isEmpty());
         assertEquals(cartItemResponseDtoSet.size(), actualCartItemSet.size());
         assertEquals(cartItemResponseDtoSet.hashCode(), actualCartItemSet.hashCode());
-
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
-        dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> cartServiceMock.getCartItems(wrongEmail));
-        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
     }
 
     @Test
     void insertCartItem() {
-        String email = "arneoswald@example.com";
-        String wrongEmail = "julia.vladimirov@example.com";
+        Long cartId = cart.getCartId();
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
         when(productRepositoryMock.findById(cartItemRequestDto.getProductId())).thenReturn(Optional.of(product));
-        when(cartRepositoryMock.findById(user.getCart().getCartId())).thenReturn(Optional.of(cart));
+        when(cartItemRepositoryMock.existsByCartCartIdAndProductProductId(cartId, product.getProductId())).thenReturn(false);
+        when(cartRepositoryMock.getReferenceById(cartId)).thenReturn(cart);
 
-        cartServiceMock.insertCartItem(cartItemRequestDto, email);
+        cartServiceMock.insertCartItem(cartItemRequestDto, cartId);
 
-        verify(userRepositoryMock, times(1)).findByEmail(email);
         verify(productRepositoryMock, times(1)).findById(cartItemRequestDto.getProductId());
-        verify(cartRepositoryMock, times(1)).findById(user.getCart().getCartId());
-        verify(cartItemRepositoryMock, times(1)).save(any(CartItem.class));
-
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
-        dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> cartServiceMock.insertCartItem(cartItemRequestDto, wrongEmail));
-        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
-
+        verify(cartRepositoryMock, times(1)).getReferenceById(cartId);
+        verify(cartItemRepositoryMock, times(1)).save(argThat(item -> item.getCart() == cart && item.getProduct() == product
+                && item.getQuantity().equals(cartItemRequestDto.getQuantity())));
 
         when(productRepositoryMock.findById(wrongCartItemRequestDto.getProductId())).thenReturn(Optional.empty());
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> cartServiceMock.insertCartItem(wrongCartItemRequestDto, email));
+                () -> cartServiceMock.insertCartItem(wrongCartItemRequestDto, cartId));
         assertEquals("Product not found in database.", dataNotFoundInDataBaseException.getMessage());
 
-
         when(productRepositoryMock.findById(existingCartItemRequestDto.getProductId())).thenReturn(Optional.of(product));
+        when(cartItemRepositoryMock.existsByCartCartIdAndProductProductId(cartId, product.getProductId())).thenReturn(true);
         dataAlreadyExistsException = assertThrows(DataAlreadyExistsException.class,
-                () -> cartServiceMock.insertCartItem(existingCartItemRequestDto, email));
+                () -> cartServiceMock.insertCartItem(existingCartItemRequestDto, cartId));
         assertEquals("This product is already in cart.", dataAlreadyExistsException.getMessage());
-
-    }
-
-    @Test
-    void insertCartItemWhenNoCart() {
-        String email = "arneoswald@example.com";
-
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
-        when(productRepositoryMock.findById(cartItemRequestDto.getProductId())).thenReturn(Optional.of(product));
-        when(cartRepositoryMock.findById(user.getCart().getCartId())).thenReturn(Optional.empty());
-        when(cartRepositoryMock.save(any(Cart.class))).thenReturn(cart);
-        when(cartItemRepositoryMock.save(any(CartItem.class))).thenReturn(cartItem);
-
-
-        cartServiceMock.insertCartItem(cartItemRequestDto, email);
-
-        verify(userRepositoryMock, times(1)).findByEmail(email);
-        verify(productRepositoryMock, times(1)).findById(cartItemRequestDto.getProductId());
-        verify(cartRepositoryMock, times(1)).findById(user.getCart().getCartId());
-        verify(cartRepositoryMock, times(2)).save(any(Cart.class));
-        verify(cartItemRepositoryMock, times(1)).save(any(CartItem.class));
-    }
-
-    @Test
-    void insertCartItemWhenNoCartItemSet() {
-        String email = "arneoswald@example.com";
-
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
-        when(productRepositoryMock.findById(cartItemRequestDto.getProductId())).thenReturn(Optional.of(product));
-        when(cartRepositoryMock.findById(user.getCart().getCartId())).thenReturn(Optional.of(cart));
-        cart.setCartItems(null);
-        when(cartItemRepositoryMock.save(any(CartItem.class))).thenReturn(cartItem);
-        when(cartRepositoryMock.save(any(Cart.class))).thenReturn(cart);
-
-
-
-
-        cartServiceMock.insertCartItem(cartItemRequestDto, email);
-
-        verify(userRepositoryMock, times(1)).findByEmail(email);
-        verify(productRepositoryMock, times(1)).findById(cartItemRequestDto.getProductId());
-        verify(cartRepositoryMock, times(1)).findById(user.getCart().getCartId());
-        verify(cartRepositoryMock, times(1)).save(any(Cart.class));
-        verify(cartItemRepositoryMock, times(2)).save(any(CartItem.class));
     }
 
     @Test
     void deleteCartItemByProductId() {
-
-        String email = "arneoswald@example.com";
-        String wrongEmail = "julia.vladimirov@example.com";
+        Long cartId = cart.getCartId();
 
         Long productId = 1L;
         Long wrongProductId = 75L;
         Long notFoundProductId = 2L;
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
-        when(productRepositoryMock.findById(productId)).thenReturn(Optional.of(product));
-
-        cartServiceMock.deleteCartItemByProductId(email, productId);
+        when(cartItemRepositoryMock.deleteByCartIdAndProductId(cartId, productId)).thenReturn(1);
 
-        verify(userRepositoryMock, times(1)).findByEmail(email);
-        verify(productRepositoryMock, times(1)).findById(productId);
-        verify(cartItemRepositoryMock, times(1)).deleteById(user.getCart().getCartItems().iterator().next().getCartItemId());
+        cartServiceMock.deleteCartItemByProductId(cartId, productId);
 
+        verify(cartItemRepositoryMock, times(1)).deleteByCartIdAndProductId(cartId, productId);
+        verify(productRepositoryMock, never()).existsById(productId);
 
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
-        dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> cartServiceMock.deleteCartItemByProductId(wrongEmail, productId));
-        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
-
-        when(productRepositoryMock.findById(wrongProductId)).thenReturn(Optional.empty());
+        when(cartItemRepositoryMock.deleteByCartIdAndProductId(cartId, wrongProductId)).thenReturn(0);
+        when(productRepositoryMock.existsById(wrongProductId)).thenReturn(false);
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> cartServiceMock.deleteCartItemByProductId(email, wrongProductId));
+                () -> cartServiceMock.deleteCartItemByProductId(cartId, wrongProductId));
         assertEquals("Product not found in database.", dataNotFoundInDataBaseException.getMessage());
 
-        when(productRepositoryMock.findById(notFoundProductId)).thenReturn(Optional.of(notFoundProduct));
+        when(cartItemRepositoryMock.deleteByCartIdAndProductId(cartId, notFoundProductId)).thenReturn(0);
+        when(productRepositoryMock.existsById(notFoundProductId)).thenReturn(true);
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> cartServiceMock.deleteCartItemByProductId(email, notFoundProductId));
+                () -> cartServiceMock.deleteCartItemByProductId(cartId, notFoundProductId));
         assertEquals("No such product found in your cart.", dataNotFoundInDataBaseException.getMessage());
     }
-}
\ No newline at end of file
+}
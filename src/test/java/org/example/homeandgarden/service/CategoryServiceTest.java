@@ -5,6 +5,9 @@ import org.example.homeandgarden.dto.responsedto.CategoryResponseDto;
 import org.example.homeandgarden.entity.Category;
 import org.example.homeandgarden.exception.DataAlreadyExistsException;
 import org.example.homeandgarden.exception.DataNotFoundInDataBaseException;
+import org.example.homeandgarden.index.ProductCatalogIndex;
+import org.example.homeandgarden.index.ProductDiscountLeaderboard;
+import org.example.homeandgarden.index.ProductJsonFragments;
 import org.example.homeandgarden.mapper.Mappers;
 import org.example.homeandgarden.repository.CategoryRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +34,15 @@ class CategoryServiceTest {
     @Mock
     private Mappers mappersMock;
 
+    @Mock
+    private ProductCatalogIndex productCatalogIndexMock;
+
+    @Mock
+    private ProductDiscountLeaderboard productDiscountLeaderboardMock;
+
+    @Mock
+    private ProductJsonFragments productJsonFragmentsMock;
+
     @InjectMocks
     private CategoryService categoryServiceMock;
 
@@ -83,6 +95,9 @@ class CategoryServiceTest {
         categoryServiceMock.deleteCategory(id);
         verify(categoryRepositoryMock,times(1)).findById(id);
         verify(categoryRepositoryMock,times(1)).deleteById(id);
+        verify(productCatalogIndexMock,times(1)).removeCategory(id);
+        verify(productDiscountLeaderboardMock,times(1)).removeCategory(id);
+        verify(productJsonFragmentsMock, times(1)).invalidateAll();
 
         when(categoryRepositoryMock.findById(wrongId)).thenReturn(Optional.empty());
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
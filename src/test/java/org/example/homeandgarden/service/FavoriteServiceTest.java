@@ -156,85 +156,71 @@ class FavoriteServiceTest {
     @Test
     void getFavorite() {
 
-        String email = "arneoswald@example.com";
-        String wrongEmail = "julia.vladimirov@example.com";
+        Long userId = user.getUserId();
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
+        when(favoriteRepositoryMock.findAllWithProductByUserId(userId)).thenReturn(favoriteSet);
         when(mappersMock.convertToFavoriteResponseDto(any(Favorite.class))).thenReturn(favoriteResponseDto);
 
-        Set<FavoriteResponseDto> actualFavoriteResponseDtoSet = favoriteServiceMock.getFavorites(email);
+        Set<FavoriteResponseDto> actualFavoriteResponseDtoSet = favoriteServiceMock.getFavorites(userId);
 
-        verify(userRepositoryMock, times(1)).findByEmail(email);
+        verify(favoriteRepositoryMock, times(1)).findAllWithProductByUserId(userId);
         verify(mappersMock, times(1)).convertToFavoriteResponseDto(any(Favorite.class));
 
         assertFalse(actualFavoriteResponseDtoSet.isEmpty());
         assertEquals(favoriteResponseDtoSet.size(), actualFavoriteResponseDtoSet.size());
         assertEquals(favoriteResponseDtoSet.hashCode(), actualFavoriteResponseDtoSet.hashCode());
-
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
-        dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> favoriteServiceMock.getFavorites(wrongEmail));
-        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
     }
 
     @Test
     void insertFavorite() {
 
-        String email = "arneoswald@example.com";
-        String wrongEmail = "julia.vladimirov@example.com";
+        Long userId = user.getUserId();
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
         when(productRepositoryMock.findById(favoriteRequestDto.getProductId())).thenReturn(Optional.of(newProduct));
+        when(favoriteRepositoryMock.existsByUserUserIdAndProductProductId(userId, newProduct.getProductId())).thenReturn(false);
+        when(userRepositoryMock.getReferenceById(userId)).thenReturn(user);
 
-        favoriteServiceMock.insertFavorite(favoriteRequestDto, email);
+        favoriteServiceMock.insertFavorite(favoriteRequestDto, userId);
 
-        verify(favoriteRepositoryMock, times(1)).save(any(Favorite.class));
-
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
-        dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> favoriteServiceMock.insertFavorite(favoriteRequestDto, wrongEmail));
-        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
+        verify(favoriteRepositoryMock, times(1)).save(argThat(saved -> saved.getUser() == user && saved.getProduct() == newProduct));
 
         when(productRepositoryMock.findById(wrongFavoriteRequestDto.getProductId())).thenReturn(Optional.empty());
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> favoriteServiceMock.insertFavorite(wrongFavoriteRequestDto, email));
+                () -> favoriteServiceMock.insertFavorite(wrongFavoriteRequestDto, userId));
         assertEquals("Product not found in database.", dataNotFoundInDataBaseException.getMessage());
 
         when(productRepositoryMock.findById(existingFavoriteRequestDto.getProductId())).thenReturn(Optional.of(product));
+        when(favoriteRepositoryMock.existsByUserUserIdAndProductProductId(userId, product.getProductId())).thenReturn(true);
         dataAlreadyExistsException = assertThrows(DataAlreadyExistsException.class,
-                () -> favoriteServiceMock.insertFavorite(existingFavoriteRequestDto, email));
+                () -> favoriteServiceMock.insertFavorite(existingFavoriteRequestDto, userId));
         assertEquals("This product is already in favorites.", dataAlreadyExistsException.getMessage());
     }
 
     @Test
     void deleteFavoriteByProductId() {
 
-        String email = "arneoswald@example.com";
-        String wrongEmail = "julia.vladimirov@example.com";
+        Long userId = user.getUserId();
 
         Long productId = 1L;
         Long wrongProductId = 58L;
+        Long notFavoriteProductId = 2L;
 
+        when(favoriteRepositoryMock.deleteByUserIdAndProductId(userId, productId)).thenReturn(1);
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
-        when(productRepositoryMock.findById(productId)).thenReturn(Optional.of(product));
-
-        favoriteServiceMock.deleteFavoriteByProductId(email, productId);
-
-        verify(favoriteRepositoryMock, times(1)).deleteById(user.getFavorites().iterator().next().getFavoriteId());
-
-
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
-        when(productRepositoryMock.findById(wrongProductId)).thenReturn(Optional.empty());
+        favoriteServiceMock.deleteFavoriteByProductId(userId, productId);
 
+        verify(favoriteRepositoryMock, times(1)).deleteByUserIdAndProductId(userId, productId);
 
+        when(favoriteRepositoryMock.deleteByUserIdAndProductId(userId, wrongProductId)).thenReturn(0);
+        when(productRepositoryMock.existsById(wrongProductId)).thenReturn(false);
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> favoriteServiceMock.deleteFavoriteByProductId(email, wrongProductId));
+                () -> favoriteServiceMock.deleteFavoriteByProductId(userId, wrongProductId));
         assertEquals("Product not found in database.", dataNotFoundInDataBaseException.getMessage());
 
+        when(favoriteRepositoryMock.deleteByUserIdAndProductId(userId, notFavoriteProductId)).thenReturn(0);
+        when(productRepositoryMock.existsById(notFavoriteProductId)).thenReturn(true);
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> favoriteServiceMock.deleteFavoriteByProductId(wrongEmail, productId));
-        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
-
+                () -> favoriteServiceMock.deleteFavoriteByProductId(userId, notFavoriteProductId));
+        assertEquals("Product not found in Favorites.", dataNotFoundInDataBaseException.getMessage());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package org.example.homeandgarden.service;
+
+import org.example.homeandgarden.dto.requestdto.OrderItemRequestDto;
+import org.example.homeandgarden.dto.requestdto.OrderRequestDto;
+import org.example.homeandgarden.entity.Cart;
+import org.example.homeandgarden.entity.CartItem;
+import org.example.homeandgarden.entity.User;
+import org.example.homeandgarden.index.TrendingProducts;
+import org.example.homeandgarden.mapper.Mappers;
+import org.example.homeandgarden.repository.CartItemRepository;
+import org.example.homeandgarden.repository.ProductRepository;
+import org.example.homeandgarden.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({OrderService.class, DailyRevenueReconciler.class, TrendingProducts.class, Mappers.class, StatementCountingConfiguration.class})
+class OrderServiceCheckoutTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DailyRevenueReconciler dailyRevenueReconciler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void statementCountDoesNotDependOnCartSize() {
+        // The first checkout also reserves a block of order and order item ids.
+        checkout("sophiaphilipp@example.com", 1);
+        int smallCheckout = checkout("arneoswald@example.com", 1);
+        int largeCheckout = checkout("baerbelapel@example.com", 20);
+
+        assertEquals(smallCheckout, largeCheckout);
+        // One of them adds the order to the ProductSales aggregate.
+        assertTrue(largeCheckout <= 7, "Checkout executed " + largeCheckout + " statements");
+    }
+
+    @Test
+    void productSalesFollowOrderItems() {
+        checkout("sophiaphilipp@example.com", 3);
+        Long orderId = jdbcTemplate.queryForObject("SELECT MAX(OrderID) FROM Orders", Long.class);
+        assertEquals(salesFromOrderItems(), sales());
+
+        orderService.changeOrderStatus(orderId, "PENDING_PAYMENT");
+        entityManager.flush();
+        assertEquals(salesFromOrderItems(), sales());
+
+        orderService.cancelOrder(orderId, userRepository.findByEmail("sophiaphilipp@example.com").orElseThrow().getUserId());
+        entityManager.flush();
+        assertEquals(salesFromOrderItems(), sales());
+    }
+
+    @Test
+    void productSalesRowsAreCreatedForProductsWithoutThem() {
+        List<Long> productIds = productRepository.findAll().stream().limit(3).map(product -> product.getProductId()).toList();
+        jdbcTemplate.update("DELETE FROM ProductSales WHERE ProductID IN (?, ?)", productIds.get(0), productIds.get(1));
+
+        checkout("sophiaphilipp@example.com", 3);
+        Long orderId = jdbcTemplate.queryForObject("SELECT MAX(OrderID) FROM Orders", Long.class);
+        assertEquals(salesFromOrderItems(), sales());
+
+        jdbcTemplate.update("DELETE FROM ProductSales WHERE ProductID = ? AND Status = 'PAID'", productIds.get(2));
+        orderService.changeOrderStatus(orderId, "PAID");
+        entityManager.flush();
+        assertEquals(salesFromOrderItems(), sales());
+    }
+
+    @Test
+    void dailyRevenueFollowsPaidOrders() {
+        dailyRevenueReconciler.insertUpcomingDays();
+        checkout("sophiaphilipp@example.com", 3);
+        Long orderId = jdbcTemplate.queryForObject("SELECT MAX(OrderID) FROM Orders", Long.class);
+
+        orderService.changeOrderStatus(orderId, "PAID");
+        entityManager.flush();
+        assertEquals(revenueFromOrderItems(), revenue());
+
+        orderService.changeOrderStatus(orderId, "ON_THE_WAY");
+        orderService.changeOrderStatus(orderId, "CANCELED");
+        entityManager.flush();
+        assertEquals(revenueFromOrderItems(), revenue());
+
+        dailyRevenueReconciler.reconcile();
+        assertEquals(revenueFromOrderItems(), revenue());
+    }
+
+    @Test
+    void dailyRevenueRowIsCreatedForDaysWithoutOne() {
+        Long orderId = jdbcTemplate.queryForObject("SELECT MIN(OrderID) FROM Orders WHERE Status IN ('CREATED','PENDING_PAYMENT')", Long.class);
+        jdbcTemplate.update("DELETE FROM DailyRevenue WHERE RevenueDate = (SELECT CAST(CreatedAt AS DATE) FROM Orders WHERE OrderID = ?)", orderId);
+
+        orderService.changeOrderStatus(orderId, "PAID");
+        entityManager.flush();
+        assertEquals(revenueFromOrderItems(), revenue());
+
+        jdbcTemplate.update("DELETE FROM DailyRevenue WHERE RevenueDate = (SELECT CAST(CreatedAt AS DATE) FROM Orders WHERE OrderID = ?)", orderId);
+
+        orderService.changeOrderStatus(orderId, "CANCELED");
+        entityManager.flush();
+        assertEquals(revenueFromOrderItems(), revenue());
+    }
+
+    private List<Map<String, Object>> revenueFromOrderItems() {
+        return jdbcTemplate.queryForList("SELECT CAST(o.CreatedAt AS DATE) AS RevenueDate, SUM(oi.Quantity * oi.PriceAtPurchase) AS Revenue " +
+                "FROM Orders o JOIN OrderItems oi ON oi.OrderID = o.OrderID WHERE o.Status IN ('PAID','ON_THE_WAY','DELIVERED') " +
+                "GROUP BY CAST(o.CreatedAt AS DATE) ORDER BY RevenueDate");
+    }
+
+    private List<Map<String, Object>> revenue() {
+        return jdbcTemplate.queryForList("SELECT RevenueDate, Revenue FROM DailyRevenue WHERE Revenue <> 0 ORDER BY RevenueDate");
+    }
+
+    private List<Map<String, Object>> salesFromOrderItems() {
+        return jdbcTemplate.queryForList("SELECT oi.ProductID, o.Status, SUM(oi.Quantity) AS Quantity " +
+                "FROM OrderItems oi JOIN Orders o ON oi.OrderID = o.OrderID GROUP BY oi.ProductID, o.Status ORDER BY oi.ProductID, o.Status");
+    }
+
+    private List<Map<String, Object>> sales() {
+        return jdbcTemplate.queryForList("SELECT ProductID, Status, Quantity FROM ProductSales WHERE Quantity > 0 ORDER BY ProductID, Status");
+    }
+
+    private int checkout(String email, int items) {
+        User user = userRepository.findByEmail(email).orElseThrow();
+        Cart cart = user.getCart();
+        Set<OrderItemRequestDto> orderItems = new HashSet<>();
+        productRepository.findAll().stream().limit(items).forEach(product -> {
+            cartItemRepository.save(new CartItem(null, product, 2, cart));
+            orderItems.add(new OrderItemRequestDto(product.getProductId(), 2));
+        });
+        entityManager.flush();
+        entityManager.clear();
+        Integer ordersBefore = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM OrderItems", Integer.class);
+
+        StatementCountingConfiguration.reset();
+        orderService.insertOrder(new OrderRequestDto(orderItems, "Main street 1", "COURIER_DELIVERY"), user.getUserId(), cart.getCartId());
+        entityManager.flush();
+        int statements = StatementCountingConfiguration.statements();
+
+        assertEquals(ordersBefore + items, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM OrderItems", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM CartItems WHERE CartID = ?", Integer.class, cart.getCartId()));
+        return statements;
+    }
+}
@@ -5,10 +5,12 @@ import org.example.homeandgarden.dto.requestdto.OrderRequestDto;
 import org.example.homeandgarden.dto.responsedto.*;
 import org.example.homeandgarden.entity.*;
 import org.example.homeandgarden.entity.enums.DeliveryMethod;
+import org.example.homeandgarden.entity.query.OrderHistoryInterface;
 import org.example.homeandgarden.entity.enums.Role;
 import org.example.homeandgarden.entity.enums.Status;
 import org.example.homeandgarden.exception.DataNotFoundInDataBaseException;
 import org.example.homeandgarden.exception.OrderStatusException;
+import org.example.homeandgarden.index.TrendingProducts;
 import org.example.homeandgarden.mapper.Mappers;
 import org.example.homeandgarden.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,16 +19,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,11 +53,20 @@ class OrderServiceTest {
     @Mock
     private ProductRepository productRepositoryMock;
 
+    @Mock
+    private CartItemRepository cartItemRepositoryMock;
+
     @Mock
     private CartRepository cartRepositoryMock;
 
     @Mock
-    private CartItemRepository cartItemRepositoryMock;
+    private ProductSalesRepository productSalesRepositoryMock;
+
+    @Mock
+    private DailyRevenueRepository dailyRevenueRepositoryMock;
+
+    @Mock
+    private TrendingProducts trendingProductsMock;
 
     @InjectMocks
     private OrderService orderServiceMock;
@@ -156,7 +174,7 @@ class OrderServiceTest {
                 .deliveryMethod(DeliveryMethod.COURIER_DELIVERY)
                 .status(Status.PAID)
                 .updatedAt(Timestamp.valueOf(LocalDateTime.now()))
-                .orderItemsSet(null)
+                .orderItems(null)
                 .userResponseDto(new UserResponseDto())
                 .build();
 
@@ -168,9 +186,7 @@ class OrderServiceTest {
                 .quantity(5)
                 .build();
 
-        Set<OrderItemResponseDto> orderItemResponseDtoSet = new HashSet<>();
-        orderItemResponseDtoSet.add(orderItemResponseDto);
-        orderResponseDto.setOrderItemsSet(orderItemResponseDtoSet);
+        orderResponseDto.setOrderItems(List.of(orderItemResponseDto));
 
 //RequestDto
         orderItemRequestDto = OrderItemRequestDto.builder()
@@ -203,105 +219,150 @@ class OrderServiceTest {
     @Test
     void getOrderById() {
 
-        String email = "arneoswald@example.com";
-        String wrongEmail = "wrongemail@example.com";
-
+        Long userId = user.getUserId();
         Long orderId = 1L;
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
+        when(orderRepositoryMock.findWithItemsByOrderIdAndUserId(orderId, userId)).thenReturn(Optional.of(order));
         when(mappersMock.convertToOrderResponseDto(any(Order.class))).thenReturn(orderResponseDto);
         when(mappersMock.convertToOrderItemResponseDto(any(OrderItem.class))).thenReturn(orderItemResponseDto);
 
-        OrderResponseDto actualOrderResponseDto = orderServiceMock.getOrderById(orderId, email);
+        OrderResponseDto actualOrderResponseDto = orderServiceMock.getOrderById(orderId, userId);
 
-        verify(userRepositoryMock, times(1)).findByEmail(email);
+        verify(orderRepositoryMock, times(1)).findWithItemsByOrderIdAndUserId(orderId, userId);
         verify(mappersMock, times(1)).convertToOrderResponseDto(any(Order.class));
         verify(mappersMock, times(1)).convertToOrderItemResponseDto(any(OrderItem.class));
 
         assertNotNull(actualOrderResponseDto);
         assertEquals(orderResponseDto.getOrderId(), actualOrderResponseDto.getOrderId());
-        assertFalse(actualOrderResponseDto.getOrderItemsSet().isEmpty());
-        assertEquals(orderResponseDto.getOrderItemsSet().size(), actualOrderResponseDto.getOrderItemsSet().size());
-        assertEquals(orderResponseDto.getOrderItemsSet().hashCode(), actualOrderResponseDto.getOrderItemsSet().hashCode());
+        assertFalse(actualOrderResponseDto.getOrderItems().isEmpty());
+        assertEquals(orderResponseDto.getOrderItems(), actualOrderResponseDto.getOrderItems());
 
 
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> orderServiceMock.getOrderById(orderId, wrongEmail));
-        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
+                () -> orderServiceMock.getOrderById(2L, userId));
+        assertEquals("Order not found in database or doesn't belong to user.", dataNotFoundInDataBaseException.getMessage());
 
     }
 
     @Test
     void getOrderHistory() {
 
-        String email = "arneoswald@example.com";
-        String wrongEmail = "wrongemail@example.com";
+        Long userId = user.getUserId();
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
-        when(mappersMock.convertToOrderResponseDto(any(Order.class))).thenReturn(orderResponseDto);
-        when(mappersMock.convertToOrderItemResponseDto(any(OrderItem.class))).thenReturn(orderItemResponseDto);
-        Set<OrderResponseDto> ordersResponseDtoSet = new HashSet<>();
-        ordersResponseDtoSet.add(orderResponseDto);
+        List<OrderHistoryInterface> rows = List.of(orderHistoryRow(2L, 10L), orderHistoryRow(2L, 11L), orderHistoryRow(1L, 12L));
 
-        Set<OrderResponseDto> actualOrderResponseDtoSet = orderServiceMock.getOrderHistory(email);
+        when(orderRepositoryMock.findOrderIdsByUserId(eq(userId), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(2L, 1L), PageRequest.of(0, 2), true));
+        when(orderRepositoryMock.streamOrderHistoryByOrderIdIn(List.of(2L, 1L))).thenReturn(rows.stream());
+        when(mappersMock.convertToOrderResponseDto(any(OrderHistoryInterface.class))).thenAnswer(invocation ->
+                OrderResponseDto.builder()
+                        .orderId(invocation.<OrderHistoryInterface>getArgument(0).getOrderId())
+                        .orderItems(new ArrayList<>())
+                        .build());
+        when(mappersMock.convertToOrderItemResponseDto(any(OrderHistoryInterface.class))).thenAnswer(invocation ->
+                OrderItemResponseDto.builder()
+                        .orderItemId(invocation.<OrderHistoryInterface>getArgument(0).getOrderItemId())
+                        .build());
 
-        verify(userRepositoryMock, times(1)).findByEmail(email);
-        verify(mappersMock, times(1)).convertToOrderResponseDto(any(Order.class));
-        verify(mappersMock, times(1)).convertToOrderItemResponseDto(any(OrderItem.class));
+        OrderPageResponseDto actualOrderPageResponseDto = orderServiceMock.getOrderHistory(userId, 0, 2);
 
-        assertFalse(actualOrderResponseDtoSet.isEmpty());
-        assertEquals(ordersResponseDtoSet.size(), actualOrderResponseDtoSet.size());
-        assertEquals(ordersResponseDtoSet.hashCode(), actualOrderResponseDtoSet.hashCode());
+        verify(orderRepositoryMock, times(1)).streamOrderHistoryByOrderIdIn(List.of(2L, 1L));
+        verify(mappersMock, times(2)).convertToOrderResponseDto(any(OrderHistoryInterface.class));
+        verify(mappersMock, times(3)).convertToOrderItemResponseDto(any(OrderHistoryInterface.class));
 
+        assertEquals(List.of(2L, 1L), actualOrderPageResponseDto.getItems().stream().map(OrderResponseDto::getOrderId).toList());
+        assertEquals(2, actualOrderPageResponseDto.getItems().get(0).getOrderItems().size());
+        assertEquals(12L, actualOrderPageResponseDto.getItems().get(1).getOrderItems().get(0).getOrderItemId());
+        assertTrue(actualOrderPageResponseDto.getHasNext());
 
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
-        dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> orderServiceMock.getOrderHistory(wrongEmail));
-        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
 
+        when(orderRepositoryMock.findOrderIdsByUserId(eq(userId), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        OrderPageResponseDto emptyOrderPageResponseDto = orderServiceMock.getOrderHistory(userId, 0, 2);
+        assertTrue(emptyOrderPageResponseDto.getItems().isEmpty());
+        assertFalse(emptyOrderPageResponseDto.getHasNext());
+    }
 
-        user.setOrders(null);
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
-        dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> orderServiceMock.getOrderHistory(email));
-        assertEquals("No orders were placed yet.", dataNotFoundInDataBaseException.getMessage());
+    private OrderHistoryInterface orderHistoryRow(Long orderId, Long orderItemId) {
+        OrderHistoryInterface row = mock(OrderHistoryInterface.class);
+        when(row.getOrderId()).thenReturn(orderId);
+        lenient().when(row.getOrderItemId()).thenReturn(orderItemId);
+        return row;
     }
 
     @Test
     void insertOrder() {
 
-        String email = "arneoswald@example.com";
-        String wrongEmail = "wrongemail@example.com";
+        Long userId = user.getUserId();
+        Long wrongUserId = 99L;
+        Long cartId = cart.getCartId();
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
-        when(productRepositoryMock.findById(orderRequestDto.getOrderItemsSet().iterator().next().getProductId())).thenReturn(Optional.of(product));
+        when(userRepositoryMock.findPhoneByUserId(userId)).thenReturn(Optional.of(user.getPhone()));
+        when(userRepositoryMock.getReferenceById(userId)).thenReturn(user);
+        when(productRepositoryMock.findAllWithCategoryByIdIn(Set.of(1L))).thenReturn(List.of(product));
         when(orderRepositoryMock.save(any(Order.class))).thenReturn(order);
-        when(cartRepositoryMock.findById(user.getCart().getCartId())).thenReturn(Optional.of(cart));
 
-        orderServiceMock.insertOrder(orderRequestDto, email);
+        orderServiceMock.insertOrder(orderRequestDto, userId, cartId);
 
-        verify(orderRepositoryMock, times(2)).save(any(Order.class));
-        verify(orderItemRepositoryMock, times(1)).save(any(OrderItem.class));
-        verify(cartItemRepositoryMock, times(1)).deleteById(cart.getCartItems().iterator().next().getCartItemId());
+        verify(productRepositoryMock, times(1)).findAllWithCategoryByIdIn(Set.of(1L));
+        verify(orderRepositoryMock, times(1)).save(argThat(saved -> saved.getUser() == user
+                && saved.getContactPhone().equals(user.getPhone())));
+        verify(orderItemRepositoryMock, times(1)).saveAll(argThat((List<OrderItem> orderItems) -> orderItems.size() == 1
+                && orderItems.getFirst().getOrder() == order
+                && orderItems.getFirst().getQuantity() == 5
+                && orderItems.getFirst().getPriceAtPurchase().equals(product.getDiscountPrice())));
+        verify(productSalesRepositoryMock, times(1)).addOrder(order.getOrderId(), Status.CREATED);
+        verify(productSalesRepositoryMock, times(1)).insertMissingSales(order.getOrderId());
+        verify(trendingProductsMock, times(1)).record(argThat((List<OrderItem> orderItems) -> orderItems.size() == 1));
+        verify(cartItemRepositoryMock, times(1)).deleteByCartId(cartId);
 
 
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
+        when(userRepositoryMock.findPhoneByUserId(wrongUserId)).thenReturn(Optional.empty());
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> orderServiceMock.insertOrder(orderRequestDto, wrongEmail));
+                () -> orderServiceMock.insertOrder(orderRequestDto, wrongUserId, cartId));
         assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
 
 
-        when(productRepositoryMock.findById(wrongOrderRequestDto.getOrderItemsSet().iterator().next().getProductId())).thenReturn(Optional.empty());
+        when(productRepositoryMock.findAllWithCategoryByIdIn(Set.of(66L))).thenReturn(List.of());
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> orderServiceMock.insertOrder(wrongOrderRequestDto, email));
+                () -> orderServiceMock.insertOrder(wrongOrderRequestDto, userId, cartId));
         assertEquals("Product not found in database.", dataNotFoundInDataBaseException.getMessage());
+        verifyNoMoreInteractions(orderItemRepositoryMock, cartItemRepositoryMock);
+    }
 
+    @Test
+    void insertOrderWithoutCartId() {
+        Long userId = user.getUserId();
 
-        when(cartRepositoryMock.findById(user.getCart().getCartId())).thenReturn(Optional.empty());
-        dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> orderServiceMock.insertOrder(orderRequestDto, email));
-        assertEquals("Cart not found in database.", dataNotFoundInDataBaseException.getMessage());
+        when(userRepositoryMock.findPhoneByUserId(userId)).thenReturn(Optional.of(user.getPhone()));
+        when(userRepositoryMock.getReferenceById(userId)).thenReturn(user);
+        when(productRepositoryMock.findAllWithCategoryByIdIn(Set.of(1L))).thenReturn(List.of(product));
+        when(orderRepositoryMock.save(any(Order.class))).thenReturn(order);
+        when(cartRepositoryMock.findCartIdByUserId(userId)).thenReturn(Optional.of(7L));
+
+        orderServiceMock.insertOrder(orderRequestDto, userId, null);
+
+        verify(cartItemRepositoryMock, times(1)).deleteByCartId(7L);
+
+
+        when(cartRepositoryMock.findCartIdByUserId(userId)).thenReturn(Optional.empty());
+
+        orderServiceMock.insertOrder(orderRequestDto, userId, null);
+
+        verify(orderItemRepositoryMock, times(2)).saveAll(anyList());
+        verifyNoMoreInteractions(cartItemRepositoryMock);
+    }
+
+    @Test
+    void changeOrderStatusOfDayWithoutRevenueRow() {
+        Long orderId = 1L;
+        LocalDate revenueDate = order.getCreatedAt().toLocalDateTime().toLocalDate();
+
+        when(orderRepositoryMock.findById(orderId)).thenReturn(Optional.of(order));
+        when(dailyRevenueRepositoryMock.addOrder(revenueDate, orderId, 1)).thenReturn(0);
+
+        orderServiceMock.changeOrderStatus(orderId, "PAID");
+
+        verify(dailyRevenueRepositoryMock, times(1)).insertDayFromOrderItems(revenueDate, revenueDate.plusDays(1));
     }
 
     @Test
@@ -312,11 +373,20 @@ class OrderServiceTest {
         String status = "PAID";
 
         when(orderRepositoryMock.findById(orderId)).thenReturn(Optional.of(order));
+        when(dailyRevenueRepositoryMock.addOrder(any(LocalDate.class), eq(orderId), anyInt())).thenReturn(1);
 
         orderServiceMock.changeOrderStatus(orderId, status);
 
         verify(orderRepositoryMock, times(1)).findById(orderId);
         verify(orderRepositoryMock, times(1)).save(any(Order.class));
+        verify(productSalesRepositoryMock, times(1)).moveOrder(orderId, Status.CREATED, Status.PAID);
+        verify(productSalesRepositoryMock, times(1)).insertMissingSales(orderId);
+        verify(dailyRevenueRepositoryMock, times(1)).addOrder(order.getCreatedAt().toLocalDateTime().toLocalDate(), orderId, 1);
+
+        orderServiceMock.changeOrderStatus(orderId, "ON_THE_WAY");
+        orderServiceMock.changeOrderStatus(orderId, "CANCELED");
+        verify(dailyRevenueRepositoryMock, times(1)).addOrder(order.getCreatedAt().toLocalDateTime().toLocalDate(), orderId, -1);
+        verifyNoMoreInteractions(dailyRevenueRepositoryMock);
 
         when(orderRepositoryMock.findById(WrongOrderId)).thenReturn(Optional.empty());
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
@@ -344,20 +414,22 @@ class OrderServiceTest {
     void cancelOrder() {
         Long orderId = 1L;
 
-        String email = "arneoswald@example.com";
-        String wrongEmail = "wrongemail@example.com";
+        Long userId = user.getUserId();
+        Long otherUserId = 99L;
 
-        when(userRepositoryMock.findByEmail(email)).thenReturn(Optional.of(user));
+        when(orderRepositoryMock.findByOrderIdAndUserUserId(orderId, userId)).thenReturn(Optional.of(order));
 
-        orderServiceMock.cancelOrder(orderId, email);
+        orderServiceMock.cancelOrder(orderId, userId);
 
-        verify(userRepositoryMock, times(1)).findByEmail(email);
+        verify(orderRepositoryMock, times(1)).findByOrderIdAndUserUserId(orderId, userId);
         verify(orderRepositoryMock, times(1)).save(any(Order.class));
+        verify(productSalesRepositoryMock, times(1)).moveOrder(orderId, Status.CREATED, Status.CANCELED);
+        verifyNoInteractions(dailyRevenueRepositoryMock);
 
-        when(userRepositoryMock.findByEmail(wrongEmail)).thenReturn(Optional.empty());
+        when(orderRepositoryMock.findByOrderIdAndUserUserId(orderId, otherUserId)).thenReturn(Optional.empty());
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
-                () -> orderServiceMock.cancelOrder(orderId, wrongEmail));
-        assertEquals("User not found in database.", dataNotFoundInDataBaseException.getMessage());
+                () -> orderServiceMock.cancelOrder(orderId, otherUserId));
+        assertEquals("Order not found in database or doesn't belong to user.", dataNotFoundInDataBaseException.getMessage());
 
     }
 
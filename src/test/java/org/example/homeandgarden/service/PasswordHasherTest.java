@@ -0,0 +1,93 @@
+package org.example.homeandgarden.service;
+
+import org.example.homeandgarden.exception.PasswordHashingOverloadedException;
+import org.example.homeandgarden.security.service.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void hashesOnItsOwnThreadsAndRecordsTheTime() {
+        passwordHasher = new PasswordHasher(new BlockingPasswordEncoder(), 1, 1, Duration.ofSeconds(5), meterRegistry);
+        release.countDown();
+
+        assertEquals("hash:ClientPass1$trong", passwordHasher.encode("ClientPass1$trong"));
+        assertTrue(passwordHasher.matches("ClientPass1$trong", "hash:ClientPass1$trong"));
+        assertFalse(passwordHasher.matches("WrongPass1$trong", "hash:ClientPass1$trong"));
+
+        assertEquals(1, meterRegistry.get("password.hashing.time").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.time").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void shedsLoadOnceTheQueueIsFull() throws Exception {
+        passwordHasher = new PasswordHasher(new BlockingPasswordEncoder(), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        Future<String> running = callers.submit(() -> passwordHasher.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> passwordHasher.encode("second"));
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingOverloadedException.class, () -> passwordHasher.encode("third"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givesUpAfterTheTimeout() {
+        passwordHasher = new PasswordHasher(new BlockingPasswordEncoder(), 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        assertThrows(PasswordHashingOverloadedException.class, () -> passwordHasher.matches("password", "hash:password"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
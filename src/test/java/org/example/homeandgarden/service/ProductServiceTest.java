@@ -1,33 +1,54 @@
 package org.example.homeandgarden.service;
 
 import org.example.homeandgarden.dto.querydto.ProductCountDto;
+import org.example.homeandgarden.dto.querydto.ProductCursor;
+import org.example.homeandgarden.dto.querydto.ProductFilter;
 import org.example.homeandgarden.dto.querydto.ProductPendingDto;
 import org.example.homeandgarden.dto.querydto.ProductProfitDto;
+import org.example.homeandgarden.dto.querydto.ProductTrendDto;
 import org.example.homeandgarden.dto.requestdto.ProductRequestDto;
 import org.example.homeandgarden.dto.responsedto.CategoryResponseDto;
+import org.example.homeandgarden.dto.responsedto.ProductPageResponseDto;
 import org.example.homeandgarden.dto.responsedto.ProductResponseDto;
 import org.example.homeandgarden.entity.Category;
+import org.example.homeandgarden.entity.DailyRevenue;
 import org.example.homeandgarden.entity.Product;
+import org.example.homeandgarden.entity.ProductSales;
+import org.example.homeandgarden.entity.enums.Status;
 import org.example.homeandgarden.entity.query.ProductCountInterface;
 import org.example.homeandgarden.entity.query.ProductPendingInterface;
-import org.example.homeandgarden.entity.query.ProductProfitInterface;
 import org.example.homeandgarden.exception.DataNotFoundInDataBaseException;
+import org.example.homeandgarden.exception.InvalidCursorException;
+import org.example.homeandgarden.index.ProductCatalogIndex;
+import org.example.homeandgarden.index.ProductDiscountLeaderboard;
+import org.example.homeandgarden.index.ProductJsonFragments;
+import org.example.homeandgarden.index.TrendingProducts;
 import org.example.homeandgarden.mapper.Mappers;
 import org.example.homeandgarden.repository.CategoryRepository;
+import org.example.homeandgarden.repository.DailyRevenueRepository;
 import org.example.homeandgarden.repository.ProductRepository;
+import org.example.homeandgarden.repository.ProductSalesRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,10 +61,29 @@ class ProductServiceTest {
     private ProductRepository productRepositoryMock;
     @Mock
     private CategoryRepository categoryRepositoryMock;
+    @Mock
+    private ProductSalesRepository productSalesRepositoryMock;
+    @Mock
+    private DailyRevenueRepository dailyRevenueRepositoryMock;
 
     @Mock
     private Mappers mappersMock;
 
+    @Mock
+    private ProductCatalogIndex productCatalogIndexMock;
+
+    @Mock
+    private ProductDiscountLeaderboard productDiscountLeaderboardMock;
+
+    @Mock
+    private ProductJsonFragments productJsonFragmentsMock;
+
+    @Mock
+    private TrendingProducts trendingProductsMock;
+
+    @Mock
+    private EntityManager entityManagerMock;
+
     @InjectMocks
     private ProductService productServiceMock;
 
@@ -144,6 +184,9 @@ class ProductServiceTest {
         productServiceMock.deleteProduct(id);
 
         verify(productRepositoryMock,times(1)).deleteById(product.getProductId());
+        verify(productCatalogIndexMock,times(1)).remove(product.getProductId());
+        verify(productDiscountLeaderboardMock,times(1)).remove(product.getProductId());
+        verify(productJsonFragmentsMock, times(1)).invalidate(product.getProductId());
 
         when(productRepositoryMock.findById(wrongId)).thenReturn(Optional.empty());
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
@@ -155,11 +198,17 @@ class ProductServiceTest {
     void insertProduct() {
         when(categoryRepositoryMock.findCategoryByName(productRequestDto.getCategory())).thenReturn(category);
         when(mappersMock.convertToProduct(any(ProductRequestDto.class))).thenReturn(productToInsert);
+        when(productRepositoryMock.save(productToInsert)).thenReturn(product);
 
         productServiceMock.insertProduct(productRequestDto);
 
         verify(mappersMock, times(1)).convertToProduct(any(ProductRequestDto.class));
         verify(productRepositoryMock, times(1)).save(productToInsert);
+        verify(entityManagerMock, times(Status.values().length)).persist(argThat((ProductSales sales) ->
+                sales.getProductId().equals(product.getProductId()) && sales.getQuantity() == 0L));
+        verify(productCatalogIndexMock, times(1)).put(product);
+        verify(productDiscountLeaderboardMock, times(1)).put(product);
+        verify(productJsonFragmentsMock, times(1)).invalidate(product.getProductId());
 
         when(categoryRepositoryMock.findCategoryByName(wrongProductRequestDto.getCategory())).thenReturn(null);
         dataNotFoundInDataBaseException = assertThrows(DataNotFoundInDataBaseException.class,
@@ -167,6 +216,28 @@ class ProductServiceTest {
         assertEquals("Category not found in database.", dataNotFoundInDataBaseException.getMessage());
     }
 
+    @Test
+    void insertProductUpdatesIndexesOnlyAfterCommit() {
+        when(categoryRepositoryMock.findCategoryByName(productRequestDto.getCategory())).thenReturn(category);
+        when(mappersMock.convertToProduct(any(ProductRequestDto.class))).thenReturn(productToInsert);
+        when(productRepositoryMock.save(productToInsert)).thenReturn(product);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            productServiceMock.insertProduct(productRequestDto);
+
+            verifyNoInteractions(productCatalogIndexMock, productDiscountLeaderboardMock, productJsonFragmentsMock);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(productCatalogIndexMock, times(1)).put(product);
+        verify(productDiscountLeaderboardMock, times(1)).put(product);
+        verify(productJsonFragmentsMock, times(1)).invalidate(product.getProductId());
+    }
+
     @Test
     void updateProduct() {
         Long id = 1L;
@@ -178,6 +249,7 @@ class ProductServiceTest {
         productServiceMock.updateProduct(productRequestDto,id);
 
         verify(productRepositoryMock, times(1)).save(any(Product.class));
+        verify(productJsonFragmentsMock, times(1)).invalidate(id);
 
         when(productRepositoryMock.findById(wrongId)).thenReturn(Optional.empty());
         when(categoryRepositoryMock.findCategoryByName(wrongProductRequestDto.getCategory())).thenReturn(null);
@@ -202,6 +274,7 @@ class ProductServiceTest {
         productServiceMock.setDiscountPrice(id, discountPrice);
 
         verify(productRepositoryMock, times(1)).save(any(Product.class));
+        verify(productJsonFragmentsMock, times(1)).invalidate(id);
 
 
         when(productRepositoryMock.findById(wrongId)).thenReturn(Optional.empty());
@@ -222,6 +295,32 @@ class ProductServiceTest {
         verify(mappersMock, times(1)).convertToProductResponseDto(any(Product.class));
     }
 
+    @Test
+    void getMaxDiscountProductFromLeaderboard() {
+        ProductResponseDto otherProductResponseDto = ProductResponseDto.builder().productId(2L).build();
+        when(productDiscountLeaderboardMock.isReady()).thenReturn(true);
+        when(productDiscountLeaderboardMock.maxDiscount()).thenReturn(List.of(productResponseDto, otherProductResponseDto));
+
+        ProductResponseDto actualProductResponseDto = productServiceMock.getMaxDiscountProduct();
+
+        assertTrue(List.of(productResponseDto, otherProductResponseDto).contains(actualProductResponseDto));
+        verifyNoInteractions(productRepositoryMock, mappersMock);
+    }
+
+    @Test
+    void getTopDiscountProducts() {
+        when(productRepositoryMock.findTopDiscountProducts(PageRequest.of(0, 5))).thenReturn(List.of(product));
+        when(mappersMock.convertToProductResponseDto(product)).thenReturn(productResponseDto);
+
+        assertEquals(List.of(productResponseDto), productServiceMock.getTopDiscountProducts(5));
+
+        when(productDiscountLeaderboardMock.isReady()).thenReturn(true);
+        when(productDiscountLeaderboardMock.top(5)).thenReturn(List.of(productResponseDto));
+
+        assertEquals(List.of(productResponseDto), productServiceMock.getTopDiscountProducts(5));
+        verify(productRepositoryMock, times(1)).findTopDiscountProducts(PageRequest.of(0, 5));
+    }
+
 
     @Test
     void getTop10Products() {
@@ -266,17 +365,18 @@ class ProductServiceTest {
             }
         }
         ProductCountDto productCountDto =ProductCountDto.builder().productId(1L).name("Test name").status("PAID").count(2).sum(BigDecimal.valueOf(1.0)).build();
-        String sort = "Price";
+        String status = "PAID";
         ProductCountInterface productCountMock = new MockProductCount(1L, "Test name", "PAID",2, BigDecimal.valueOf(1.0));
 
         List<ProductCountInterface> productCountInterfaceList = List.of(productCountMock);
 
-        when(productRepositoryMock.findTop10Products(anyString())).thenReturn(productCountInterfaceList);
+        when(productSalesRepositoryMock.findTop10PaidProducts()).thenReturn(productCountInterfaceList);
         when(mappersMock.convertToProductCountDto(any(ProductCountInterface.class))).thenReturn(productCountDto);
 
-        List <ProductCountDto> actualProductCountDto = productServiceMock.getTop10Products(sort);
+        List <ProductCountDto> actualProductCountDto = productServiceMock.getTop10Products(status);
 
-        verify(productRepositoryMock, times(1)).findTop10Products(sort);
+        verify(productSalesRepositoryMock, times(1)).findTop10PaidProducts();
+        verify(productSalesRepositoryMock, never()).findTop10CanceledProducts();
         assertEquals(1, actualProductCountDto.size());
         assertNotNull(actualProductCountDto.getFirst());
         assertEquals(productCountDto.getProductId(), actualProductCountDto.getFirst().getProductId());
@@ -286,26 +386,126 @@ class ProductServiceTest {
         assertEquals(productCountDto.getSum(), actualProductCountDto.getFirst().getSum());
     }
 
+    @Test
+    void getTrendingProducts() {
+        ProductTrendDto productTrendDto = new ProductTrendDto(1L, "Test Name", 12L, 0L);
+
+        when(trendingProductsMock.top(TrendingProducts.Window.HOUR, 5)).thenReturn(List.of(productTrendDto));
+
+        List<ProductTrendDto> actualProductTrendDto = productServiceMock.getTrendingProducts("1h", 5);
+
+        verify(trendingProductsMock, times(1)).top(TrendingProducts.Window.HOUR, 5);
+        assertEquals(List.of(productTrendDto), actualProductTrendDto);
+    }
+
     @Test
     void getProductsByFilter() {
-        Boolean hasCategory = true;
         Long categoryId = 1L;
         BigDecimal minPrice = BigDecimal.valueOf(0.00);
         BigDecimal maxPrice = BigDecimal.valueOf(100.00);
         Boolean hasDiscount = true;
         String sort = "name,asc";
         Sort sortObject = orderBy("name", true);
-        when(productRepositoryMock.findProductsByFilter(hasCategory,categoryId,minPrice,maxPrice,hasDiscount,sortObject)).thenReturn(List.of(product));
+        when(productRepositoryMock.findProductsByCategoryAndFilter(categoryId,minPrice,maxPrice,hasDiscount,sortObject)).thenReturn(List.of(product));
         when(mappersMock.convertToProductResponseDto(product)).thenReturn(productResponseDto);
 
-        List<ProductResponseDto> actualProductResponseDto = productServiceMock.getProductsByFilter(categoryId, minPrice, maxPrice, hasDiscount, sort);
+        List<ProductResponseDto> actualProductResponseDto = productServiceMock.getProductsByFilter(new ProductFilter(categoryId, minPrice, maxPrice, hasDiscount, sort));
 
         assertFalse(actualProductResponseDto.isEmpty());
-        verify(productRepositoryMock, times(1)).findProductsByFilter(hasCategory,categoryId,minPrice,maxPrice,hasDiscount,sortObject);
+        verify(productRepositoryMock, times(1)).findProductsByCategoryAndFilter(categoryId,minPrice,maxPrice,hasDiscount,sortObject);
+        verify(productRepositoryMock, never()).findProductsByFilter(any(), any(), any(), any());
         verify(mappersMock, times(1)).convertToProductResponseDto(product);
         assertEquals(product.getProductId(),actualProductResponseDto.getFirst().getProductId());
     }
 
+    @Test
+    void getProductsByFilterFromIndex() {
+        Long categoryId = 1L;
+        BigDecimal minPrice = BigDecimal.valueOf(0.00);
+        BigDecimal maxPrice = BigDecimal.valueOf(100.00);
+        when(productCatalogIndexMock.isReady()).thenReturn(true);
+        when(productCatalogIndexMock.query(categoryId, minPrice, maxPrice, true, "price", false)).thenReturn(List.of(productResponseDto));
+
+        List<ProductResponseDto> actualProductResponseDto = productServiceMock.getProductsByFilter(new ProductFilter(categoryId, minPrice, maxPrice, true, "price,desc"));
+
+        verify(productCatalogIndexMock, times(1)).query(categoryId, minPrice, maxPrice, true, "price", false);
+        verifyNoInteractions(productRepositoryMock);
+        verify(mappersMock, never()).convertToProductResponseDto(any(Product.class));
+        assertEquals(productResponseDto.getProductId(), actualProductResponseDto.getFirst().getProductId());
+    }
+
+    @Test
+    void streamProductsByFilter() {
+        BigDecimal minPrice = BigDecimal.valueOf(0.00);
+        BigDecimal maxPrice = BigDecimal.valueOf(100.00);
+        Sort sortObject = orderBy("price", false);
+        when(productRepositoryMock.streamProductsByFilter(minPrice, maxPrice, false, sortObject)).thenReturn(Stream.of(product, product));
+        when(mappersMock.convertToProductResponseDto(product)).thenReturn(productResponseDto);
+        List<ProductResponseDto> streamed = new ArrayList<>();
+
+        productServiceMock.streamProductsByFilter(new ProductFilter(null, minPrice, maxPrice, false, "price,desc"), streamed::add);
+
+        assertEquals(2, streamed.size());
+        verify(entityManagerMock, times(2)).detach(product);
+        verify(productRepositoryMock, never()).findProductsByFilter(any(), any(), any(), any());
+    }
+
+    @Test
+    void streamProductsByFilterFromIndex() {
+        BigDecimal minPrice = BigDecimal.valueOf(0.00);
+        BigDecimal maxPrice = BigDecimal.valueOf(100.00);
+        when(productCatalogIndexMock.isReady()).thenReturn(true);
+        when(productCatalogIndexMock.query(1L, minPrice, maxPrice, false, "name", true)).thenReturn(List.of(productResponseDto));
+        List<ProductResponseDto> streamed = new ArrayList<>();
+
+        productServiceMock.streamProductsByFilter(new ProductFilter(1L, minPrice, maxPrice, null, null), streamed::add);
+
+        assertEquals(List.of(productResponseDto), streamed);
+        verifyNoInteractions(productRepositoryMock);
+    }
+
+    @Test
+    void getProductsPageByFilter() {
+        Long categoryId = 1L;
+        BigDecimal minPrice = BigDecimal.valueOf(0.00);
+        BigDecimal maxPrice = BigDecimal.valueOf(100.00);
+        String after = new ProductCursor("price", true, 7L, "5000").encode();
+        when(productRepositoryMock.findProductsByFilterAfter(categoryId, minPrice, maxPrice, true, "price", true, new BigDecimal("50.00"), 7L, 2))
+                .thenReturn(List.of(product, product));
+        when(mappersMock.convertToProductResponseDto(product)).thenReturn(productResponseDto);
+
+        ProductPageResponseDto actualPage = productServiceMock.getProductsPageByFilter(new ProductFilter(categoryId, minPrice, maxPrice, true, "price,asc"), after, 1);
+
+        verify(productRepositoryMock, times(1)).findProductsByFilterAfter(categoryId, minPrice, maxPrice, true, "price", true, new BigDecimal("50.00"), 7L, 2);
+        assertEquals(1, actualPage.getItems().size());
+        assertEquals(new ProductCursor("price", true, 1L, "10000"), ProductCursor.decode(actualPage.getNext()));
+    }
+
+    @Test
+    void getProductsPageByFilterFromIndex() {
+        BigDecimal minPrice = BigDecimal.valueOf(0.00);
+        BigDecimal maxPrice = BigDecimal.valueOf(100.00);
+        when(productCatalogIndexMock.isReady()).thenReturn(true);
+        when(productCatalogIndexMock.queryAfter(null, minPrice, maxPrice, false, "name", true, null, 21)).thenReturn(List.of(productResponseDto));
+
+        ProductPageResponseDto actualPage = productServiceMock.getProductsPageByFilter(new ProductFilter(null, minPrice, maxPrice, false, null), null, 20);
+
+        verifyNoInteractions(productRepositoryMock);
+        assertEquals(List.of(productResponseDto), actualPage.getItems());
+        assertNull(actualPage.getNext());
+    }
+
+    @Test
+    void getProductsPageByFilterWithForeignCursor() {
+        String after = new ProductCursor("name", true, 7L, "Name").encode();
+
+        assertThrows(InvalidCursorException.class,
+                () -> productServiceMock.getProductsPageByFilter(new ProductFilter(null, null, null, false, "name,desc"), after, 20));
+        assertThrows(InvalidCursorException.class,
+                () -> productServiceMock.getProductsPageByFilter(new ProductFilter(null, null, null, false, "name,asc"), "bm90LWEtY3Vyc29y", 20));
+        verifyNoInteractions(productRepositoryMock, productCatalogIndexMock);
+    }
+
     @Test
     void findProductPending() {
         class MockProductPending implements ProductPendingInterface {
@@ -345,10 +545,10 @@ class ProductServiceTest {
         Integer day = 5;
         ProductPendingInterface productPendingMock = new MockProductPending(1L,"Test name",2,"PENDING");
         List<ProductPendingInterface> productPendingInterfaceList = List.of(productPendingMock);
-        when(productRepositoryMock.findProductPending(anyInt())).thenReturn(productPendingInterfaceList);
+        when(productRepositoryMock.findProductPending(any(Timestamp.class))).thenReturn(productPendingInterfaceList);
         when(mappersMock.convertToProductPendingDto(any(ProductPendingInterface.class))).thenReturn(productPendingDto);
         List <ProductPendingDto> actualProductPendingDto = productServiceMock.findProductPending(day);
-        verify(productRepositoryMock, times(1)).findProductPending(day);
+        verify(productRepositoryMock, times(1)).findProductPending(argThat(createdBefore -> Math.abs(Duration.between(createdBefore.toLocalDateTime(), LocalDateTime.now().minusDays(day)).toMinutes()) < 1));
         assertEquals(1, actualProductPendingDto.size());
         assertNotNull(actualProductPendingDto.getFirst());
         assertEquals(productPendingDto.getProductId(), actualProductPendingDto.getFirst().getProductId());
@@ -359,39 +559,35 @@ class ProductServiceTest {
 
     @Test
     void findProductProfit() {
-        class MockProductProfit implements ProductProfitInterface {
-            private String period;
-            private BigDecimal sum;
-
-            public MockProductProfit(String period, BigDecimal sum) {
-                this.period = period;
-                this.sum = sum;
-            }
-            @Override
-            public String getPeriod() {
-                return period;
-            }
-            @Override
-            public BigDecimal getSum() {
-                return sum;
-            }
-        }
-        ProductProfitDto productProfitDto = ProductProfitDto.builder().period("WEEK").sum(BigDecimal.valueOf(22.0)).build();
-        String period = "WEEK";
-        Integer interval = 5;
-        ProductProfitInterface productProfitInterface = new MockProductProfit("WEEK",BigDecimal.valueOf(22.0));
-        List<ProductProfitInterface> productProfitInterfaceList = List.of(productProfitInterface);
-        when(productRepositoryMock.findProfitByPeriod(anyString(),anyInt())).thenReturn(productProfitInterfaceList);
-        when(mappersMock.convertToProductProfitDto(any(ProductProfitInterface.class))).thenReturn(productProfitDto);
-
-        List <ProductProfitDto> actualProductProfitDto = productServiceMock.findProductProfit(period,interval);
-        verify(productRepositoryMock, times(1)).findProfitByPeriod(period,interval);
-        assertEquals(1, actualProductProfitDto.size());
-        assertNotNull(actualProductProfitDto.getFirst());
-        assertEquals(productProfitDto.getPeriod(), actualProductProfitDto.getFirst().getPeriod());
-        assertEquals(productProfitDto.getSum(), actualProductProfitDto.getFirst().getSum());
-
+        List<DailyRevenue> dailyRevenue = List.of(
+                new DailyRevenue(LocalDate.of(2020, 12, 31), new BigDecimal("10.50")),
+                new DailyRevenue(LocalDate.of(2021, 1, 1), new BigDecimal("4.25")),
+                new DailyRevenue(LocalDate.of(2021, 1, 3), BigDecimal.ZERO),
+                new DailyRevenue(LocalDate.of(2021, 1, 4), new BigDecimal("7.00")),
+                new DailyRevenue(LocalDate.of(2021, 1, 5), new BigDecimal("1.00")));
+        when(dailyRevenueRepositoryMock.findAllByRevenueDateGreaterThanEqualOrderByRevenueDate(any(LocalDate.class))).thenReturn(dailyRevenue);
+
+        List<ProductProfitDto> dayProfit = productServiceMock.findProductProfit("DAY", 5);
+        List<ProductProfitDto> weekProfit = productServiceMock.findProductProfit("WEEK", 2);
+        List<ProductProfitDto> monthProfit = productServiceMock.findProductProfit("MONTH", 1);
+
+        verify(dailyRevenueRepositoryMock, times(1)).findAllByRevenueDateGreaterThanEqualOrderByRevenueDate(LocalDate.now().minusDays(5));
+        verify(dailyRevenueRepositoryMock, times(1)).findAllByRevenueDateGreaterThanEqualOrderByRevenueDate(LocalDate.now().minusWeeks(2));
+        verify(dailyRevenueRepositoryMock, times(1)).findAllByRevenueDateGreaterThanEqualOrderByRevenueDate(LocalDate.now().minusMonths(1));
+        assertEquals(List.of(
+                new ProductProfitDto("2020-12-31", new BigDecimal("10.50")),
+                new ProductProfitDto("2021-01-01", new BigDecimal("4.25")),
+                new ProductProfitDto("2021-01-04", new BigDecimal("7.00")),
+                new ProductProfitDto("2021-01-05", new BigDecimal("1.00"))), dayProfit);
+        assertEquals(List.of(
+                new ProductProfitDto("2020-53", new BigDecimal("10.50")),
+                new ProductProfitDto("2021-00", new BigDecimal("4.25")),
+                new ProductProfitDto("2021-01", new BigDecimal("8.00"))), weekProfit);
+        assertEquals(List.of(
+                new ProductProfitDto("2020-12", new BigDecimal("10.50")),
+                new ProductProfitDto("2021-01", new BigDecimal("12.25"))), monthProfit);
     }
+
     private Sort orderBy(String sort, Boolean ascending) {
         if (!ascending) {
             return Sort.by(Sort.Direction.DESC, sort);
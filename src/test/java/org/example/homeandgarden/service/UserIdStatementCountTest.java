@@ -0,0 +1,191 @@
+package org.example.homeandgarden.service;
+
+import org.example.homeandgarden.dto.requestdto.CartItemRequestDto;
+import org.example.homeandgarden.dto.requestdto.FavoriteRequestDto;
+import org.example.homeandgarden.dto.requestdto.OrderItemRequestDto;
+import org.example.homeandgarden.dto.requestdto.OrderRequestDto;
+import org.example.homeandgarden.entity.*;
+import org.example.homeandgarden.entity.enums.DeliveryMethod;
+import org.example.homeandgarden.entity.enums.Status;
+import org.example.homeandgarden.index.TrendingProducts;
+import org.example.homeandgarden.mapper.Mappers;
+import org.example.homeandgarden.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements issued by the service paths keyed by the {@code userId} and {@code cartId} claims of the access token,
+ * none of which loads the user first.
+ */
+@DataJpaTest
+@Import({CartService.class, FavoriteService.class, OrderService.class, TrendingProducts.class, Mappers.class, StatementCountingConfiguration.class})
+class UserIdStatementCountTest {
+
+    private static final String EMAIL = "sophiaphilipp@example.com";
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Long userId;
+    private Long cartId;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByEmail(EMAIL).orElseThrow();
+        userId = user.getUserId();
+        cartId = user.getCart().getCartId();
+        products = productRepository.findAll().subList(0, 4);
+        cartItemRepository.deleteByCartId(cartId);
+        favoriteRepository.findAllWithProductByUserId(userId).forEach(favoriteRepository::delete);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getCartItems() {
+        Cart cart = entityManager.getReference(Cart.class, cartId);
+        cartItemRepository.save(new CartItem(null, products.get(0), 1, cart));
+        cartItemRepository.save(new CartItem(null, products.get(1), 2, cart));
+
+        int byId = statements(() -> assertEquals(2, cartService.getCartItems(cartId).size()));
+
+        assertEquals(1, byId);
+    }
+
+    @Test
+    void insertAndDeleteCartItem() {
+        Long productId = products.get(0).getProductId();
+
+        int insertById = statements(() -> cartService.insertCartItem(new CartItemRequestDto(productId, 1), cartId));
+        int deleteById = statements(() -> cartService.deleteCartItemByProductId(cartId, productId));
+
+        assertEquals(4, insertById);
+        assertEquals(1, deleteById);
+        assertTrue(cartItemRepository.findAllWithProductByCartId(cartId).isEmpty());
+    }
+
+    @Test
+    void cartOfUserWithoutCart() {
+        User userWithoutCart = userRepository.findAll().stream()
+                .filter(candidate -> candidate.getCart() == null)
+                .findFirst().orElseThrow();
+        Long userWithoutCartId = userWithoutCart.getUserId();
+        entityManager.clear();
+
+        Long createdCartId = cartService.findOrInsertCartId(userWithoutCartId);
+        int lookup = statements(() -> assertEquals(createdCartId, cartService.findOrInsertCartId(userWithoutCartId)));
+
+        assertEquals(1, lookup);
+        assertEquals(cartId, cartService.findOrInsertCartId(userId));
+    }
+
+    @Test
+    void favorites() {
+        Long firstProductId = products.get(0).getProductId();
+        Long secondProductId = products.get(1).getProductId();
+
+        int insertById = statements(() -> favoriteService.insertFavorite(new FavoriteRequestDto(firstProductId), userId));
+        favoriteService.insertFavorite(new FavoriteRequestDto(secondProductId), userId);
+        int getById = statements(() -> assertEquals(2, favoriteService.getFavorites(userId).size()));
+        int deleteById = statements(() -> favoriteService.deleteFavoriteByProductId(userId, firstProductId));
+
+        assertEquals(5, insertById);
+        assertEquals(1, getById);
+        assertEquals(1, deleteById);
+    }
+
+    @Test
+    void getAndCancelOrder() {
+        Long orderId = createOrder();
+
+        int getById = statements(() -> assertEquals(orderId, orderService.getOrderById(orderId, userId).getOrderId()));
+        int cancelById = statements(() -> orderService.cancelOrder(orderId, userId));
+
+        assertEquals(1, getById);
+        assertEquals(4, cancelById);
+        assertEquals(Status.CANCELED, orderRepository.findById(orderId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void getOrderHistory() {
+        createOrder();
+
+        int byId = statements(() -> orderService.getOrderHistory(userId, 0, 20));
+        createOrder();
+        createOrder();
+        int byIdWithMoreOrders = statements(() -> orderService.getOrderHistory(userId, 0, 20));
+
+        assertEquals(2, byId);
+        assertEquals(byId, byIdWithMoreOrders);
+    }
+
+    @Test
+    void insertOrder() {
+        // The first checkout also reserves a block of order and order item ids.
+        orderService.insertOrder(orderRequest(), userId, cartId);
+
+        int byId = statements(() -> orderService.insertOrder(orderRequest(), userId, cartId));
+
+        assertEquals(6, byId);
+    }
+
+    private OrderRequestDto orderRequest() {
+        return new OrderRequestDto(Set.of(new OrderItemRequestDto(products.get(0).getProductId(), 1)), "Main street 1", "COURIER_DELIVERY");
+    }
+
+    private Long createOrder() {
+        Order order = new Order(null, Timestamp.valueOf(LocalDateTime.now()), "Main street 1", user.getPhone(),
+                DeliveryMethod.COURIER_DELIVERY, Status.CREATED, null, new HashSet<>(), entityManager.getReference(User.class, userId));
+        Long orderId = orderRepository.save(order).getOrderId();
+        entityManager.flush();
+        entityManager.clear();
+        return orderId;
+    }
+
+    private int statements(Runnable serviceCall) {
+        entityManager.flush();
+        entityManager.clear();
+        StatementCountingConfiguration.reset();
+        serviceCall.run();
+        entityManager.flush();
+        return StatementCountingConfiguration.statements();
+    }
+}
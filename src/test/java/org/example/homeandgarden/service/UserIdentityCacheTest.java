@@ -0,0 +1,132 @@
+package org.example.homeandgarden.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.homeandgarden.dto.querydto.UserIdentityDto;
+import org.example.homeandgarden.entity.enums.Role;
+import org.example.homeandgarden.entity.query.UserIdentityInterface;
+import org.example.homeandgarden.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentityCacheTest {
+
+    private static final String EMAIL = "torstenbormann@example.com";
+
+    @Mock
+    private UserRepository userRepositoryMock;
+
+    @Mock
+    private UserIdentityInterface userIdentityInterface;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserIdentityCache userIdentityCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userIdentityCache = new UserIdentityCache(userRepositoryMock, 100, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @Test
+    void findByEmailReadsTheDatabaseOnce() {
+        identityInDatabase("refresh-token");
+
+        UserIdentityDto first = userIdentityCache.findByEmail(EMAIL).orElseThrow();
+        UserIdentityDto second = userIdentityCache.findByEmail(EMAIL).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1L, first.getUserId());
+        assertEquals(3L, first.getCartId());
+        verify(userRepositoryMock, times(1)).findIdentityByEmail(EMAIL);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.identities").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        when(userRepositoryMock.findIdentityByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertTrue(userIdentityCache.findByEmail(EMAIL).isEmpty());
+        assertTrue(userIdentityCache.findByEmail(EMAIL).isEmpty());
+
+        verify(userRepositoryMock, times(2)).findIdentityByEmail(EMAIL);
+    }
+
+    @Test
+    void rotateRefreshTokenUpdatesTheCachedFingerprint() {
+        identityInDatabase("refresh-token");
+        UserIdentityDto user = userIdentityCache.findByEmail(EMAIL).orElseThrow();
+        assertTrue(userIdentityCache.refreshTokenMatches(user, "refresh-token"));
+
+        userIdentityCache.rotateRefreshToken(user, "new-refresh-token");
+
+        UserIdentityDto rotated = userIdentityCache.findByEmail(EMAIL).orElseThrow();
+        assertTrue(userIdentityCache.refreshTokenMatches(rotated, "new-refresh-token"));
+        assertFalse(userIdentityCache.refreshTokenMatches(rotated, "refresh-token"));
+        verify(userRepositoryMock, times(1)).updateRefreshToken(1L, "new-refresh-token");
+        verify(userRepositoryMock, times(1)).findIdentityByEmail(EMAIL);
+    }
+
+    @Test
+    void invalidateReloadsTheUser() {
+        identityInDatabase(null);
+        UserIdentityDto user = userIdentityCache.findByEmail(EMAIL).orElseThrow();
+        assertFalse(userIdentityCache.refreshTokenMatches(user, "refresh-token"));
+
+        userIdentityCache.invalidate(EMAIL);
+        userIdentityCache.findByEmail(EMAIL);
+
+        verify(userRepositoryMock, times(2)).findIdentityByEmail(EMAIL);
+    }
+
+    @Test
+    void emailsDifferingInCaseShareOneEntry() {
+        identityInDatabase("TorstenBormann@Example.com", null);
+        UserIdentityDto user = userIdentityCache.findByEmail("TorstenBormann@Example.com").orElseThrow();
+
+        assertSame(user, userIdentityCache.findByEmail(EMAIL).orElseThrow());
+        assertTrue(userIdentityCache.existsByEmail("TORSTENBORMANN@EXAMPLE.COM"));
+
+        userIdentityCache.invalidate(EMAIL);
+        userIdentityCache.findByEmail("TorstenBormann@Example.com");
+
+        verify(userRepositoryMock, times(2)).findIdentityByEmail("TorstenBormann@Example.com");
+        verify(userRepositoryMock, never()).findIdentityByEmail(EMAIL);
+    }
+
+    @Test
+    void existsByEmailUsesCachedUsers() {
+        identityInDatabase(null);
+        userIdentityCache.findByEmail(EMAIL);
+
+        assertTrue(userIdentityCache.existsByEmail(EMAIL));
+        verify(userRepositoryMock, never()).existsByEmail(EMAIL);
+
+        when(userRepositoryMock.existsByEmail("wrongemail@example.com")).thenReturn(false);
+        assertFalse(userIdentityCache.existsByEmail("wrongemail@example.com"));
+    }
+
+    private void identityInDatabase(String refreshToken) {
+        identityInDatabase(EMAIL, refreshToken);
+    }
+
+    private void identityInDatabase(String email, String refreshToken) {
+        when(userIdentityInterface.getUserId()).thenReturn(1L);
+        when(userIdentityInterface.getEmail()).thenReturn(EMAIL);
+        when(userIdentityInterface.getName()).thenReturn("Torsten Bormann");
+        when(userIdentityInterface.getRole()).thenReturn(Role.CLIENT);
+        when(userIdentityInterface.getCartId()).thenReturn(3L);
+        when(userIdentityInterface.getPasswordHash()).thenReturn("$2a$10$yovX4MDz2oZKpqq6DiWfrOkpJ3");
+        when(userIdentityInterface.getRefreshToken()).thenReturn(refreshToken);
+        when(userRepositoryMock.findIdentityByEmail(email)).thenReturn(Optional.of(userIdentityInterface));
+    }
+}
@@ -7,13 +7,13 @@ import org.example.homeandgarden.entity.enums.Role;
 import org.example.homeandgarden.exception.*;
 import org.example.homeandgarden.mapper.*;
 import org.example.homeandgarden.repository.*;
+import org.example.homeandgarden.security.service.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -33,7 +33,10 @@ class UserServiceTest {
     private Mappers mappers;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserIdentityCache userIdentityCache;
 
     @InjectMocks
     private UserService userService;
@@ -67,6 +70,7 @@ class UserServiceTest {
 
         updateUser = new User();
         updateUser.setName("Old Arne Oswald");
+        updateUser.setEmail("arneoswald@example.com");
         updateUser.setPhone("+111111111111");
 
         userResponseDto = UserResponseDto.builder()
@@ -93,21 +97,21 @@ class UserServiceTest {
 
     @Test
     void registerUser() {
-        when(userRepository.existsByEmail(userCreateDto.getEmail())).thenReturn(false);
+        when(userIdentityCache.existsByEmail(userCreateDto.getEmail())).thenReturn(false);
         when(mappers.convertToUser(userCreateDto)).thenReturn(createUser);
-        when(passwordEncoder.encode(userCreateDto.getPassword())).thenReturn("$2a$10$yovX4MDz2oZKpqq6DiWfrOkpJ3.xzCmj8cko5vNWN8kfZamm3AdTa");
+        when(passwordHasher.encode(userCreateDto.getPassword())).thenReturn("$2a$10$yovX4MDz2oZKpqq6DiWfrOkpJ3.xzCmj8cko5vNWN8kfZamm3AdTa");
 
         userService.registerUser(userCreateDto);
 
-        verify(userRepository, times(1)).save(createUser);
-        verify(cartRepository, times(1)).save(any(Cart.class));
+        verify(userRepository, times(1)).save(argThat((User user) -> user == createUser && user.getCart().getUser() == createUser));
+        verify(cartRepository, never()).save(any(Cart.class));
         verify(mappers, times(1)).convertToUser(any(UserRequestDto.class));
-        verify(passwordEncoder, times(1)).encode(userCreateDto.getPassword());
+        verify(passwordHasher, times(1)).encode(userCreateDto.getPassword());
     }
 
     @Test
     void registerUser_ShouldThrowException_WhenEmailAlreadyExists() {
-        when(userRepository.existsByEmail(userCreateDto.getEmail())).thenReturn(true);
+        when(userIdentityCache.existsByEmail(userCreateDto.getEmail())).thenReturn(true);
 
         Exception exception = assertThrows(DataAlreadyExistsException.class, () -> {
             userService.registerUser(userCreateDto);
@@ -122,21 +126,21 @@ class UserServiceTest {
 
     @Test
     void registerAdmin() {
-        when(userRepository.existsByEmail(userCreateDto.getEmail())).thenReturn(false);
+        when(userIdentityCache.existsByEmail(userCreateDto.getEmail())).thenReturn(false);
         when(mappers.convertToUser(userCreateDto)).thenReturn(createUser);
-        when(passwordEncoder.encode(userCreateDto.getPassword())).thenReturn("$2a$10$yovX4MDz2oZKpqq6DiWfrOkpJ3.xzCmj8cko5vNWN8kfZamm3AdTa");
+        when(passwordHasher.encode(userCreateDto.getPassword())).thenReturn("$2a$10$yovX4MDz2oZKpqq6DiWfrOkpJ3.xzCmj8cko5vNWN8kfZamm3AdTa");
 
         userService.registerAdmin(userCreateDto);
 
-        verify(userRepository, times(1)).save(createUser);
-        verify(cartRepository, times(1)).save(any(Cart.class));
+        verify(userRepository, times(1)).save(argThat((User user) -> user == createUser && user.getCart().getUser() == createUser));
+        verify(cartRepository, never()).save(any(Cart.class));
         verify(mappers, times(1)).convertToUser(any(UserRequestDto.class));
-        verify(passwordEncoder, times(1)).encode(userCreateDto.getPassword());
+        verify(passwordHasher, times(1)).encode(userCreateDto.getPassword());
     }
 
     @Test
     void registerAdmin_ShouldThrowException_WhenEmailAlreadyExists() {
-        when(userRepository.existsByEmail(userCreateDto.getEmail())).thenReturn(true);
+        when(userIdentityCache.existsByEmail(userCreateDto.getEmail())).thenReturn(true);
 
         Exception exception = assertThrows(DataAlreadyExistsException.class, () -> {
             userService.registerAdmin(userCreateDto);
@@ -160,6 +164,7 @@ class UserServiceTest {
         assertEquals(userUpdateDto.getPhone(), updateUser.getPhone());
 
         verify(userRepository, times(1)).save(updateUser);
+        verify(userIdentityCache, times(1)).invalidate(updateUser.getEmail());
     }
 
     @Test
@@ -181,6 +186,7 @@ class UserServiceTest {
     void deleteUser() {
         User user = new User();
         user.setUserId(1L);
+        user.setEmail("arneoswald@example.com");
 
         Cart cart = new Cart();
         cart.setCartId(1L);
@@ -193,6 +199,7 @@ class UserServiceTest {
 
         verify(cartRepository, times(1)).delete(cart);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(userIdentityCache, times(1)).invalidate("arneoswald@example.com");
     }
 
     @Test